@@ -0,0 +1,66 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link Enemy#update(float)} le long d’un {@link Path}.
+ * <p>
+ * Les ennemis sont répartis sur tout le chemin ; un ennemi arrivé à la
+ * base repart du début, sans allocation. Une opération déplace tous les
+ * ennemis d’un tick : le score divisé par le nombre d’ennemis donne le
+ * débit par ennemi, qui ne doit dépendre ni de leur nombre ni de la
+ * longueur du chemin.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyBenchmark {
+
+    /** Nombre d’ennemis. */
+    @Param({"1000", "10000", "50000"})
+    public int enemies;
+
+    /** Nombre de segments du chemin. */
+    @Param({"8", "64"})
+    public int pathSegments;
+
+    private Path path;
+    private Array<Enemy> moving;
+
+    @Setup
+    public void prepare() {
+        path = Scenario.zigzag(pathSegments);
+        moving = Scenario.enemies(path, enemies);
+    }
+
+    @Benchmark
+    public float update() {
+        float progress = 0f;
+        for (int i = 0; i < moving.size; i++) {
+            Enemy e = moving.get(i);
+            e.update(Scenario.TICK);
+            if (e.reachedBase()) e.init(path, e.getLevel());
+            progress += e.getProgress();
+        }
+        return progress;
+    }
+}
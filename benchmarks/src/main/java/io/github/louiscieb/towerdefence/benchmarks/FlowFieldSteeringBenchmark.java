@@ -0,0 +1,107 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector2;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.FlowField;
+import io.github.louiscieb.towerdefence.model.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du déplacement des ennemis sur le {@link FlowField} de la carte
+ * du jeu, et d’une mise à jour incrémentale du champ.
+ * <p>
+ * Une opération de {@link #steer()} déplace tous les ennemis d’un tick ;
+ * le débit par ennemi ne doit pas dépendre de leur nombre.
+ * {@link #blockAndUnblock()} pose puis retire l’emprise d’une tour
+ * au milieu de la route, à comparer à {@link #fullBuild()}.
+ * </p>
+ * <p>
+ * La carte est lue depuis {@code maps/map.tmx} (dossier de travail {@code assets}).
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowFieldSteeringBenchmark {
+
+    /** Côté du carré bloqué (emprise d’une tour). */
+    private static final float FOOTPRINT = 48f;
+
+    /** Étalement des ennemis sur la route, en ticks d’avance. */
+    private static final int SPREAD_TICKS = 900;
+
+    /** Nombre d’ennemis. */
+    @Param({"1000", "10000", "50000"})
+    public int enemies;
+
+    private MapData map;
+    private FlowField field;
+    private Vector2 spawn;
+    private Enemy[] moving;
+    private float blockX;
+    private float blockY;
+
+    @Setup
+    public void prepare() {
+        map = MapData.load(new FileHandle("maps/map.tmx"));
+        field = map.createFlowField();
+        if (field == null) throw new IllegalStateException("maps/map.tmx has no collision layer");
+        spawn = map.getSpawnPoints().first();
+
+        moving = new Enemy[enemies];
+        for (int i = 0; i < enemies; i++) {
+            moving[i] = new Enemy().init(field, spawn.x, spawn.y, 1 + i % 10);
+            for (int t = (i * 7) % SPREAD_TICKS; t > 0; t--) step(moving[i]);
+        }
+
+        Path path = map.getPath();
+        float middle = path.length() / 2f;
+        int segment = path.segmentAt(middle);
+        blockX = path.xAt(middle, segment) - FOOTPRINT / 2f;
+        blockY = path.yAt(middle, segment) - FOOTPRINT / 2f;
+    }
+
+    @Benchmark
+    public float steer() {
+        float progress = 0f;
+        for (Enemy e : moving) {
+            step(e);
+            progress += e.getProgress();
+        }
+        return progress;
+    }
+
+    @Benchmark
+    public FlowField blockAndUnblock() {
+        field.block(blockX, blockY, FOOTPRINT, FOOTPRINT);
+        field.unblock(blockX, blockY, FOOTPRINT, FOOTPRINT);
+        return field;
+    }
+
+    @Benchmark
+    public FlowField fullBuild() {
+        return map.createFlowField();
+    }
+
+    private void step(Enemy e) {
+        e.update(Scenario.TICK);
+        if (e.reachedBase()) e.init(field, spawn.x, spawn.y, e.getLevel());
+    }
+}
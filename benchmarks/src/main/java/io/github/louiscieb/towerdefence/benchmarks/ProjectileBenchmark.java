@@ -0,0 +1,76 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Path;
+import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.Tower;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link Projectile#update(float)} pour des projectiles guidés.
+ * <p>
+ * Chaque projectile part d’une tour vers un ennemi immobile ; à l’impact
+ * il est relancé depuis sa tour, sans allocation. Les projectiles
+ * n’infligent aucun dégât, afin que les cibles restent en place.
+ * Une opération avance tous les projectiles d’un tick.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectileBenchmark {
+
+    /** Nombre de projectiles en vol. */
+    @Param({"1000", "10000"})
+    public int projectiles;
+
+    /** Nombre de tours d’où partent les projectiles. */
+    private static final int TOWERS = 32;
+
+    private Array<Enemy> targets;
+    private Array<Tower> shooters;
+    private Projectile[] flying;
+
+    @Setup
+    public void prepare() {
+        Path path = Scenario.zigzag(8);
+        targets = Scenario.enemies(path, projectiles);
+        shooters = Scenario.towers(path, TOWERS, 1);
+
+        flying = new Projectile[projectiles];
+        for (int i = 0; i < projectiles; i++) flying[i] = new Projectile().init(origin(i), targets.get(i), 0f);
+    }
+
+    @Benchmark
+    public float update() {
+        float x = 0f;
+        for (int i = 0; i < flying.length; i++) {
+            Projectile p = flying[i];
+            p.update(Scenario.TICK);
+            if (p.isDone()) p.init(origin(i), targets.get(i), 0f);
+            x += p.getPosition().x;
+        }
+        return x;
+    }
+
+    private Vector2 origin(int projectile) {
+        return shooters.get(projectile % TOWERS).getPosition();
+    }
+}
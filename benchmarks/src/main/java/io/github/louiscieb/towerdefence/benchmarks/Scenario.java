@@ -0,0 +1,162 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import io.github.louiscieb.towerdefence.controller.GameCommand;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Path;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
+import io.github.louiscieb.towerdefence.model.Tower;
+import io.github.louiscieb.towerdefence.model.Wave;
+
+/**
+ * Cartes et états de jeu synthétiques communs aux benchmarks.
+ * <p>
+ * Les paramètres des benchmarks (nombre d’ennemis et de tours, niveau des
+ * tours, longueur du chemin) ne peuvent pas tous être obtenus avec la carte
+ * du jeu : le chemin est ici un zigzag sur toute la largeur du monde, dont
+ * le nombre de segments fixe la longueur, et les zones de construction
+ * forment une grille régulière couvrant le monde.
+ * </p>
+ */
+final class Scenario {
+
+    /** Durée d’un tick de simulation. */
+    static final float TICK = 1f / 60f;
+
+    /** Côté du monde synthétique (en pixels). */
+    static final float WORLD_SIZE = 1600f;
+
+    /** Marge entre le chemin et le bord du monde. */
+    private static final float MARGIN = 64f;
+
+    /** Niveau des ennemis. */
+    static final int ENEMY_LEVEL = 5;
+
+    /** Durée pendant laquelle les ennemis apparaissent (ils s’étalent sur le chemin). */
+    static final float SPAWN_SECONDS = 10f;
+
+    private Scenario() {
+    }
+
+    /**
+     * Chemin en zigzag d’un bord à l’autre du monde.
+     *
+     * @param segments nombre de segments
+     * @return chemin d’environ {@code segments × WORLD_SIZE} pixels
+     */
+    static Path zigzag(int segments) {
+        Array<Vector2> points = new Array<>();
+        float step = (WORLD_SIZE - 2 * MARGIN) / segments;
+        for (int i = 0; i <= segments; i++) {
+            float x = i % 2 == 0 ? MARGIN : WORLD_SIZE - MARGIN;
+            points.add(new Vector2(x, WORLD_SIZE - MARGIN - i * step));
+        }
+        return new Path(points);
+    }
+
+    /**
+     * Carte synthétique : une seule vague apparaissant en
+     * {@link #SPAWN_SECONDS} secondes, assez d’or pour toutes les tours.
+     *
+     * @param enemies  nombre d’ennemis
+     * @param towers   nombre de zones de construction
+     * @param segments nombre de segments du chemin
+     * @return données de la carte
+     */
+    static MapData map(int enemies, int towers, int segments) {
+        Path path = zigzag(segments);
+
+        Array<Rectangle> zones = new Array<>();
+        for (int i = 0; i < towers; i++) {
+            Vector2 at = towerPosition(i, towers);
+            zones.add(new Rectangle(at.x - 8f, at.y - 8f, 16f, 16f));
+        }
+
+        int groups = 100;
+        int burst = Math.max(1, (enemies + groups - 1) / groups);
+        Array<Wave> waves = new Array<>();
+        waves.add(new Wave(enemies, ENEMY_LEVEL, SPAWN_SECONDS / groups, burst, 0f));
+
+        return new MapData("benchmark", WORLD_SIZE, WORLD_SIZE, path, zones, waves,
+            Integer.MAX_VALUE / 2, new Array<float[]>(), new Array<Vector2>(), null);
+    }
+
+    /**
+     * Crée un monde, construit une tour par zone, l’améliore jusqu’au niveau
+     * demandé puis joue jusqu’à la fin des apparitions.
+     *
+     * @param map   carte synthétique
+     * @param level niveau des tours
+     * @return monde en cours de partie, tous les ennemis sur le chemin
+     */
+    static GameWorld world(MapData map, int level) {
+        GameWorld world = new GameWorld(map);
+        world.setProjectileMode(ProjectileMode.INTERCEPT);
+
+        for (Rectangle zone : map.getBuildZones()) {
+            float x = zone.x + zone.width / 2f;
+            float y = zone.y + zone.height / 2f;
+            world.submit(GameCommand.build(x, y));
+            for (int l = 1; l < level; l++) world.submit(GameCommand.upgrade(x, y));
+        }
+
+        while (world.getTime() < SPAWN_SECONDS + TICK) world.update(TICK);
+        return world;
+    }
+
+    /**
+     * Ennemis répartis le long d’un chemin, hors de tout monde de jeu.
+     *
+     * @param path  chemin suivi
+     * @param count nombre d’ennemis
+     * @return ennemis répartis régulièrement sur toute la longueur du chemin
+     */
+    static Array<Enemy> enemies(Path path, int count) {
+        Array<Enemy> enemies = new Array<>(count);
+        for (int i = 0; i < count; i++) {
+            Enemy e = new Enemy().init(path, 1 + i % 10);
+            e.update(path.length() * i / count / e.getSpeed());
+            enemies.add(e);
+        }
+        return enemies;
+    }
+
+    /**
+     * Tours réparties le long d’un chemin, améliorées jusqu’à un niveau.
+     *
+     * @param path   chemin suivi par les ennemis
+     * @param count  nombre de tours
+     * @param level  niveau des tours
+     * @return tours en service
+     */
+    static Array<Tower> towers(Path path, int count, int level) {
+        Array<Tower> towers = new Array<>(count);
+        for (int i = 0; i < count; i++) {
+            Vector2 at = towerPosition(i, count);
+            Tower t = new Tower(at.x, at.y);
+            for (int l = 1; l < level; l++) t.upgrade();
+            t.activate(path, 0f);
+            towers.add(t);
+        }
+        return towers;
+    }
+
+    /**
+     * Position d’une tour sur une grille carrée couvrant le monde ;
+     * deux tours sont toujours à plus de 80 pixels l’une de l’autre,
+     * distance à laquelle une commande d’amélioration les confondrait.
+     *
+     * @param index index de la tour
+     * @param count nombre de tours
+     * @return centre de la tour
+     */
+    private static Vector2 towerPosition(int index, int count) {
+        int side = (int) Math.ceil(Math.sqrt(count));
+        float cell = WORLD_SIZE / side;
+        return new Vector2((index % side + 0.5f) * cell, (index / side + 0.5f) * cell);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.EnemyGrid;
+import io.github.louiscieb.towerdefence.model.Path;
+import io.github.louiscieb.towerdefence.model.Tower;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du ciblage : {@link Tower#findTarget(EnemyGrid)} pour toutes les
+ * tours, et reconstruction de l’{@link EnemyGrid} qui le précède à chaque tick.
+ * <p>
+ * Les ennemis sont répartis sur tout le chemin et les tours en grille
+ * sur le monde ; le niveau des tours fixe leur portée, donc le nombre
+ * de cellules visitées par requête.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingBenchmark {
+
+    /** Taille des cellules de la grille (celle de {@code GameWorld}). */
+    private static final float GRID_CELL_SIZE = 128f;
+
+    /** Nombre d’ennemis. */
+    @Param({"1000", "10000", "50000"})
+    public int enemies;
+
+    /** Nombre de tours. */
+    @Param({"8", "32"})
+    public int towers;
+
+    /** Niveau des tours. */
+    @Param({"1", "4"})
+    public int towerLevel;
+
+    /** Nombre de segments du chemin. */
+    @Param({"8", "64"})
+    public int pathSegments;
+
+    private Array<Enemy> targets;
+    private Array<Tower> shooters;
+    private EnemyGrid grid;
+
+    @Setup
+    public void prepare() {
+        Path path = Scenario.zigzag(pathSegments);
+        targets = Scenario.enemies(path, enemies);
+        shooters = Scenario.towers(path, towers, towerLevel);
+        grid = new EnemyGrid(Scenario.WORLD_SIZE, Scenario.WORLD_SIZE, GRID_CELL_SIZE);
+        grid.rebuild(targets);
+    }
+
+    @Benchmark
+    public void findTargets(Blackhole bh) {
+        for (int i = 0; i < shooters.size; i++) bh.consume(shooters.get(i).findTarget(grid));
+    }
+
+    @Benchmark
+    public EnemyGrid rebuildGrid() {
+        grid.rebuild(targets);
+        return grid;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d’un tick complet de {@link GameWorld#update(float)}.
+ * <p>
+ * Le monde est préparé une fois par essai (tours construites et améliorées,
+ * tous les ennemis apparus) puis capturé dans un {@link WorldSnapshot} ;
+ * chaque invocation repart de cet instantané et joue {@link #TICKS} ticks,
+ * si bien que toutes les mesures portent sur le même état. Le score est en
+ * ticks par seconde. L’allocation rapportée par le profileur GC inclut la
+ * restauration du monde, répartie sur les {@link #TICKS} ticks.
+ * </p>
+ * <p>
+ * Les phases parallèles sont mesurées en série ; leur passage à l’échelle
+ * est mesuré par {@link WorldTickScalingBenchmark}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldTickBenchmark {
+
+    /** Ticks joués par invocation. */
+    private static final int TICKS = 300;
+
+    /** Nombre d’ennemis sur le chemin. */
+    @Param({"100", "1000", "10000"})
+    public int enemies;
+
+    /** Nombre de tours. */
+    @Param({"0", "8", "32"})
+    public int towers;
+
+    /** Niveau des tours. */
+    @Param({"1", "4"})
+    public int towerLevel;
+
+    /** Nombre de segments du chemin (longueur ≈ segments × 1600 px). */
+    @Param({"8", "64"})
+    public int pathSegments;
+
+    /** Threads des phases parallèles (1 : mode série). */
+    @Param({"1"})
+    public int threads;
+
+    private MapData map;
+    private ByteBuffer snapshot;
+    private TickExecutor executor;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        map = Scenario.map(enemies, towers, pathSegments);
+        snapshot = new WorldSnapshot().capture(Scenario.world(map, towerLevel), map.getName(), null);
+        executor = new TickExecutor(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        world = WorldSnapshot.restore(snapshot.duplicate(), map);
+        world.setExecutor(executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int update() {
+        for (int i = 0; i < TICKS; i++) world.update(Scenario.TICK);
+        return world.getGold();
+    }
+}
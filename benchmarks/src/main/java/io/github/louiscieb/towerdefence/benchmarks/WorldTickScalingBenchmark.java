@@ -0,0 +1,89 @@
+package io.github.louiscieb.towerdefence.benchmarks;
+
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passage à l’échelle des phases parallèles de {@link GameWorld#update(float)}.
+ * <p>
+ * Même mesure que {@link WorldTickBenchmark}, sur un seul monde chargé
+ * ({@link #ENEMIES} ennemis, {@link #TOWERS} tours améliorées) joué de 1
+ * à 16 threads : seul le nombre de threads varie d’un essai à l’autre.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldTickScalingBenchmark {
+
+    /** Ticks joués par invocation. */
+    private static final int TICKS = 300;
+
+    /** Nombre d’ennemis sur le chemin. */
+    private static final int ENEMIES = 10_000;
+
+    /** Nombre de tours. */
+    private static final int TOWERS = 32;
+
+    /** Niveau des tours. */
+    private static final int TOWER_LEVEL = 4;
+
+    /** Nombre de segments du chemin. */
+    private static final int PATH_SEGMENTS = 64;
+
+    /** Threads des phases parallèles (1 : mode série). */
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private MapData map;
+    private ByteBuffer snapshot;
+    private TickExecutor executor;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        map = Scenario.map(ENEMIES, TOWERS, PATH_SEGMENTS);
+        snapshot = new WorldSnapshot().capture(Scenario.world(map, TOWER_LEVEL), map.getName(), null);
+        executor = new TickExecutor(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        world = WorldSnapshot.restore(snapshot.duplicate(), map);
+        world.setExecutor(executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public int update() {
+        for (int i = 0; i < TICKS; i++) world.update(Scenario.TICK);
+        return world.getGold();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Chargement lent d’un asset (texture, son, carte).
+ */
+@Name("io.github.louiscieb.towerdefence.AssetLoad")
+@Label("Asset Load")
+@Category({"Tower Defence", "Assets"})
+@Description("An asset load that took longer than the threshold")
+@Threshold("5 ms")
+final class AssetLoadEvent extends Event {
+
+    @Label("Asset")
+    String asset;
+}
@@ -0,0 +1,91 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+import io.github.louiscieb.towerdefence.perf.FlightEvents;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Implémentation JFR de {@link FlightEvents}, chargée par réflexion.
+ * <p>
+ * Les types d’événements sont enregistrés auprès de JFR à la construction :
+ * ils apparaissent dans JDK Mission Control sous la catégorie
+ * « Tower Defence » et peuvent être activés par un fichier {@code .jfc}
+ * ou {@code jcmd JFR.start}.
+ * </p>
+ */
+public final class JfrFlightEvents implements FlightEvents {
+
+    private final EventType renderType;
+    private final EventType assetType;
+
+    /** Passe de rendu en cours, {@code null} si son type n’est pas enregistré. */
+    private RenderPassEvent render;
+
+    /** Chargement en cours, {@code null} si son type n’est pas enregistré. */
+    private AssetLoadEvent asset;
+
+    /**
+     * Enregistre les types d’événements du jeu.
+     *
+     * @throws UnsupportedOperationException si la JVM n’a pas de Flight Recorder
+     */
+    public JfrFlightEvents() {
+        if (!FlightRecorder.isAvailable())
+            throw new UnsupportedOperationException("Java Flight Recorder is not available on this JVM");
+
+        FlightRecorder.register(TickPhaseEvent.class);
+        FlightRecorder.register(WaveSpawnEvent.class);
+        FlightRecorder.register(RenderPassEvent.class);
+        FlightRecorder.register(AssetLoadEvent.class);
+        renderType = EventType.getEventType(RenderPassEvent.class);
+        assetType = EventType.getEventType(AssetLoadEvent.class);
+    }
+
+    @Override
+    public TickProbe tickProbe(GameWorld world) {
+        return new JfrTickProbe(world);
+    }
+
+    @Override
+    public void beginRenderPass() {
+        if (!renderType.isEnabled()) return;
+        render = new RenderPassEvent();
+        render.begin();
+    }
+
+    @Override
+    public void endRenderPass(String pass, int enemies, int towers, int projectiles) {
+        if (render == null) return;
+
+        render.end();
+        if (render.shouldCommit()) {
+            render.pass = pass;
+            render.enemies = enemies;
+            render.towers = towers;
+            render.projectiles = projectiles;
+            render.commit();
+        }
+        render = null;
+    }
+
+    @Override
+    public void beginAssetLoad() {
+        if (!assetType.isEnabled()) return;
+        asset = new AssetLoadEvent();
+        asset.begin();
+    }
+
+    @Override
+    public void endAssetLoad(String path) {
+        if (asset == null) return;
+
+        asset.end();
+        if (asset.shouldCommit()) {
+            asset.asset = path;
+            asset.commit();
+        }
+        asset = null;
+    }
+}
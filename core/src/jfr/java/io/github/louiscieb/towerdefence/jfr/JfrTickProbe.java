@@ -0,0 +1,107 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.TickPhase;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+import jdk.jfr.EventType;
+
+import java.util.Locale;
+
+/**
+ * Sonde émettant un {@link TickPhaseEvent} par phase et un
+ * {@link WaveSpawnEvent} par phase d’apparition ayant fait apparaître
+ * des ennemis, pour celles qui dépassent leur seuil.
+ * <p>
+ * Les événements ne sont créés que pendant un enregistrement qui active
+ * leur type ; sinon chaque borne se réduit à un test.
+ * </p>
+ */
+final class JfrTickProbe implements TickProbe {
+
+    private static final EventType PHASE_TYPE = EventType.getEventType(TickPhaseEvent.class);
+    private static final EventType SPAWN_TYPE = EventType.getEventType(WaveSpawnEvent.class);
+
+    /** Phases d’un tick, dans l’ordre. */
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    /** Noms des phases, construits une fois. */
+    private static final String[] PHASE_NAMES = new String[PHASES.length];
+
+    static {
+        for (TickPhase phase : PHASES) PHASE_NAMES[phase.ordinal()] = phase.name().toLowerCase(Locale.ROOT);
+    }
+
+    private final GameWorld world;
+
+    /** Phase en cours, {@code null} si son type n’est pas enregistré. */
+    private TickPhaseEvent phase;
+
+    /** Apparitions en cours, {@code null} hors de la phase {@link TickPhase#SPAWN}. */
+    private WaveSpawnEvent spawn;
+
+    /** Ennemis actifs au début de la phase d’apparition. */
+    private int enemiesBeforeSpawn;
+
+    JfrTickProbe(GameWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public void beginTick() {
+        phase = beginPhase();
+    }
+
+    @Override
+    public void endPhase(TickPhase ended) {
+        if (phase != null) {
+            phase.end();
+            if (phase.shouldCommit()) {
+                phase.phase = PHASE_NAMES[ended.ordinal()];
+                phase.tick = world.getTick();
+                phase.enemies = world.getEnemies().size;
+                phase.towers = world.getTowers().size;
+                phase.projectiles = world.getProjectiles().size;
+                phase.commit();
+            }
+        }
+
+        if (ended == TickPhase.SPAWN && spawn != null) endSpawn();
+
+        if (ended.ordinal() + 1 < PHASES.length) {
+            phase = beginPhase();
+            if (PHASES[ended.ordinal() + 1] == TickPhase.SPAWN && SPAWN_TYPE.isEnabled()) {
+                spawn = new WaveSpawnEvent();
+                enemiesBeforeSpawn = world.getEnemies().size;
+                spawn.begin();
+            }
+        } else {
+            phase = null;
+        }
+    }
+
+    @Override
+    public void endTick() {
+        phase = null;
+        spawn = null;
+    }
+
+    private TickPhaseEvent beginPhase() {
+        if (!PHASE_TYPE.isEnabled()) return null;
+        TickPhaseEvent event = new TickPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    private void endSpawn() {
+        spawn.end();
+        int spawned = world.getEnemies().size - enemiesBeforeSpawn;
+        if (spawned > 0 && spawn.shouldCommit()) {
+            spawn.wave = world.getWave();
+            spawn.level = world.getEnemyLevel();
+            spawn.spawned = spawned;
+            spawn.enemies = world.getEnemies().size;
+            spawn.commit();
+        }
+        spawn = null;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Passe lente de {@code Main.render} (carte, entités, HUD).
+ */
+@Name("io.github.louiscieb.towerdefence.RenderPass")
+@Label("Render Pass")
+@Category({"Tower Defence", "Rendering"})
+@Description("A pass of Main.render that took longer than the threshold")
+@Threshold("4 ms")
+@StackTrace(false)
+final class RenderPassEvent extends Event {
+
+    @Label("Pass")
+    String pass;
+
+    @Label("Enemies")
+    int enemies;
+
+    @Label("Towers")
+    int towers;
+
+    @Label("Projectiles")
+    int projectiles;
+}
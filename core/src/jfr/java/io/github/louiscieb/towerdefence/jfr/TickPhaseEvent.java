@@ -0,0 +1,36 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Phase lente d’un tick de {@code GameWorld.update}.
+ */
+@Name("io.github.louiscieb.towerdefence.TickPhase")
+@Label("Tick Phase")
+@Category({"Tower Defence", "Simulation"})
+@Description("A phase of GameWorld.update that took longer than the threshold")
+@Threshold("1 ms")
+@StackTrace(false)
+final class TickPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Tick")
+    int tick;
+
+    @Label("Enemies")
+    int enemies;
+
+    @Label("Towers")
+    int towers;
+
+    @Label("Projectiles")
+    int projectiles;
+}
@@ -0,0 +1,34 @@
+package io.github.louiscieb.towerdefence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Apparition lente d’ennemis pendant un tick (début de vague compris,
+ * qui remplit les pools).
+ */
+@Name("io.github.louiscieb.towerdefence.WaveSpawn")
+@Label("Wave Spawn")
+@Category({"Tower Defence", "Simulation"})
+@Description("Enemy spawns of one tick that took longer than the threshold")
+@Threshold("1 ms")
+@StackTrace(false)
+final class WaveSpawnEvent extends Event {
+
+    @Label("Wave")
+    int wave;
+
+    @Label("Enemy Level")
+    int level;
+
+    @Label("Spawned")
+    int spawned;
+
+    @Label("Enemies")
+    int enemies;
+}
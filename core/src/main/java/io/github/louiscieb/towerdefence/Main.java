@@ -2,23 +2,47 @@ package io.github.louiscieb.towerdefence;
 
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
+import io.github.louiscieb.towerdefence.audio.AudioGameListener;
 import io.github.louiscieb.towerdefence.audio.AudioManager;
 import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.InputController;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.SimulationClock;
+import io.github.louiscieb.towerdefence.controller.SnapshotWriter;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+import io.github.louiscieb.towerdefence.metrics.CsvMetricsExporter;
+import io.github.louiscieb.towerdefence.metrics.GameMetrics;
+import io.github.louiscieb.towerdefence.metrics.MetricsRegistry;
+import io.github.louiscieb.towerdefence.metrics.PrometheusExporter;
 import io.github.louiscieb.towerdefence.model.Enemy;
 import io.github.louiscieb.towerdefence.model.GameState;
 import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
 import io.github.louiscieb.towerdefence.model.Tower;
+import io.github.louiscieb.towerdefence.perf.AllocationTracker;
+import io.github.louiscieb.towerdefence.perf.FlightEvents;
+import io.github.louiscieb.towerdefence.perf.FrameStats;
+import io.github.louiscieb.towerdefence.replay.ReplayRecorder;
 import io.github.louiscieb.towerdefence.view.*;
 
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 /**
  * Point d’entrée principal du jeu Tower Defence.
  * <p>
@@ -51,13 +75,52 @@ public class Main extends ApplicationAdapter {
     /** Hauteur de la carte (en tuiles). */
     private static final int MAP_HEIGHT = 50;
 
+    /** Fréquence de simulation (ticks par seconde). */
+    private static final int SIM_TICK_RATE = 60;
+
+    /** Nombre maximum de ticks rattrapés en une frame après un ralentissement. */
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    /** Propriété système activant le suivi des allocations ({@code -Dtd.allocations=true}). */
+    private static final String ALLOCATIONS_PROPERTY = "td.allocations";
+
+    /** Propriété système fixant le nombre de threads de simulation ({@code -Dtd.threads=1} : mode série). */
+    private static final String THREADS_PROPERTY = "td.threads";
+
+    /** Propriété système activant l’enregistrement d’un replay ({@code -Dtd.record=partie.tdr}). */
+    private static final String RECORD_PROPERTY = "td.record";
+
+    /** Propriété système activant l’export CSV des métriques ({@code -Dtd.metrics.csv=metrics.csv}). */
+    private static final String METRICS_CSV_PROPERTY = "td.metrics.csv";
+
+    /** Propriété système activant l’export Prometheus des métriques ({@code -Dtd.metrics.port=9464}). */
+    private static final String METRICS_PORT_PROPERTY = "td.metrics.port";
+
+    /** Période d’écriture du CSV des métriques (en secondes). */
+    private static final long METRICS_CSV_PERIOD_SECONDS = 10;
+
+    /** Frames ignorées par le suivi des allocations (chargement, JIT). */
+    private static final int ALLOCATION_WARMUP_FRAMES = 600;
+
+    /** Fichier de sauvegarde rapide (F5 : sauvegarder, F9 : charger). */
+    private static final String SAVE_FILE = "save.tds";
+
     // =====================
     // CORE LIBGDX
     // =====================
 
+    /**
+     * Capacité du batch principal, en sprites : assez grande pour qu’une
+     * vague complète tienne dans un seul appel de rendu par texture.
+     */
+    private static final int BATCH_SIZE = 8191;
+
     /** SpriteBatch principal pour le rendu. */
     private SpriteBatch batch;
 
+    /** File de rendu des entités, triée par texture avant d’être dessinée. */
+    private final RenderQueue renderQueue = new RenderQueue();
+
     /** Caméra orthographique du jeu. */
     private OrthographicCamera camera;
 
@@ -71,8 +134,8 @@ public class Main extends ApplicationAdapter {
     /** Carte Tiled du jeu. */
     private TiledMap map;
 
-    /** Renderer de la carte Tiled. */
-    private OrthogonalTiledMapRenderer mapRenderer;
+    /** Renderer de la carte Tiled, couches statiques précalculées. */
+    private CachedMapRenderer mapRenderer;
 
     // =====================
     // CONTROLLER
@@ -81,6 +144,58 @@ public class Main extends ApplicationAdapter {
     /** Monde du jeu (logique principale). */
     private GameWorld world;
 
+    /** Données de la carte, nécessaires pour restaurer une sauvegarde. */
+    private MapData mapData;
+
+    /** Horloge à pas fixe qui cadence la simulation. */
+    private SimulationClock clock;
+
+    /** Traduit la souris en commandes pour le monde. */
+    private InputController input;
+
+    /** Exécuteur des phases parallèles de la simulation. */
+    private TickExecutor executor;
+
+    /** Enregistrement de la partie, {@code null} si désactivé. */
+    private ReplayRecorder recorder;
+
+    /** Écriture des sauvegardes en arrière-plan. */
+    private SnapshotWriter snapshots;
+
+    /** Sauvegarde en cours d’écriture, {@code null} s’il n’y en a pas. */
+    private Future<?> pendingSave;
+
+    /** Suivi des allocations par frame, {@code null} si désactivé. */
+    private AllocationTracker allocations;
+
+    /** Métriques de la simulation, {@code null} si aucun export n’est demandé. */
+    private GameMetrics metrics;
+
+    /** Export CSV des métriques, {@code null} si désactivé. */
+    private CsvMetricsExporter metricsCsv;
+
+    /** Export Prometheus des métriques, {@code null} si désactivé. */
+    private PrometheusExporter metricsHttp;
+
+    /** Nombre de frames rendues depuis le lancement. */
+    private long frameCount;
+
+    // =====================
+    // PERFORMANCE
+    // =====================
+
+    /** Durées et compteurs des dernières frames, toujours relevés. */
+    private FrameStats frameStats;
+
+    /** Compteurs OpenGL, actifs uniquement quand l’overlay est affiché. */
+    private GLProfiler profiler;
+
+    /** Affichage de l’overlay de performance (F3). */
+    private boolean perfOverlay;
+
+    /** Événements Java Flight Recorder ({@link FlightEvents#NONE} sans JFR). */
+    private FlightEvents flightEvents;
+
     // =====================
     // VIEW / RENDERERS
     // =====================
@@ -109,7 +224,8 @@ public class Main extends ApplicationAdapter {
      */
     @Override
     public void create() {
-        batch = new SpriteBatch();
+        batch = new SpriteBatch(BATCH_SIZE);
+        flightEvents = FlightEvents.get();
 
         // ===== CAMERA =====
         camera = new OrthographicCamera();
@@ -126,21 +242,45 @@ public class Main extends ApplicationAdapter {
         );
 
         // ===== MAP =====
+        flightEvents.beginAssetLoad();
         map = new TmxMapLoader().load("maps/map.tmx");
-        mapRenderer = new OrthogonalTiledMapRenderer(map);
+        flightEvents.endAssetLoad("maps/map.tmx");
+        mapRenderer = new CachedMapRenderer(map);
 
         // ===== ASSETS & AUDIO =====
         Assets.load();
         AudioManager.getInstance();
 
         // ===== CONTROLLER =====
-        world = new GameWorld(map, viewport);
+        mapData = MapData.from(map);
+        world = new GameWorld(mapData);
+        world.setProjectileMode(ProjectileMode.INTERCEPT);
+        executor = new TickExecutor(Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+        clock = new SimulationClock(SIM_TICK_RATE, MAX_STEPS_PER_FRAME);
+
+        if (Boolean.getBoolean(ALLOCATIONS_PROPERTY) && AllocationTracker.isSupported()) {
+            allocations = new AllocationTracker();
+        }
+        startMetrics();
+
+        attach(world);
+        snapshots = new SnapshotWriter();
+
+        String replayFile = System.getProperty(RECORD_PROPERTY);
+        if (replayFile != null) {
+            recorder = ReplayRecorder.start(world, mapData.getName(), clock.getTickDuration(),
+                Gdx.files.absolute(replayFile));
+        }
 
         // ===== VIEW =====
         enemyRenderer = new EnemyRenderer();
         towerRenderer = new TowerRenderer();
         projectileRenderer = new ProjectileRenderer();
         hudRenderer = new HudRenderer();
+
+        // ===== PERFORMANCE =====
+        frameStats = new FrameStats();
+        profiler = new GLProfiler(Gdx.graphics);
     }
 
     // =====================
@@ -152,7 +292,7 @@ public class Main extends ApplicationAdapter {
      * <p>
      * Appelée à chaque frame, elle gère :
      * <ul>
-     *     <li>La mise à jour de la logique du jeu</li>
+     *     <li>La mise à jour de la logique du jeu (ticks à pas fixe)</li>
      *     <li>Le rendu de la carte</li>
      *     <li>Le rendu des entités</li>
      *     <li>Le HUD</li>
@@ -163,6 +303,9 @@ public class Main extends ApplicationAdapter {
     @Override
     public void render() {
         float delta = Gdx.graphics.getDeltaTime();
+        frameStats.beginFrame();
+        if (allocations != null) allocations.beginFrame();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) togglePerfOverlay();
 
         // ===== CLEAR =====
         Gdx.gl.glClearColor(0, 0, 0, 1);
@@ -171,11 +314,27 @@ public class Main extends ApplicationAdapter {
         camera.update();
 
         // ===== MAP RENDER =====
-        mapRenderer.setView(camera);
-        mapRenderer.render();
+        flightEvents.beginRenderPass();
+        mapRenderer.render(camera);
+        flightEvents.endRenderPass("map", world.getEnemies().size, world.getTowers().size,
+            world.getProjectiles().size);
 
         // ===== UPDATE GAME =====
-        world.update(delta);
+        if (world.getState() == GameState.RUNNING) {
+            input.update();
+        }
+        updateSaves();
+
+        frameStats.beginSimulation();
+        int steps = clock.advance(delta);
+        // En vitesse maximale, une partie terminée ne doit pas consommer tout le budget
+        for (int i = 0; i < steps && clock.hasFrameBudget() && world.getState() == GameState.RUNNING; i++) {
+            world.update(clock.getTickDuration());
+            clock.tickDone();
+        }
+        frameStats.endSimulation();
+        float alpha = clock.getAlpha();
+        float renderTime = world.getTime() - clock.getTickDuration() * (1f - alpha);
 
         // ===== AUDIO =====
         if (world.getState() == GameState.RUNNING) {
@@ -185,22 +344,29 @@ public class Main extends ApplicationAdapter {
         }
 
         // ===== RENDER GAME =====
+        flightEvents.beginRenderPass();
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
 
-        for (Enemy e : world.getEnemies()) {
-            enemyRenderer.render(batch, e);
+        Array<Enemy> enemies = world.getEnemies();
+        for (int i = 0; i < enemies.size; i++) {
+            enemyRenderer.render(renderQueue, enemies.get(i), alpha);
         }
 
-        for (Tower t : world.getTowers()) {
-            towerRenderer.render(batch, t);
+        Array<Tower> towers = world.getTowers();
+        for (int i = 0; i < towers.size; i++) {
+            towerRenderer.render(renderQueue, towers.get(i), renderTime);
         }
 
-        for (Projectile p : world.getProjectiles()) {
-            projectileRenderer.render(batch, p);
+        Array<Projectile> projectiles = world.getProjectiles();
+        for (int i = 0; i < projectiles.size; i++) {
+            projectileRenderer.render(renderQueue, projectiles.get(i), alpha, renderTime);
         }
+        renderQueue.flush(batch);
+        flightEvents.endRenderPass("entities", enemies.size, towers.size, projectiles.size);
 
         // ===== HUD =====
+        flightEvents.beginRenderPass();
         float camLeft = camera.position.x - camera.viewportWidth / 2f;
         float camTop  = camera.position.y + camera.viewportHeight / 2f;
 
@@ -216,8 +382,17 @@ public class Main extends ApplicationAdapter {
             camLeft,
             camTop,
             world.getGold(),
-            world.getEnemyLevel(),
-            world.getMaxEnemyLevel()
+            world.getWave(),
+            world.getWaveCount(),
+            world.getEnemyLevel()
+        );
+
+        hudRenderer.renderSpeed(
+            batch,
+            camLeft,
+            camTop,
+            clock.getSpeed(),
+            clock.getAchievedSpeed()
         );
 
         hudRenderer.renderState(
@@ -227,7 +402,142 @@ public class Main extends ApplicationAdapter {
             world.getState()
         );
 
+        if (perfOverlay) {
+            hudRenderer.renderPerfOverlay(
+                batch,
+                camLeft,
+                camera.position.y - camera.viewportHeight / 2f,
+                frameStats,
+                enemies.size,
+                towers.size,
+                projectiles.size
+            );
+        }
+
         batch.end();
+        flightEvents.endRenderPass("hud", enemies.size, towers.size, projectiles.size);
+
+        // ===== PERFORMANCE =====
+        frameStats.endFrame(batch.renderCalls, batch.totalRenderCalls,
+            perfOverlay ? profiler.getTextureBindings() : 0);
+        if (perfOverlay) profiler.reset();
+
+        // ===== ALLOCATIONS =====
+        if (allocations != null) reportAllocations();
+    }
+
+    /**
+     * Affiche ou masque l’overlay de performance (F3).
+     * <p>
+     * Le profileur OpenGL intercepte chaque appel GL : il n’est actif
+     * que pendant l’affichage de l’overlay.
+     */
+    private void togglePerfOverlay() {
+        perfOverlay = !perfOverlay;
+        if (perfOverlay) {
+            profiler.reset();
+            profiler.enable();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    // =====================
+    // METRIQUES
+    // =====================
+
+    /**
+     * Démarre les exports de métriques demandés par les propriétés système.
+     * <p>
+     * Sans export demandé, aucune métrique n’est créée : le monde garde
+     * sa sonde vide et la mesure ne coûte rien.
+     */
+    private void startMetrics() {
+        String csvFile = System.getProperty(METRICS_CSV_PROPERTY);
+        Integer port = Integer.getInteger(METRICS_PORT_PROPERTY);
+        if (csvFile == null && port == null) return;
+
+        MetricsRegistry registry = new MetricsRegistry();
+        metrics = new GameMetrics(registry);
+
+        if (csvFile != null) {
+            metricsCsv = CsvMetricsExporter.start(registry, new File(csvFile), METRICS_CSV_PERIOD_SECONDS);
+        }
+        if (port != null) {
+            metricsHttp = PrometheusExporter.start(registry, port);
+            Gdx.app.log("Metrics", "Serving http://127.0.0.1:" + port + "/metrics");
+        }
+    }
+
+    // =====================
+    // SAUVEGARDE
+    // =====================
+
+    /**
+     * Branche un monde, nouveau ou restauré, sur l’exécuteur, l’audio et les entrées.
+     *
+     * @param world monde de jeu
+     */
+    private void attach(GameWorld world) {
+        this.world = world;
+        world.setExecutor(executor);
+        TickProbe probe = TickProbe.both(
+            allocations != null ? allocations : TickProbe.NONE,
+            metrics != null ? metrics : TickProbe.NONE);
+        world.setTickProbe(TickProbe.both(probe, flightEvents.tickProbe(world)));
+        if (metrics != null) metrics.bind(world);
+        world.addListener(new AudioGameListener(AudioManager.getInstance()));
+        input = new InputController(world, viewport, clock);
+    }
+
+    /**
+     * Sauvegarde rapide (F5) et chargement (F9).
+     * <p>
+     * La sauvegarde ne fait que recopier l’état dans un tampon :
+     * l’écriture du fichier se poursuit en arrière-plan.
+     * Un chargement interrompt l’enregistrement du replay,
+     * qui ne peut décrire qu’une partie continue.
+     */
+    private void updateSaves() {
+        if (pendingSave != null && pendingSave.isDone()) {
+            try {
+                pendingSave.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Gdx.app.error("Save", "Save failed", e.getCause());
+            }
+            pendingSave = null;
+        }
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F5)) {
+            pendingSave = snapshots.save(world, mapData.getName(), Gdx.files.local(SAVE_FILE));
+        }
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F9) && Gdx.files.local(SAVE_FILE).exists()) {
+            try {
+                GameWorld restored = WorldSnapshot.load(Gdx.files.local(SAVE_FILE), mapData);
+                if (recorder != null) {
+                    recorder.close();
+                    recorder = null;
+                }
+                attach(restored);
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("Save", "Cannot load " + SAVE_FILE, e);
+            }
+        }
+    }
+
+    /**
+     * Signale les frames qui ont alloué une fois le jeu en régime établi.
+     */
+    private void reportAllocations() {
+        long bytes = allocations.endFrame();
+        if (++frameCount <= ALLOCATION_WARMUP_FRAMES || bytes == 0) return;
+
+        Gdx.app.log("Allocations", "Frame " + frameCount + " allocated " + bytes
+            + " bytes (last tick: " + allocations.getLastTickBytes()
+            + " bytes, worst phase " + allocations.getWorstPhase() + ")");
     }
 
     // =====================
@@ -265,6 +575,12 @@ public class Main extends ApplicationAdapter {
         if (mapRenderer != null) mapRenderer.dispose();
         if (map != null) map.dispose();
         if (batch != null) batch.dispose();
+        if (profiler != null) profiler.disable();
+        if (recorder != null) recorder.close();
+        if (snapshots != null) snapshots.shutdown();
+        if (executor != null) executor.shutdown();
+        if (metricsCsv != null) metricsCsv.close();
+        if (metricsHttp != null) metricsHttp.close();
 
         AudioManager.getInstance().dispose();
         Assets.dispose();
@@ -0,0 +1,49 @@
+package io.github.louiscieb.towerdefence.audio;
+
+import io.github.louiscieb.towerdefence.controller.GameListener;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.Tower;
+
+/**
+ * Traduit les événements de gameplay en effets sonores.
+ * <p>
+ * Branché sur le {@link io.github.louiscieb.towerdefence.controller.GameWorld}
+ * par l’application graphique uniquement : une simulation headless
+ * n’a jamais besoin de périphérique audio.
+ * </p>
+ */
+public class AudioGameListener implements GameListener {
+
+    /** Gestionnaire audio utilisé pour jouer les sons. */
+    private final AudioManager audio;
+
+    /**
+     * Crée un listener audio.
+     *
+     * @param audio gestionnaire audio
+     */
+    public AudioGameListener(AudioManager audio) {
+        this.audio = audio;
+    }
+
+    @Override
+    public void onProjectileFired(Tower tower, Projectile projectile) {
+        audio.playProjectile();
+    }
+
+    @Override
+    public void onEnemyKilled(Enemy enemy) {
+        audio.playDying();
+    }
+
+    @Override
+    public void onDefeat() {
+        audio.playDefeat();
+    }
+
+    @Override
+    public void onVictory() {
+        audio.playVictory();
+    }
+}
@@ -3,6 +3,7 @@ package io.github.louiscieb.towerdefence.audio;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import io.github.louiscieb.towerdefence.perf.FlightEvents;
 
 /**
  * Gestionnaire centralisé des sons et musiques du jeu.
@@ -45,29 +46,35 @@ public class AudioManager {
 
      */
     private AudioManager() {
-        projectileSound = Gdx.audio.newSound(
-            Gdx.files.internal("audio/Fireball.mp3")
-        );
-
-        squelletonnomore = Gdx.audio.newSound(
-            Gdx.files.internal("audio/Bones.mp3")
-        );
-
-        victory = Gdx.audio.newSound(
-            Gdx.files.internal("audio/Victory.mp3")
-        );
-
-        defeat = Gdx.audio.newSound(
-            Gdx.files.internal("audio/Defeat.mp3")
-        );
+        projectileSound = sound("audio/Fireball.mp3");
+        squelletonnomore = sound("audio/Bones.mp3");
+        victory = sound("audio/Victory.mp3");
+        defeat = sound("audio/Defeat.mp3");
 
+        FlightEvents events = FlightEvents.get();
+        events.beginAssetLoad();
         backgroundMusic = Gdx.audio.newMusic(
             Gdx.files.internal("audio/Music.mp3")
         );
+        events.endAssetLoad("audio/Music.mp3");
         backgroundMusic.setLooping(true);
         backgroundMusic.setVolume(0.4f);
     }
 
+    /**
+     * Charge un effet sonore, en signalant les chargements lents à JFR.
+     *
+     * @param path chemin interne du fichier
+     * @return son chargé
+     */
+    private static Sound sound(String path) {
+        FlightEvents events = FlightEvents.get();
+        events.beginAssetLoad();
+        Sound sound = Gdx.audio.newSound(Gdx.files.internal(path));
+        events.endAssetLoad(path);
+        return sound;
+    }
+
     /**
      * Récupère l’instance unique de l’AudioManager.
      *
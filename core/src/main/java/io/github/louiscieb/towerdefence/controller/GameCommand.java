@@ -0,0 +1,90 @@
+package io.github.louiscieb.towerdefence.controller;
+
+/**
+ * Commande du joueur à appliquer au monde de jeu.
+ * <p>
+ * Les commandes sont mises en file via {@link GameWorld#submit(GameCommand)}
+ * et appliquées au début du tick suivant. La simulation ne lit donc jamais
+ * directement les périphériques d’entrée : une commande peut provenir de la
+ * souris, d’un script ou d’un enregistrement.
+ * </p>
+ */
+public final class GameCommand {
+
+    /**
+     * Types de commandes disponibles.
+     */
+    public enum Type {
+
+        /** Construire une tour dans la zone contenant le point visé. */
+        BUILD,
+
+        /** Améliorer la tour la plus proche du point visé. */
+        UPGRADE
+    }
+
+    /** Type de la commande. */
+    private final Type type;
+
+    /** Coordonnée X visée (monde). */
+    private final float x;
+
+    /** Coordonnée Y visée (monde). */
+    private final float y;
+
+    /**
+     * Crée une commande.
+     *
+     * @param type type de la commande
+     * @param x    coordonnée X visée (monde)
+     * @param y    coordonnée Y visée (monde)
+     */
+    public GameCommand(Type type, float x, float y) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Crée une commande de construction.
+     *
+     * @param x coordonnée X visée (monde)
+     * @param y coordonnée Y visée (monde)
+     * @return commande de construction
+     */
+    public static GameCommand build(float x, float y) {
+        return new GameCommand(Type.BUILD, x, y);
+    }
+
+    /**
+     * Crée une commande d’amélioration.
+     *
+     * @param x coordonnée X visée (monde)
+     * @param y coordonnée Y visée (monde)
+     * @return commande d’amélioration
+     */
+    public static GameCommand upgrade(float x, float y) {
+        return new GameCommand(Type.UPGRADE, x, y);
+    }
+
+    /**
+     * @return type de la commande
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return coordonnée X visée
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * @return coordonnée Y visée
+     */
+    public float getY() {
+        return y;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.Tower;
+
+/**
+ * Observateur des événements de gameplay émis par {@link GameWorld}.
+ * <p>
+ * Permet de brancher le son, les statistiques ou l’enregistrement
+ * sans que la simulation ne dépende de ces systèmes.
+ * Toutes les méthodes ont une implémentation vide par défaut.
+ * </p>
+ */
+public interface GameListener {
+
+    /**
+     * Une commande du joueur vient d’être appliquée.
+     *
+     * @param command commande appliquée
+     * @param tick    numéro du tick pendant lequel elle a été appliquée
+     */
+    default void onCommandApplied(GameCommand command, int tick) {
+    }
+
+    /**
+     * Un tick de simulation vient de se terminer.
+     *
+     * @param tick numéro du tick (le premier tick porte le numéro 1)
+     */
+    default void onTickEnd(int tick) {
+    }
+
+    /**
+     * Une tour vient de tirer un projectile.
+     *
+     * @param tower      tour qui a tiré
+     * @param projectile projectile créé
+     */
+    default void onProjectileFired(Tower tower, Projectile projectile) {
+    }
+
+    /**
+     * Un projectile a disparu sans infliger de dégâts : sa cible a été tuée
+     * ou a atteint la base avant l’impact (tir perdu).
+     *
+     * @param projectile projectile retiré (encore valide pendant l’appel)
+     */
+    default void onProjectileMissed(Projectile projectile) {
+    }
+
+    /**
+     * Un ennemi a été tué.
+     *
+     * @param enemy ennemi tué (encore valide pendant l’appel)
+     */
+    default void onEnemyKilled(Enemy enemy) {
+    }
+
+    /**
+     * Un ennemi a atteint la base.
+     *
+     * @param enemy ennemi arrivé à la base (encore valide pendant l’appel)
+     */
+    default void onEnemyReachedBase(Enemy enemy) {
+    }
+
+    /**
+     * Une tour a été construite.
+     *
+     * @param tower nouvelle tour
+     */
+    default void onTowerBuilt(Tower tower) {
+    }
+
+    /**
+     * Une tour a été améliorée.
+     *
+     * @param tower tour améliorée
+     */
+    default void onTowerUpgraded(Tower tower) {
+    }
+
+    /**
+     * La partie est perdue.
+     */
+    default void onDefeat() {
+    }
+
+    /**
+     * La partie est gagnée.
+     */
+    default void onVictory() {
+    }
+}
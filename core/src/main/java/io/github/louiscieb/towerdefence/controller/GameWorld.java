@@ -1,21 +1,17 @@
 package io.github.louiscieb.towerdefence.controller;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.maps.MapLayer;
-import com.badlogic.gdx.maps.MapObject;
-import com.badlogic.gdx.maps.objects.PolylineMapObject;
-import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.math.Polyline;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.viewport.Viewport;
-import io.github.louiscieb.towerdefence.audio.AudioManager;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.Pool;
 import io.github.louiscieb.towerdefence.model.*;
 
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+
 /**
  * Représente le monde de jeu et la logique principale d’une partie.
  * <p>
@@ -23,10 +19,17 @@ import io.github.louiscieb.towerdefence.model.*;
  * <ul>
  *     <li>Gestion des ennemis, tours et projectiles</li>
  *     <li>Gestion de l’économie (or, coût des tours)</li>
- *     <li>Progression des niveaux ennemis</li>
+ *     <li>Déroulement des vagues d’ennemis ({@link SpawnTimeline})</li>
+ *     <li>Navigation des ennemis : chemin ou champ de flux ({@link Navigation})</li>
  *     <li>Conditions de victoire et de défaite</li>
- *     <li>Gestion des entrées joueur (construction / amélioration)</li>
+ *     <li>Application des commandes joueur (construction / amélioration)</li>
  * </ul>
+ * <p>
+ * La simulation ne dépend ni de {@code Gdx.input} ni de l’audio :
+ * les entrées arrivent sous forme de {@link GameCommand} et les
+ * événements sont publiés vers des {@link GameListener}. Un monde
+ * peut donc être créé et mis à jour dans une JVM sans fenêtre.
+ * </p>
  */
 public class GameWorld {
 
@@ -34,14 +37,55 @@ public class GameWorld {
     // COLLECTIONS DU MODELE
     // =====================
 
-    /** Liste des ennemis actifs. */
-    private final Array<Enemy> enemies = new Array<>();
+    /** Liste des ennemis actifs (pré-dimensionnée pour ne pas grandir en cours de vague). */
+    private final Array<Enemy> enemies = new Array<>(ENEMY_POOL_WARMUP);
 
     /** Liste des tours construites. */
     private final Array<Tower> towers = new Array<>();
 
-    /** Liste des projectiles actifs. */
-    private final Array<Projectile> projectiles = new Array<>();
+    /** Tours triées par instant de leur prochaine action (tir ou réveil). */
+    private final BinaryHeap<Tower> towerQueue = new BinaryHeap<>(16, false);
+
+    /** Tours devant agir pendant le tick courant, dans l’ordre canonique ({@link #TOWER_ORDER}). */
+    private final Array<Tower> dueTowers = new Array<>();
+
+    /** Liste des projectiles actifs (pré-dimensionnée pour ne pas grandir en cours de vague). */
+    private final Array<Projectile> projectiles = new Array<>(PROJECTILE_POOL_WARMUP);
+
+    /** Index spatial des ennemis, reconstruit à chaque tick. */
+    private final EnemyGrid enemyGrid;
+
+    // =====================
+    // POOLS
+    // =====================
+
+    /** Nombre d’ennemis disponibles d’avance au début de chaque vague. */
+    private static final int ENEMY_POOL_WARMUP = 32;
+
+    /** Nombre de projectiles disponibles d’avance au début de chaque vague. */
+    private static final int PROJECTILE_POOL_WARMUP = 128;
+
+    /** Pool recyclant les ennemis tués ou arrivés à la base. */
+    private final Pool<Enemy> enemyPool = new Pool<Enemy>(ENEMY_POOL_WARMUP) {
+        @Override
+        protected Enemy newObject() {
+            return new Enemy();
+        }
+    };
+
+    /** Impacts programmés, triés par instant (mode {@link ProjectileMode#INTERCEPT}). */
+    private final BinaryHeap<Projectile> scheduledImpacts = new BinaryHeap<>(PROJECTILE_POOL_WARMUP, false);
+
+    /** Impacts survenant pendant le tick courant, dans l’ordre canonique ({@link #IMPACT_ORDER}). */
+    private final Array<Projectile> dueImpacts = new Array<>();
+
+    /** Pool recyclant les projectiles terminés. */
+    private final Pool<Projectile> projectilePool = new Pool<Projectile>(PROJECTILE_POOL_WARMUP) {
+        @Override
+        protected Projectile newObject() {
+            return new Projectile();
+        }
+    };
 
     // =====================
     // ZONES DE CONSTRUCTION
@@ -51,21 +95,33 @@ public class GameWorld {
     private final Array<Rectangle> buildZones = new Array<>();
 
     // =====================
-    // AFFICHAGE
+    // COMMANDES ET EVENEMENTS
     // =====================
 
-    /** Viewport utilisé pour convertir les coordonnées écran ↔ monde. */
-    private final Viewport viewport;
+    /** Commandes en attente, appliquées au début du prochain tick. */
+    private final Array<GameCommand> pendingCommands = new Array<>();
+
+    /** Observateurs des événements de gameplay. */
+    private final Array<GameListener> listeners = new Array<>();
+
+    /** Sonde instrumentant les phases de chaque tick. */
+    private TickProbe probe = TickProbe.NONE;
 
     // =====================
     // TIMERS
     // =====================
 
-    /** Timer de génération des ennemis. */
-    private float spawnTimer = 0f;
+    /**
+     * Temps de simulation écoulé depuis le début de la partie.
+     * Cumulé en double, comme la {@link SpawnTimeline} : aucune dérive sur
+     * une longue partie. Il n’est réduit en float qu’au moment d’être
+     * comparé aux instants des entités.
+     */
+    private double time = 0.0;
+
+    /** Nombre de ticks simulés depuis le début de la partie. */
+    private int tick = 0;
 
-    /** Timer de progression du niveau des ennemis. */
-    private float enemyLevelTimer = 0f;
 
     // =====================
     // ECONOMIE
@@ -75,7 +131,7 @@ public class GameWorld {
     private static final int TOWER_COST = 50;
 
     /** Quantité d’or du joueur. */
-    private int gold = 300;
+    private int gold;
 
     // =====================
     // BASE
@@ -91,24 +147,33 @@ public class GameWorld {
     private final Vector2 basePosition;
 
     // =====================
-    // NIVEAUX ENNEMIS
+    // CIBLAGE
     // =====================
 
-    /** Niveau maximum des ennemis. */
-    private static final int MAX_ENEMY_LEVEL = 10;
+    /** Taille des cellules de l’index spatial des ennemis. */
+    private static final float GRID_CELL_SIZE = 128f;
 
-    /** Temps entre chaque augmentation de niveau ennemi. */
-    private static final float ENEMY_LEVEL_INTERVAL = 20f;
-
-    /** Niveau actuel des ennemis. */
-    private int enemyLevel = 2;
+    /** Façon dont les projectiles atteignent leur cible. */
+    private ProjectileMode projectileMode = ProjectileMode.HOMING;
 
     // =====================
-    // CONTROLE DU SPAWN
+    // VAGUES
     // =====================
 
-    /** Indique si le spawn des ennemis est actif. */
-    private boolean spawningEnabled = true;
+    /** Calendrier des apparitions, partagé avec les données de la carte. */
+    private final SpawnTimeline timeline;
+
+    /** Index du prochain groupe du calendrier à faire apparaître. */
+    private int spawnCursor = 0;
+
+    /** Index de la vague en cours (-1 avant la première apparition). */
+    private int wave = -1;
+
+    /** Niveau des ennemis de la vague en cours (ou de la première vague). */
+    private int enemyLevel;
+
+    /** Premier ennemi de chaque groupe apparu pendant le tick courant. */
+    private final Array<Enemy> spawnedGroups = new Array<>();
 
     // =====================
     // ETAT DU JEU
@@ -124,6 +189,67 @@ public class GameWorld {
     /** Chemin suivi par les ennemis. */
     private final Path path;
 
+    /** Données de la carte (création du champ de flux). */
+    private final MapData map;
+
+    /** Façon dont les ennemis rejoignent la base. */
+    private Navigation navigation = Navigation.PATH;
+
+    /** Champ de flux des ennemis ({@link Navigation#FLOW_FIELD}), sinon {@code null}. */
+    private FlowField flowField;
+
+    /** Côté du carré bloqué par une tour sur le champ de flux. */
+    private static final float TOWER_FOOTPRINT = 48f;
+
+    // =====================
+    // PARALLELISME
+    // =====================
+
+    /** Exécuteur des phases parallélisables (série par défaut). */
+    private TickExecutor executor = TickExecutor.serial();
+
+    /** Durée du tick en cours, lue par les phases parallèles. */
+    private float tickDelta;
+
+    /** Phase : déplacement des ennemis. */
+    private final TickExecutor.RangeTask moveEnemies = this::moveEnemies;
+
+    /** Phase : choix des cibles des tours dues. */
+    private final TickExecutor.RangeTask planTowers = this::planTowers;
+
+    /** Phase : déplacement des projectiles guidés et détection des impacts. */
+    private final TickExecutor.RangeTask advanceProjectiles = this::advanceProjectiles;
+
+    // =====================
+    // ORDRE CANONIQUE
+    // =====================
+
+    /*
+     * L’ordre de sortie d’un BinaryHeap entre deux clés égales dépend de
+     * l’historique des insertions. Les tours et les impacts dus pendant un
+     * même tick sont donc triés selon un ordre qui ne dépend que de leur
+     * état : un monde restauré depuis un instantané, dont les files sont
+     * reconstruites, se comporte exactement comme l’original.
+     */
+
+    /** Tours dues : instant d’action, puis position (une seule tour par zone). */
+    private static final Comparator<Tower> TOWER_ORDER = (a, b) -> {
+        int c = Float.compare(a.getValue(), b.getValue());
+        if (c != 0) return c;
+        c = Float.compare(a.getPosition().x, b.getPosition().x);
+        return c != 0 ? c : Float.compare(a.getPosition().y, b.getPosition().y);
+    };
+
+    /** Impacts dus : instant d’impact, instant du tir, puis position de la tour. */
+    private static final Comparator<Projectile> IMPACT_ORDER = (a, b) -> {
+        int c = Float.compare(a.getImpactTime(), b.getImpactTime());
+        if (c != 0) return c;
+        c = Float.compare(a.getFireTime(), b.getFireTime());
+        if (c != 0) return c;
+        c = Float.compare(a.getPosition().x, b.getPosition().x);
+        return c != 0 ? c : Float.compare(a.getPosition().y, b.getPosition().y);
+    };
+
     // =====================
     // CONSTRUCTEUR
     // =====================
@@ -131,36 +257,34 @@ public class GameWorld {
     /**
      * Crée un nouveau monde de jeu à partir d’une carte Tiled.
      *
-     * @param map      carte Tiled contenant le chemin et les zones de construction
-     * @param viewport viewport utilisé pour les conversions de coordonnées
+     * @param map carte Tiled contenant le chemin et les zones de construction
      * @throws RuntimeException si la couche "entities" est absente
      */
-    public GameWorld(TiledMap map, Viewport viewport) {
-        this.viewport = viewport;
-
-        MapLayer entities = map.getLayers().get("entities");
-        if (entities == null)
-            throw new RuntimeException("Object layer 'entities' not found");
-
-        Polyline polyline =
-            ((PolylineMapObject) entities.getObjects().get("Path")).getPolyline();
-
-        float[] vertices = polyline.getTransformedVertices();
-        Array<Vector2> points = new Array<>();
-
-        for (int i = 0; i < vertices.length; i += 2) {
-            points.add(new Vector2(vertices[i], vertices[i + 1]));
-        }
+    public GameWorld(TiledMap map) {
+        this(MapData.from(map));
+    }
 
-        this.path = new Path(points);
+    /**
+     * Crée un nouveau monde de jeu à partir de données de carte déjà analysées.
+     * <p>
+     * Ne nécessite aucun contexte graphique ni audio.
+     *
+     * @param data chemin et zones de construction
+     */
+    public GameWorld(MapData data) {
+        this.map = data;
+        this.path = data.getPath();
         this.basePosition = path.last().cpy();
+        this.enemyGrid = new EnemyGrid(data.getWidth(), data.getHeight(), GRID_CELL_SIZE);
+        this.timeline = data.getSpawnTimeline();
+        this.gold = data.getStartingGold();
+        this.enemyLevel = timeline.size() > 0 ? timeline.getLevel(0) : 0;
 
-        for (MapObject obj : entities.getObjects()) {
-            if ("build".equals(obj.getName())) {
-                Rectangle r = ((RectangleMapObject) obj).getRectangle();
-                buildZones.add(new Rectangle(r));
-            }
+        for (Rectangle r : data.getBuildZones()) {
+            buildZones.add(new Rectangle(r));
         }
+
+        prewarmPools(timeline.getWaveCount() > 0 ? timeline.getWaveSize(0) : 0);
     }
 
     // =====================
@@ -168,43 +292,51 @@ public class GameWorld {
     // =====================
 
     /**
-     * Met à jour l’état du monde de jeu.
+     * Avance la simulation d’un tick.
+     * <p>
+     * Prévu pour être appelé avec un pas de temps fixe
+     * (voir {@link SimulationClock}). Les apparitions sont datées en
+     * temps de simulation : aucune fraction de temps n’est perdue,
+     * quelle que soit la durée du tick.
      *
-     * @param delta temps écoulé depuis la dernière frame
+     * @param delta durée du tick (en secondes)
      */
     public void update(float delta) {
         if (state != GameState.RUNNING) return;
 
-        // Progression du niveau des ennemis
-        enemyLevelTimer += delta;
-        if (enemyLevelTimer >= ENEMY_LEVEL_INTERVAL) {
-            enemyLevelTimer = 0f;
+        probe.beginTick();
+        tick++;
+        time += delta;
+        tickDelta = delta;
 
-            if (enemyLevel < MAX_ENEMY_LEVEL) {
-                enemyLevel++;
-            } else {
-                spawningEnabled = false;
-            }
-        }
+        applyCommands();
+        probe.endPhase(TickPhase.COMMANDS);
 
-        // Génération des ennemis
-        if (spawningEnabled) {
-            spawnTimer += delta;
-            if (spawnTimer > 2f) {
-                enemies.add(new Enemy(path, enemyLevel));
-                spawnTimer = 0f;
-            }
+        // Génération des ennemis : seuls les groupes dus sont visités
+        spawnedGroups.clear();
+        while (spawnCursor < timeline.size() && timeline.getTime(spawnCursor) <= now()) {
+            spawnGroup(spawnCursor++);
         }
+        probe.endPhase(TickPhase.SPAWN);
 
         // Mise à jour des entités
-        for (Enemy e : enemies) e.update(delta);
-        for (Tower t : towers) t.update(delta, enemies, projectiles);
-        for (Projectile p : projectiles) {
-            if (p.consumeJustCreated()) {
-                AudioManager.getInstance().playProjectile();
-            }
-            p.update(delta);
+        executor.forRange(enemies.size, moveEnemies);
+        enemyGrid.rebuild(enemies);
+        probe.endPhase(TickPhase.ENEMIES);
+
+        for (int i = 0; i < spawnedGroups.size; i++) wakeTowers(spawnedGroups.get(i));
+        fireTowers(delta);
+        probe.endPhase(TickPhase.TOWERS);
+
+        executor.forRange(projectiles.size, advanceProjectiles);
+        for (int i = 0; i < projectiles.size; i++) projectiles.get(i).resolve();
+        dueImpacts.clear();
+        while (scheduledImpacts.size > 0 && scheduledImpacts.peek().getValue() <= now()) {
+            dueImpacts.add(scheduledImpacts.pop());
         }
+        dueImpacts.sort(IMPACT_ORDER);
+        for (int i = 0; i < dueImpacts.size; i++) dueImpacts.get(i).impact();
+        probe.endPhase(TickPhase.PROJECTILES);
 
         // Gestion des ennemis
         for (int i = enemies.size - 1; i >= 0; i--) {
@@ -213,10 +345,12 @@ public class GameWorld {
             if (e.reachedBase()) {
                 baseHp--;
                 enemies.removeIndex(i);
+                fireEnemyReachedBase(e);
+                enemyPool.free(e);
 
                 if (baseHp <= 0) {
-                    AudioManager.getInstance().playDefeat();
                     state = GameState.GAME_OVER;
+                    fireDefeat();
                 }
                 continue;
             }
@@ -224,72 +358,334 @@ public class GameWorld {
             if (e.isDead()) {
                 gold += e.getGoldReward();
                 enemies.removeIndex(i);
-                AudioManager.getInstance().playDying();
+                fireEnemyKilled(e);
+                enemyPool.free(e);
             }
         }
 
         // Nettoyage des projectiles
         for (int i = projectiles.size - 1; i >= 0; i--) {
-            if (projectiles.get(i).isDone()) {
-                projectiles.removeIndex(i);
+            Projectile p = projectiles.get(i);
+            if (p.isDone()) {
+                if (!p.hasLanded()) fireProjectileMissed(p);
+                projectilePool.free(projectiles.removeIndex(i));
             }
         }
+        probe.endPhase(TickPhase.CLEANUP);
 
         // Condition de victoire
-        if (!spawningEnabled && enemies.isEmpty() && baseHp > 0) {
-            AudioManager.getInstance().playVictory();
+        if (spawnCursor == timeline.size() && enemies.isEmpty() && baseHp > 0) {
             state = GameState.WIN;
+            fireVictory();
+        }
+        probe.endPhase(TickPhase.VICTORY);
+
+        fireTickEnd();
+
+        probe.endTick();
+    }
+
+    // =====================
+    // PHASES PARALLELISABLES
+    // =====================
+
+    private void moveEnemies(int from, int to) {
+        for (int i = from; i < to; i++) enemies.get(i).update(tickDelta);
+    }
+
+    private void planTowers(int from, int to) {
+        for (int i = from; i < to; i++) dueTowers.get(i).plan(enemyGrid, enemies, now());
+    }
+
+    private void advanceProjectiles(int from, int to) {
+        for (int i = from; i < to; i++) projectiles.get(i).advance(tickDelta);
+    }
+
+    // =====================
+    // APPARITIONS
+    // =====================
+
+    /**
+     * Fait apparaître un groupe du calendrier.
+     * <p>
+     * Les ennemis d’un groupe sont identiques : le début d’une vague
+     * complète les pools en une fois, puis chaque ennemi ne coûte qu’une
+     * sortie de pool. Le réveil des tours n’est calculé qu’une fois
+     * par groupe, pour son premier ennemi.
+     *
+     * @param group index du groupe dans le calendrier
+     */
+    private void spawnGroup(int group) {
+        int level = timeline.getLevel(group);
+        int count = timeline.getCount(group);
+
+        if (timeline.getWave(group) != wave) {
+            wave = timeline.getWave(group);
+            enemyLevel = level;
+            prewarmPools(timeline.getWaveSize(wave));
         }
 
-        handleBuildInput();
-        handleUpgradeInput();
+        enemies.ensureCapacity(count);
+
+        Enemy first = spawn(group, 0, level);
+        enemies.add(first);
+        for (int i = 1; i < count; i++) enemies.add(spawn(group, i, level));
+        spawnedGroups.add(first);
+    }
+
+    /**
+     * Sort un ennemi du pool et le place au début du chemin ou,
+     * sur un champ de flux, sur l’un des points d’apparition
+     * (à tour de rôle, d’après sa place dans le calendrier).
+     *
+     * @param group index du groupe dans le calendrier
+     * @param index index de l’ennemi dans le groupe
+     * @param level niveau de l’ennemi
+     * @return ennemi initialisé
+     */
+    private Enemy spawn(int group, int index, int level) {
+        Enemy e = enemyPool.obtain();
+        if (flowField == null) return e.init(path, level);
+
+        Array<Vector2> spawns = map.getSpawnPoints();
+        Vector2 at = spawns.get((group + index) % spawns.size);
+        return e.init(flowField, at.x, at.y, level);
     }
 
     // =====================
-    // GESTION DES ENTREES
+    // TIRS DES TOURS
     // =====================
 
-    /** Gère l’entrée de construction des tours. */
-    private void handleBuildInput() {
-        if (!Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) return;
+    /**
+     * Fait agir les tours dont l’instant d’action tombe dans ce tick.
+     * <p>
+     * Seules les tours en tête de file sont visitées : une tour qui
+     * recharge ou qui attend l’arrivée d’un ennemi ne coûte rien.
+     * Une tour dont la cadence dépasse la fréquence des ticks tire
+     * plusieurs fois dans le même tick, chaque tir étant daté à
+     * l’instant exact de la fin de son rechargement.
+     * La cible est choisie d’après les positions de fin de tick.
+     * Une tour ne tire pas sur un ennemi que les projectiles déjà
+     * en vol suffisent à tuer.
+     * <p>
+     * Le choix des cibles ne fait que lire l’état des ennemis : il est
+     * réparti sur l’{@link TickExecutor}. Les tirs sont ensuite créés
+     * sur le thread appelant, dans l’ordre canonique des tours dues,
+     * quel que soit le nombre de threads.
+     *
+     * @param delta durée du tick
+     */
+    private void fireTowers(float delta) {
+        float tickStart = (float) (time - delta);
+
+        dueTowers.clear();
+        while (towerQueue.size > 0 && towerQueue.peek().getValue() <= now()) {
+            dueTowers.add(towerQueue.pop());
+        }
+        dueTowers.sort(TOWER_ORDER);
+
+        executor.forRange(dueTowers.size, planTowers);
+
+        for (int i = 0; i < dueTowers.size; i++) {
+            Tower tower = dueTowers.get(i);
+            Enemy target = tower.takePlannedTarget();
+            float at = Math.max(tower.getValue(), tickStart);
+
+            // Tirs multiples : un tir précédent de ce tick a pu condamner la cible
+            while (at <= now()) {
+                if (target != null && target.isDoomed()) target = tower.findTarget(enemyGrid);
+                if (target == null) break;
 
-        Vector3 mouse = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        viewport.unproject(mouse);
+                Projectile p = tower.fire(target, projectilePool, at);
+                projectiles.add(p);
+                if (projectileMode == ProjectileMode.INTERCEPT && flowField == null) scheduleImpact(p, at);
+                fireProjectileFired(tower, p);
+                at = tower.getReadyTime();
+            }
 
+            if (at <= now()) {
+                float wake = tower.isWaiting() ? tower.getPlannedWake() : tower.waitForTarget(enemies, now());
+                at = Math.max(wake, Math.nextUp(now()));
+            }
+            towerQueue.add(tower, at);
+        }
+    }
+
+    /**
+     * Avance le réveil des tours en attente qu’un nouvel ennemi
+     * atteindra plus tôt que prévu.
+     *
+     * @param spawned ennemi apparu pendant ce tick
+     */
+    private void wakeTowers(Enemy spawned) {
+        for (int i = 0; i < towers.size; i++) {
+            Tower tower = towers.get(i);
+            if (!tower.isWaiting()) continue;
+
+            float entry = Math.max(tower.entryTime(spawned, now()), Math.nextUp(now()));
+            if (entry < tower.getValue()) towerQueue.setValue(tower, entry);
+        }
+    }
+
+    /**
+     * Calcule l’impact d’un projectile qui vient d’être tiré
+     * et le programme dans la file des impacts.
+     * <p>
+     * Si la cible atteint la base avant d’être rejointe,
+     * le projectile reste guidé comme en mode {@link ProjectileMode#HOMING}.
+     * Sur un champ de flux, le mouvement des ennemis n’est pas prévisible :
+     * aucun impact n’est programmé.
+     *
+     * @param p      projectile tiré pendant ce tick
+     * @param fireAt instant du tir (au plus la fin du tick)
+     */
+    private void scheduleImpact(Projectile p, float fireAt) {
+        Enemy target = p.getTarget();
+        Vector2 from = p.getPosition();
+
+        // Position de la cible à l’instant du tir
+        float distance = Math.max(target.getProgress() - target.getSpeed() * (now() - fireAt), 0f);
+
+        float flight = path.interceptTime(distance, path.segmentAt(distance), target.getSpeed(),
+            from.x, from.y, Projectile.SPEED);
+        if (flight < 0f) return;
+
+        float impactDistance = distance + target.getSpeed() * flight;
+        int impactSegment = path.segmentAt(impactDistance);
+        p.schedule(fireAt, fireAt + flight,
+            path.xAt(impactDistance, impactSegment),
+            path.yAt(impactDistance, impactSegment));
+        scheduledImpacts.add(p, fireAt + flight);
+    }
+
+    /**
+     * Complète les pools afin que la vague qui commence
+     * n’alloue ni ennemi ni projectile.
+     *
+     * @param waveSize nombre d’ennemis de la vague
+     */
+    private void prewarmPools(int waveSize) {
+        int missingEnemies = Math.max(ENEMY_POOL_WARMUP, waveSize) - enemyPool.getFree();
+        if (missingEnemies > 0) enemyPool.fill(missingEnemies);
+
+        int missingProjectiles = PROJECTILE_POOL_WARMUP - projectilePool.getFree();
+        if (missingProjectiles > 0) projectilePool.fill(missingProjectiles);
+    }
+
+    // =====================
+    // COMMANDES
+    // =====================
+
+    /**
+     * Ajoute une commande joueur à la file.
+     * <p>
+     * La commande est appliquée au début du prochain tick ;
+     * elle est ignorée si la partie est terminée.
+     *
+     * @param command commande à appliquer
+     */
+    public void submit(GameCommand command) {
+        pendingCommands.add(command);
+    }
+
+    /** Applique, dans l’ordre d’arrivée, les commandes en attente. */
+    private void applyCommands() {
+        for (int i = 0; i < pendingCommands.size; i++) {
+            GameCommand c = pendingCommands.get(i);
+            switch (c.getType()) {
+                case BUILD:
+                    build(c.getX(), c.getY());
+                    break;
+                case UPGRADE:
+                    upgrade(c.getX(), c.getY());
+                    break;
+            }
+            fireCommandApplied(c);
+        }
+        pendingCommands.clear();
+    }
+
+    /**
+     * Construit une tour au centre de la zone contenant le point donné.
+     *
+     * @param x coordonnée X visée
+     * @param y coordonnée Y visée
+     */
+    private void build(float x, float y) {
         for (Rectangle zone : buildZones) {
-            if (!zone.contains(mouse.x, mouse.y)) continue;
+            if (!zone.contains(x, y)) continue;
 
             if (countTowersInZone(zone) >= 1) return;
             if (gold < TOWER_COST) return;
 
-            gold -= TOWER_COST;
-
             float cx = zone.x + zone.width / 2f;
             float cy = zone.y + zone.height / 2f;
+            if (flowField != null && !blockFootprint(cx, cy)) return;
 
-            towers.add(new Tower(cx, cy));
+            gold -= TOWER_COST;
+
+            Tower tower = new Tower(cx, cy);
+            tower.activate(predictablePath(), now());
+            towers.add(tower);
+            towerQueue.add(tower, now());
+            fireTowerBuilt(tower);
             return;
         }
     }
 
-    /** Gère l’amélioration des tours existantes. */
-    private void handleUpgradeInput() {
-        if (!Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) return;
-
-        Vector3 mouse = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        viewport.unproject(mouse);
-
+    /**
+     * Améliore la première tour proche du point donné.
+     *
+     * @param x coordonnée X visée
+     * @param y coordonnée Y visée
+     */
+    private void upgrade(float x, float y) {
         for (Tower t : towers) {
-            if (t.getPosition().dst(mouse.x, mouse.y) < 80f) {
+            if (t.getPosition().dst(x, y) < 80f) {
                 if (t.canUpgrade(gold)) {
                     gold -= t.getUpgradeCost();
                     t.upgrade();
+                    t.updateCoverage(predictablePath());
+                    if (t.isWaiting()) towerQueue.setValue(t, now());
+                    fireTowerUpgraded(t);
                 }
                 return;
             }
         }
     }
 
+    /**
+     * Bloque l’emprise d’une tour sur le champ de flux, sauf si elle
+     * couperait la base d’un point d’apparition ou d’un ennemi en jeu.
+     *
+     * @param x centre X de la tour
+     * @param y centre Y de la tour
+     * @return {@code true} si l’emprise est bloquée, {@code false} si la construction est refusée
+     */
+    private boolean blockFootprint(float x, float y) {
+        float half = TOWER_FOOTPRINT / 2f;
+        flowField.block(x - half, y - half, TOWER_FOOTPRINT, TOWER_FOOTPRINT);
+
+        boolean open = true;
+        Array<Vector2> spawns = map.getSpawnPoints();
+        for (int i = 0; i < spawns.size && open; i++) {
+            open = flowField.canReachGoal(spawns.get(i).x, spawns.get(i).y);
+        }
+        for (int i = 0; i < enemies.size && open; i++) {
+            open = flowField.canReachGoal(enemies.get(i).getPosition().x, enemies.get(i).getPosition().y);
+        }
+
+        if (!open) flowField.unblock(x - half, y - half, TOWER_FOOTPRINT, TOWER_FOOTPRINT);
+        return open;
+    }
+
+    /**
+     * @return chemin servant à prévoir l’arrivée des ennemis, ou {@code null} sur un champ de flux
+     */
+    private Path predictablePath() {
+        return flowField == null ? path : null;
+    }
+
     /**
      * Compte le nombre de tours présentes dans une zone donnée.
      *
@@ -304,6 +700,314 @@ public class GameWorld {
         return 0;
     }
 
+    // =====================
+    // INSTANTANES
+    // =====================
+
+    /** Taille de l’état global et des compteurs d’entités dans un instantané. */
+    private static final int SNAPSHOT_STATE_BYTES = 51;
+
+    /** Taille d’une commande en attente dans un instantané. */
+    private static final int SNAPSHOT_COMMAND_BYTES = 9;
+
+    /** Taille d’une tour et de son instant d’action dans un instantané. */
+    private static final int SNAPSHOT_TOWER_BYTES = Tower.SNAPSHOT_BYTES + 4;
+
+    /**
+     * @return nombre exact d’octets écrits par {@link #writeSnapshot(ByteBuffer, ObjectIntMap)}
+     */
+    int snapshotSize() {
+        return SNAPSHOT_STATE_BYTES
+            + pendingCommands.size * SNAPSHOT_COMMAND_BYTES
+            + enemies.size * Enemy.SNAPSHOT_BYTES
+            + towers.size * SNAPSHOT_TOWER_BYTES
+            + projectiles.size * Projectile.SNAPSHOT_BYTES;
+    }
+
+    /**
+     * Écrit l’état complet de la simulation, entre deux ticks.
+     * <p>
+     * Les files de priorité ne sont pas écrites telles quelles : seule la
+     * clé de chaque tour l’est, et les impacts programmés se déduisent des
+     * projectiles. Les références des projectiles vers leur cible deviennent
+     * des index dans la liste des ennemis.
+     *
+     * @param out     tampon d’au moins {@link #snapshotSize()} octets restants
+     * @param indices table de travail réutilisée d’un instantané à l’autre
+     */
+    void writeSnapshot(ByteBuffer out, ObjectIntMap<Enemy> indices) {
+        out.putDouble(time);
+        out.putInt(tick);
+        out.putInt(spawnCursor);
+        out.putInt(wave);
+        out.putInt(gold);
+        out.putInt(baseHp);
+        out.putInt(enemyLevel);
+        out.put((byte) state.ordinal());
+        out.put((byte) projectileMode.ordinal());
+        out.put((byte) navigation.ordinal());
+
+        out.putInt(pendingCommands.size);
+        for (int i = 0; i < pendingCommands.size; i++) {
+            GameCommand c = pendingCommands.get(i);
+            out.put((byte) c.getType().ordinal());
+            out.putFloat(c.getX());
+            out.putFloat(c.getY());
+        }
+
+        indices.clear();
+        out.putInt(enemies.size);
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            indices.put(e, i);
+            e.write(out);
+        }
+
+        out.putInt(towers.size);
+        for (int i = 0; i < towers.size; i++) {
+            Tower t = towers.get(i);
+            t.write(out);
+            out.putFloat(t.getValue());
+        }
+
+        out.putInt(projectiles.size);
+        for (int i = 0; i < projectiles.size; i++) {
+            Projectile p = projectiles.get(i);
+            p.write(out, p.hasTarget() ? indices.get(p.getTarget(), -1) : -1);
+        }
+    }
+
+    /**
+     * Restaure l’état écrit par {@link #writeSnapshot(ByteBuffer, ObjectIntMap)}
+     * dans un monde qui vient d’être créé sur la même carte.
+     *
+     * Chaque nombre d’entités est comparé à la taille de l’état avant toute
+     * allocation : un instantané corrompu ne peut pas faire allouer plus que
+     * ce qu’il contient.
+     *
+     * @param in        tampon positionné sur l’état du monde
+     * @param stateSize taille de l’état du monde dans le tampon
+     * @throws IllegalStateException     si le monde a déjà été simulé ou modifié
+     * @throws IndexOutOfBoundsException si un nombre d’entités ou un index est incohérent
+     */
+    void readSnapshot(ByteBuffer in, int stateSize) {
+        if (tick != 0 || towers.size > 0 || pendingCommands.size > 0)
+            throw new IllegalStateException("Snapshots can only be restored into a new world");
+        int end = in.position() + stateSize;
+
+        time = in.getDouble();
+        tick = in.getInt();
+        spawnCursor = in.getInt();
+        wave = in.getInt();
+        if (spawnCursor < 0 || spawnCursor > timeline.size() || wave >= timeline.getWaveCount())
+            throw new IndexOutOfBoundsException("Spawn cursor " + spawnCursor + " outside the map's timeline");
+        gold = in.getInt();
+        baseHp = in.getInt();
+        enemyLevel = in.getInt();
+        state = GameState.values()[in.get()];
+        projectileMode = ProjectileMode.values()[in.get()];
+        useNavigation(Navigation.values()[in.get()]);
+
+        GameCommand.Type[] types = GameCommand.Type.values();
+        int commandCount = readCount(in, end, SNAPSHOT_COMMAND_BYTES);
+        for (int i = 0; i < commandCount; i++) {
+            GameCommand.Type type = types[in.get()];
+            pendingCommands.add(new GameCommand(type, in.getFloat(), in.getFloat()));
+        }
+
+        int enemyCount = readCount(in, end, Enemy.SNAPSHOT_BYTES);
+        enemies.ensureCapacity(enemyCount);
+        for (int i = 0; i < enemyCount; i++) {
+            enemies.add(enemyPool.obtain().read(in, path, flowField));
+        }
+
+        int towerCount = readCount(in, end, SNAPSHOT_TOWER_BYTES);
+        for (int i = 0; i < towerCount; i++) {
+            Tower tower = Tower.read(in, predictablePath());
+            if (flowField != null) {
+                float half = TOWER_FOOTPRINT / 2f;
+                flowField.block(tower.getPosition().x - half, tower.getPosition().y - half,
+                    TOWER_FOOTPRINT, TOWER_FOOTPRINT);
+            }
+            towers.add(tower);
+            towerQueue.add(tower, in.getFloat());
+        }
+
+        int projectileCount = readCount(in, end, Projectile.SNAPSHOT_BYTES);
+        projectiles.ensureCapacity(projectileCount);
+        for (int i = 0; i < projectileCount; i++) {
+            int target = in.getInt();
+            Projectile p = projectilePool.obtain().read(in, target >= 0 ? enemies.get(target) : null);
+            projectiles.add(p);
+            if (p.isScheduled() && !p.isDone()) scheduledImpacts.add(p, p.getImpactTime());
+        }
+
+        enemyGrid.rebuild(enemies);
+        prewarmPools(wave >= 0 ? timeline.getWaveSize(wave) : 0);
+    }
+
+    /**
+     * Lit un nombre d’entités et vérifie qu’il tient dans le reste de l’état.
+     *
+     * @param in          tampon de l’instantané
+     * @param end         position de fin de l’état du monde
+     * @param recordBytes taille d’une entité
+     * @return nombre d’entités
+     * @throws IndexOutOfBoundsException si le nombre est négatif ou dépasse l’état
+     */
+    private static int readCount(ByteBuffer in, int end, int recordBytes) {
+        int count = in.getInt();
+        if (count < 0 || count > (end - in.position()) / recordBytes)
+            throw new IndexOutOfBoundsException("Entity count " + count + " does not fit in the snapshot");
+        return count;
+    }
+
+    // =====================
+    // EVENEMENTS
+    // =====================
+
+    /**
+     * Installe une sonde sur les phases de chaque tick.
+     *
+     * @param probe sonde à utiliser, ou {@code null} pour la désactiver
+     */
+    public void setTickProbe(TickProbe probe) {
+        this.probe = probe != null ? probe : TickProbe.NONE;
+    }
+
+    /**
+     * Choisit l’exécuteur des phases parallélisables du tick.
+     * <p>
+     * Le résultat de la simulation est identique quel que soit
+     * l’exécuteur ; {@link TickExecutor#serial()} force le mode série.
+     * L’exécuteur reste la propriété de l’appelant, qui doit l’arrêter.
+     *
+     * @param executor exécuteur à utiliser, ou {@code null} pour le mode série
+     */
+    public void setExecutor(TickExecutor executor) {
+        this.executor = executor != null ? executor : TickExecutor.serial();
+    }
+
+    /**
+     * Choisit la façon dont les prochains projectiles atteignent leur cible.
+     *
+     * @param mode mode des projectiles
+     */
+    public void setProjectileMode(ProjectileMode mode) {
+        this.projectileMode = mode;
+    }
+
+    /**
+     * Fixe les points de vie de la base avant le début de la partie.
+     * <p>
+     * Sert aux parties d’endurance, qui ne doivent pas s’arrêter
+     * sur une défaite.
+     *
+     * @param hp points de vie de la base
+     * @throws IllegalArgumentException si {@code hp} n’est pas positif
+     * @throws IllegalStateException    si la partie a déjà commencé
+     */
+    public void setBaseHp(int hp) {
+        if (hp <= 0)
+            throw new IllegalArgumentException("hp must be > 0");
+        if (tick != 0 || towers.size > 0 || enemies.size > 0)
+            throw new IllegalStateException("Base hit points must be set before the first tick");
+        baseHp = hp;
+    }
+
+    /**
+     * Choisit la façon dont les ennemis rejoignent la base.
+     * <p>
+     * Sur un {@link Navigation#FLOW_FIELD champ de flux}, les tours
+     * bloquent les cellules qu’elles occupent ; leur réveil et les impacts
+     * ne peuvent plus être prévus, si bien qu’une tour sans cible se
+     * réveille à chaque tick et que les projectiles restent guidés.
+     *
+     * @param mode navigation des ennemis
+     * @throws IllegalStateException si la partie a déjà commencé, si la carte
+     *                               n’a pas de couche de collision ou si un point
+     *                               d’apparition ne mène pas à la base
+     */
+    public void setNavigation(Navigation mode) {
+        if (tick != 0 || towers.size > 0 || enemies.size > 0)
+            throw new IllegalStateException("Navigation must be chosen before the first tick");
+        useNavigation(mode);
+    }
+
+    private void useNavigation(Navigation mode) {
+        FlowField field = null;
+        if (mode == Navigation.FLOW_FIELD) {
+            field = map.createFlowField();
+            if (field == null)
+                throw new IllegalStateException("Map '" + map.getName() + "' has no collision layer");
+
+            for (Vector2 spawn : map.getSpawnPoints()) {
+                if (!field.canReachGoal(spawn.x, spawn.y))
+                    throw new IllegalStateException("Spawn point " + spawn + " cannot reach the base");
+            }
+        }
+        navigation = mode;
+        flowField = field;
+    }
+
+    /**
+     * Abonne un observateur aux événements de gameplay.
+     *
+     * @param listener observateur à ajouter
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Désabonne un observateur.
+     *
+     * @param listener observateur à retirer
+     */
+    public void removeListener(GameListener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    private void fireProjectileFired(Tower tower, Projectile projectile) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onProjectileFired(tower, projectile);
+    }
+
+    private void fireProjectileMissed(Projectile projectile) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onProjectileMissed(projectile);
+    }
+
+    private void fireEnemyKilled(Enemy enemy) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onEnemyKilled(enemy);
+    }
+
+    private void fireEnemyReachedBase(Enemy enemy) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onEnemyReachedBase(enemy);
+    }
+
+    private void fireTowerBuilt(Tower tower) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onTowerBuilt(tower);
+    }
+
+    private void fireTowerUpgraded(Tower tower) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onTowerUpgraded(tower);
+    }
+
+    private void fireDefeat() {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onDefeat();
+    }
+
+    private void fireVictory() {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onVictory();
+    }
+
+    private void fireCommandApplied(GameCommand command) {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onCommandApplied(command, tick);
+    }
+
+    private void fireTickEnd() {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onTickEnd(tick);
+    }
+
     // =====================
     // GETTERS
     // =====================
@@ -314,11 +1018,21 @@ public class GameWorld {
 
     public int getGold() { return gold; }
     public int getEnemyLevel() { return enemyLevel; }
-    public int getMaxEnemyLevel() { return MAX_ENEMY_LEVEL; }
+    public int getMaxEnemyLevel() { return timeline.getMaxLevel(); }
+    public int getWave() { return wave + 1; }
+    public int getWaveCount() { return timeline.getWaveCount(); }
 
     public int getBaseHp() { return baseHp; }
     public int getBaseMaxHp() { return BASE_MAX_HP; }
     public Vector2 getBasePosition() { return basePosition; }
 
     public GameState getState() { return state; }
+    public ProjectileMode getProjectileMode() { return projectileMode; }
+    public Navigation getNavigation() { return navigation; }
+    public FlowField getFlowField() { return flowField; }
+    public float getTime() { return now(); }
+
+    /** @return temps de simulation écoulé, réduit en float pour être comparé aux instants des entités */
+    private float now() { return (float) time; }
+    public int getTick() { return tick; }
 }
@@ -0,0 +1,85 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Convertit les entrées souris en commandes de jeu.
+ * <p>
+ * Clic gauche : construction d’une tour.
+ * Clic droit : amélioration d’une tour.
+ * </p>
+ * <p>
+ * Touches 1 à 5 : vitesse de la simulation (×1, ×2, ×4, ×16, maximum).
+ * La vitesse ne concerne que l’{@link SimulationClock} : ce n’est pas
+ * une commande de jeu et elle n’influe pas sur le résultat de la partie.
+ * </p>
+ * <p>
+ * C’est le seul endroit qui interroge {@code Gdx.input} :
+ * le {@link GameWorld} ne reçoit que des {@link GameCommand}.
+ * </p>
+ */
+public class InputController {
+
+    /** Monde de jeu recevant les commandes. */
+    private final GameWorld world;
+
+    /** Viewport utilisé pour convertir les coordonnées écran ↔ monde. */
+    private final Viewport viewport;
+
+    /** Horloge dont les touches de vitesse règlent l’accélération. */
+    private final SimulationClock clock;
+
+    /** Vecteur réutilisé pour la conversion des coordonnées souris. */
+    private final Vector3 mouse = new Vector3();
+
+    /** Touches de vitesse, associées dans l’ordre à {@link #SPEEDS}. */
+    private static final int[] SPEED_KEYS = {
+        Input.Keys.NUM_1, Input.Keys.NUM_2, Input.Keys.NUM_3, Input.Keys.NUM_4, Input.Keys.NUM_5
+    };
+
+    /** Vitesses de simulation proposées. */
+    private static final float[] SPEEDS = {1f, 2f, 4f, 16f, SimulationClock.UNLIMITED};
+
+    /**
+     * Crée un contrôleur d’entrées.
+     *
+     * @param world    monde recevant les commandes
+     * @param viewport viewport utilisé pour les conversions de coordonnées
+     * @param clock    horloge de simulation (touches de vitesse)
+     */
+    public InputController(GameWorld world, Viewport viewport, SimulationClock clock) {
+        this.world = world;
+        this.viewport = viewport;
+        this.clock = clock;
+    }
+
+    /**
+     * Lit les entrées de la frame et transmet les commandes au monde.
+     * <p>
+     * À appeler une fois par frame, indépendamment du nombre de ticks simulés.
+     */
+    public void update() {
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+            unprojectMouse();
+            world.submit(GameCommand.build(mouse.x, mouse.y));
+        }
+
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) {
+            unprojectMouse();
+            world.submit(GameCommand.upgrade(mouse.x, mouse.y));
+        }
+
+        for (int i = 0; i < SPEED_KEYS.length; i++) {
+            if (Gdx.input.isKeyJustPressed(SPEED_KEYS[i])) clock.setSpeed(SPEEDS[i]);
+        }
+    }
+
+    /** Convertit la position de la souris en coordonnées monde. */
+    private void unprojectMouse() {
+        mouse.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+        viewport.unproject(mouse);
+    }
+}
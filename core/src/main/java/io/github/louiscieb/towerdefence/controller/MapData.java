@@ -0,0 +1,504 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.PointMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.PolylineMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import io.github.louiscieb.towerdefence.model.FlowField;
+import io.github.louiscieb.towerdefence.model.Path;
+import io.github.louiscieb.towerdefence.model.SpawnTimeline;
+import io.github.louiscieb.towerdefence.model.Wave;
+
+import java.util.function.Function;
+
+/**
+ * Données de gameplay extraites d’une carte Tiled.
+ * <p>
+ * Contient uniquement ce dont la simulation a besoin :
+ * <ul>
+ *     <li>L’identifiant de la carte (propriété {@code levelName})</li>
+ *     <li>Le chemin suivi par les ennemis</li>
+ *     <li>Les zones de construction des tours</li>
+ *     <li>Les vagues d’ennemis, dépliées en {@link SpawnTimeline}</li>
+ *     <li>La zone praticable (couche {@code colission}), les points
+ *     d’apparition ({@code enemySpawn}) et la base ({@code base}),
+ *     dont est tiré le {@link FlowField} des ennemis</li>
+ *     <li>Les dimensions du monde</li>
+ * </ul>
+ * <p>
+ * Les vagues sont décrites par des propriétés de carte : {@code numberOfWaves},
+ * puis pour chaque vague {@code n} (à partir de 1) {@code waveN.count},
+ * {@code waveN.level}, {@code waveN.spacing}, {@code waveN.burst} et
+ * {@code waveN.delay} (voir {@link Wave}). Une propriété absente prend la
+ * valeur de la progression par défaut : 10 ennemis par vague, un toutes les
+ * 2 secondes, niveau 2 pour la première vague puis +1 par vague.
+ * L’or de départ du joueur est la propriété {@code startingGold} (300 par défaut).
+ * </p>
+ * <p>
+ * Ces données peuvent être lues depuis une {@link TiledMap} déjà chargée,
+ * ou directement depuis le fichier TMX sans contexte OpenGL
+ * (simulation headless, tests de performance, serveur).
+ * </p>
+ */
+public class MapData {
+
+    /** Nom de la couche d’objets contenant le chemin et les zones. */
+    private static final String ENTITIES_LAYER = "entities";
+
+    /** Propriété de carte contenant son identifiant. */
+    private static final String NAME_PROPERTY = "levelName";
+
+    /** Identifiant utilisé lorsque la carte n’en déclare pas. */
+    private static final String DEFAULT_NAME = "unnamed";
+
+    /** Propriété de carte contenant le nombre de vagues. */
+    private static final String WAVE_COUNT_PROPERTY = "numberOfWaves";
+
+    /** Préfixe des propriétés d’une vague ({@code wave1.count}…). */
+    private static final String WAVE_PREFIX = "wave";
+
+    /** Nombre de vagues lorsque la carte n’en déclare pas (niveaux 2 à 10). */
+    private static final int DEFAULT_WAVE_COUNT = 9;
+
+    /** Nombre d’ennemis par vague par défaut. */
+    private static final int DEFAULT_WAVE_SIZE = 10;
+
+    /** Niveau des ennemis de la première vague par défaut. */
+    private static final int DEFAULT_FIRST_LEVEL = 2;
+
+    /** Temps entre deux apparitions par défaut (en secondes). */
+    private static final float DEFAULT_SPACING = 2f;
+
+    /** Propriété de carte contenant l’or de départ du joueur. */
+    private static final String STARTING_GOLD_PROPERTY = "startingGold";
+
+    /** Or de départ lorsque la carte n’en déclare pas. */
+    private static final int DEFAULT_STARTING_GOLD = 300;
+
+    /** Nom de la couche d’objets contenant les polygones praticables. */
+    private static final String COLLISION_LAYER = "colission";
+
+    /** Taille des cellules du champ de flux (en pixels). */
+    private static final float FLOW_CELL_SIZE = 16f;
+
+    /** Identifiant de la carte (replays, sauvegardes). */
+    private final String name;
+
+    /** Largeur du monde (en pixels). */
+    private final float width;
+
+    /** Hauteur du monde (en pixels). */
+    private final float height;
+
+    /** Chemin suivi par les ennemis. */
+    private final Path path;
+
+    /** Zones autorisées pour la construction des tours. */
+    private final Array<Rectangle> buildZones;
+
+    /** Vagues d’ennemis, dans l’ordre. */
+    private final Array<Wave> waves;
+
+    /** Calendrier des apparitions d’ennemis. */
+    private final SpawnTimeline spawnTimeline;
+
+    /** Or du joueur au début de la partie. */
+    private final int startingGold;
+
+    /** Polygones praticables par les ennemis (sommets {@code x, y}, coordonnées monde). */
+    private final Array<float[]> walkableAreas;
+
+    /** Points d’apparition des ennemis. */
+    private final Array<Vector2> spawnPoints;
+
+    /** Zone de la base. */
+    private final Rectangle base;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Crée des données de carte à partir d’éléments déjà analysés.
+     *
+     * @param name       identifiant de la carte
+     * @param width      largeur du monde (en pixels)
+     * @param height     hauteur du monde (en pixels)
+     * @param path       chemin suivi par les ennemis
+     * @param buildZones zones de construction (coordonnées monde)
+     * @param waves      vagues d’ennemis, dans l’ordre
+     */
+    public MapData(String name, float width, float height, Path path, Array<Rectangle> buildZones,
+                   Array<Wave> waves) {
+        this(name, width, height, path, buildZones, waves, DEFAULT_STARTING_GOLD,
+            new Array<float[]>(), new Array<Vector2>(), null);
+    }
+
+    /**
+     * Crée des données de carte, avec la zone praticable des ennemis.
+     *
+     * @param name          identifiant de la carte
+     * @param width         largeur du monde (en pixels)
+     * @param height        hauteur du monde (en pixels)
+     * @param path          chemin suivi par les ennemis
+     * @param buildZones    zones de construction (coordonnées monde)
+     * @param waves         vagues d’ennemis, dans l’ordre
+     * @param startingGold  or du joueur au début de la partie
+     * @param walkableAreas polygones praticables (coordonnées monde), éventuellement vide
+     * @param spawnPoints   points d’apparition ; vide pour le début du chemin
+     * @param base          zone de la base, ou {@code null} pour la fin du chemin
+     */
+    public MapData(String name, float width, float height, Path path, Array<Rectangle> buildZones,
+                   Array<Wave> waves, int startingGold,
+                   Array<float[]> walkableAreas, Array<Vector2> spawnPoints, Rectangle base) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.path = path;
+        this.buildZones = buildZones;
+        this.waves = waves;
+        this.spawnTimeline = new SpawnTimeline(waves);
+        this.startingGold = startingGold;
+        this.walkableAreas = walkableAreas;
+
+        this.spawnPoints = spawnPoints.size > 0 ? spawnPoints : Array.with(path.first().cpy());
+        this.base = base != null ? base
+            : new Rectangle(path.last().x - FLOW_CELL_SIZE, path.last().y - FLOW_CELL_SIZE,
+            2 * FLOW_CELL_SIZE, 2 * FLOW_CELL_SIZE);
+    }
+
+    // =====================
+    // CHARGEMENT
+    // =====================
+
+    /**
+     * Extrait les données de gameplay d’une carte Tiled chargée.
+     *
+     * @param map carte Tiled contenant le chemin et les zones de construction
+     * @return données de la carte
+     * @throws RuntimeException si la couche "entities" est absente
+     */
+    public static MapData from(TiledMap map) {
+        MapLayer entities = map.getLayers().get(ENTITIES_LAYER);
+        if (entities == null)
+            throw new RuntimeException("Object layer 'entities' not found");
+
+        float[] vertices =
+            ((PolylineMapObject) entities.getObjects().get("Path")).getPolyline().getTransformedVertices();
+
+        Array<Vector2> points = new Array<>();
+        for (int i = 0; i < vertices.length; i += 2) {
+            points.add(new Vector2(vertices[i], vertices[i + 1]));
+        }
+
+        Array<Rectangle> zones = new Array<>();
+        Array<Vector2> spawns = new Array<>();
+        Rectangle base = null;
+        for (MapObject obj : entities.getObjects()) {
+            if ("build".equals(obj.getName())) {
+                zones.add(new Rectangle(((RectangleMapObject) obj).getRectangle()));
+            } else if ("base".equals(obj.getName()) && obj instanceof RectangleMapObject) {
+                base = new Rectangle(((RectangleMapObject) obj).getRectangle());
+            } else if ("enemySpawn".equals(obj.getName()) && obj instanceof PointMapObject) {
+                spawns.add(((PointMapObject) obj).getPoint().cpy());
+            }
+        }
+
+        Array<float[]> areas = new Array<>();
+        MapLayer collision = map.getLayers().get(COLLISION_LAYER);
+        if (collision != null) {
+            for (MapObject obj : collision.getObjects()) {
+                if (obj instanceof PolygonMapObject) {
+                    areas.add(((PolygonMapObject) obj).getPolygon().getTransformedVertices().clone());
+                }
+            }
+        }
+
+        MapProperties props = map.getProperties();
+        String name = props.get(NAME_PROPERTY, DEFAULT_NAME, String.class);
+        float width = props.get("width", Integer.class) * props.get("tilewidth", Integer.class);
+        float height = props.get("height", Integer.class) * props.get("tileheight", Integer.class);
+
+        Function<String, String> properties = key -> {
+            Object value = props.get(key);
+            return value != null ? value.toString() : null;
+        };
+        Array<Wave> waves = waves(name, properties);
+        int gold = (int) number(name, properties, STARTING_GOLD_PROPERTY, DEFAULT_STARTING_GOLD);
+
+        return new MapData(name, width, height, new Path(points), zones, waves, gold, areas, spawns, base);
+    }
+
+    /**
+     * Lit les données de gameplay directement depuis un fichier TMX.
+     * <p>
+     * Aucune texture n’est chargée : cette méthode fonctionne dans une JVM
+     * sans fenêtre. Les coordonnées sont converties dans le repère libGDX
+     * (axe Y vers le haut), comme le fait {@code TmxMapLoader}.
+     * </p>
+     *
+     * @param tmx fichier TMX de la carte
+     * @return données de la carte
+     * @throws GdxRuntimeException si la couche "entities" ou le chemin est absent
+     */
+    public static MapData load(FileHandle tmx) {
+        XmlReader.Element root = new XmlReader().parse(tmx);
+
+        float mapWidth = root.getIntAttribute("width") * root.getIntAttribute("tilewidth");
+        float mapHeight = root.getIntAttribute("height") * root.getIntAttribute("tileheight");
+        String mapName = property(root, NAME_PROPERTY, DEFAULT_NAME);
+
+        XmlReader.Element entities = null;
+        for (XmlReader.Element group : root.getChildrenByName("objectgroup")) {
+            if (ENTITIES_LAYER.equals(group.getAttribute("name", null))) {
+                entities = group;
+                break;
+            }
+        }
+        if (entities == null)
+            throw new GdxRuntimeException("Object layer 'entities' not found in " + tmx.path());
+
+        Array<Vector2> points = null;
+        Array<Rectangle> zones = new Array<>();
+        Array<Vector2> spawns = new Array<>();
+        Rectangle base = null;
+
+        for (XmlReader.Element obj : entities.getChildrenByName("object")) {
+            String name = obj.getAttribute("name", "");
+            float x = obj.getFloatAttribute("x", 0f);
+            float y = obj.getFloatAttribute("y", 0f);
+
+            if ("Path".equals(name)) {
+                float[] vertices = vertices(obj.getChildByName("polyline"), x, y, mapHeight);
+                points = new Array<>();
+                for (int i = 0; i < vertices.length; i += 2) {
+                    points.add(new Vector2(vertices[i], vertices[i + 1]));
+                }
+            } else if ("build".equals(name) || "base".equals(name)) {
+                float w = obj.getFloatAttribute("width", 0f);
+                float h = obj.getFloatAttribute("height", 0f);
+                Rectangle r = new Rectangle(x, mapHeight - y - h, w, h);
+                if ("base".equals(name)) base = r;
+                else zones.add(r);
+            } else if ("enemySpawn".equals(name) && obj.getChildByName("point") != null) {
+                spawns.add(new Vector2(x, mapHeight - y));
+            }
+        }
+
+        Array<float[]> areas = new Array<>();
+        for (XmlReader.Element group : root.getChildrenByName("objectgroup")) {
+            if (!COLLISION_LAYER.equals(group.getAttribute("name", null))) continue;
+
+            for (XmlReader.Element obj : group.getChildrenByName("object")) {
+                XmlReader.Element polygon = obj.getChildByName("polygon");
+                if (polygon == null) continue;
+                areas.add(vertices(polygon, obj.getFloatAttribute("x", 0f), obj.getFloatAttribute("y", 0f), mapHeight));
+            }
+        }
+
+        if (points == null)
+            throw new GdxRuntimeException("Object 'Path' not found in " + tmx.path());
+
+        Function<String, String> properties = key -> property(root, key, null);
+        Array<Wave> waves = waves(mapName, properties);
+        int gold = (int) number(mapName, properties, STARTING_GOLD_PROPERTY, DEFAULT_STARTING_GOLD);
+
+        return new MapData(mapName, mapWidth, mapHeight, new Path(points), zones, waves, gold, areas, spawns, base);
+    }
+
+    /**
+     * Lit les sommets d’une polyligne ou d’un polygone TMX.
+     *
+     * @param shape     élément portant l’attribut {@code points} (relatif à l’objet)
+     * @param x         position X de l’objet
+     * @param y         position Y de l’objet (axe Y vers le bas)
+     * @param mapHeight hauteur de la carte
+     * @return sommets {@code x, y} en coordonnées monde
+     */
+    private static float[] vertices(XmlReader.Element shape, float x, float y, float mapHeight) {
+        String[] coords = shape.getAttribute("points").split(" ");
+        float[] vertices = new float[coords.length * 2];
+        for (int i = 0; i < coords.length; i++) {
+            int comma = coords[i].indexOf(',');
+            vertices[2 * i] = x + Float.parseFloat(coords[i].substring(0, comma));
+            vertices[2 * i + 1] = mapHeight - (y + Float.parseFloat(coords[i].substring(comma + 1)));
+        }
+        return vertices;
+    }
+
+    /**
+     * Lit la définition des vagues dans les propriétés de la carte.
+     *
+     * @param mapName    identifiant de la carte (messages d’erreur)
+     * @param properties accès aux propriétés : valeur textuelle, ou {@code null} si absente
+     * @return vagues, dans l’ordre
+     * @throws GdxRuntimeException si une propriété de vague est invalide
+     */
+    static Array<Wave> waves(String mapName, Function<String, String> properties) {
+        int count = (int) number(mapName, properties, WAVE_COUNT_PROPERTY, DEFAULT_WAVE_COUNT);
+
+        Array<Wave> waves = new Array<>(count);
+        for (int n = 1; n <= count; n++) {
+            String prefix = WAVE_PREFIX + n + '.';
+            float spacing = number(mapName, properties, prefix + "spacing", DEFAULT_SPACING);
+
+            try {
+                waves.add(new Wave(
+                    (int) number(mapName, properties, prefix + "count", DEFAULT_WAVE_SIZE),
+                    (int) number(mapName, properties, prefix + "level", DEFAULT_FIRST_LEVEL + n - 1),
+                    spacing,
+                    (int) number(mapName, properties, prefix + "burst", 1),
+                    number(mapName, properties, prefix + "delay", spacing)
+                ));
+            } catch (IllegalArgumentException e) {
+                throw new GdxRuntimeException("Invalid wave " + n + " in map '" + mapName + "': " + e.getMessage());
+            }
+        }
+        return waves;
+    }
+
+    /**
+     * Lit une propriété numérique.
+     */
+    private static float number(String mapName, Function<String, String> properties, String key, float defaultValue) {
+        String value = properties.apply(key);
+        if (value == null) return defaultValue;
+
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            throw new GdxRuntimeException("Property '" + key + "' of map '" + mapName + "' is not a number: " + value);
+        }
+    }
+
+    /**
+     * Lit une propriété déclarée sur un élément TMX.
+     *
+     * @param element      élément portant un bloc {@code <properties>}
+     * @param name         nom de la propriété
+     * @param defaultValue valeur si la propriété est absente
+     * @return valeur de la propriété
+     */
+    static String property(XmlReader.Element element, String name, String defaultValue) {
+        XmlReader.Element properties = element.getChildByName("properties");
+        if (properties == null) return defaultValue;
+
+        for (XmlReader.Element property : properties.getChildrenByName("property")) {
+            if (name.equals(property.getAttribute("name", null))) {
+                return property.getAttribute("value", defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    // =====================
+    // GETTERS
+    // =====================
+
+    /**
+     * @return identifiant de la carte
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return largeur du monde (en pixels)
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * @return hauteur du monde (en pixels)
+     */
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * @return chemin suivi par les ennemis
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return zones de construction des tours
+     */
+    public Array<Rectangle> getBuildZones() {
+        return buildZones;
+    }
+
+    /**
+     * @return calendrier des apparitions d’ennemis
+     */
+    public SpawnTimeline getSpawnTimeline() {
+        return spawnTimeline;
+    }
+
+    /**
+     * @return or du joueur au début de la partie
+     */
+    public int getStartingGold() {
+        return startingGold;
+    }
+
+    /**
+     * @return points d’apparition des ennemis (au moins un)
+     */
+    public Array<Vector2> getSpawnPoints() {
+        return spawnPoints;
+    }
+
+    /**
+     * @return zone de la base
+     */
+    public Rectangle getBase() {
+        return base;
+    }
+
+    /**
+     * Crée une copie de la carte dont la liste des vagues est rejouée
+     * plusieurs fois de suite, pour les parties d’endurance.
+     * <p>
+     * La copie garde le même identifiant : un instantané ou un replay
+     * la désigne comme la carte d’origine.
+     *
+     * @param cycles nombre de passages sur la liste des vagues
+     * @return nouvelles données de carte
+     * @throws IllegalArgumentException si {@code cycles} n’est pas positif
+     */
+    public MapData withRepeatedWaves(int cycles) {
+        if (cycles <= 0)
+            throw new IllegalArgumentException("cycles must be > 0");
+
+        Array<Wave> repeated = new Array<>(waves.size * cycles);
+        for (int i = 0; i < cycles; i++) repeated.addAll(waves);
+        return new MapData(name, width, height, path, buildZones, repeated, startingGold,
+            walkableAreas, spawnPoints, base);
+    }
+
+    /**
+     * Calcule le champ de flux menant à la base.
+     * <p>
+     * Chaque appel crée un nouveau champ : il est modifié par les tours
+     * construites et appartient donc à un seul monde de jeu.
+     *
+     * @return champ de flux, ou {@code null} si la carte n’a pas de couche de collision
+     */
+    public FlowField createFlowField() {
+        if (walkableAreas.size == 0) return null;
+        return new FlowField(width, height, FLOW_CELL_SIZE, walkableAreas, base);
+    }
+}
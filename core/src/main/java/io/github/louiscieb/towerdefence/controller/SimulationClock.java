@@ -0,0 +1,232 @@
+package io.github.louiscieb.towerdefence.controller;
+
+/**
+ * Horloge de simulation à pas de temps fixe.
+ * <p>
+ * Le temps réel écoulé entre deux frames est accumulé, puis
+ * découpé en ticks de durée constante. La simulation avance
+ * donc toujours du même pas, quelle que soit la fréquence
+ * d’affichage ou la durée d’une frame isolée.
+ * </p>
+ * <p>
+ * Le nombre de ticks rattrapés par frame est plafonné : après
+ * un gros ralentissement, le retard excédentaire est abandonné
+ * plutôt que de provoquer une rafale de ticks (spirale de la mort).
+ * </p>
+ * <p>
+ * La fraction de tick restante ({@link #getAlpha()}) permet aux vues
+ * d’interpoler les positions entre les deux derniers ticks.
+ * </p>
+ * <p>
+ * L’horloge peut être {@linkplain #setSpeed(float) accélérée} : le temps
+ * réel est multiplié avant d’être découpé, si bien que la simulation
+ * exécute davantage de ticks par frame, sans jamais allonger le pas.
+ * Les vérifications de portée et d’impact et la cadence des tours
+ * restent donc exactes à toute vitesse. En vitesse {@link #UNLIMITED},
+ * autant de ticks que possible sont exécutés dans le budget d’une frame.
+ * La vitesse réellement atteinte est mesurée ({@link #getAchievedSpeed()}) :
+ * elle révèle quand le processeur devient la limite.
+ * </p>
+ */
+public class SimulationClock {
+
+    // =====================
+    // CONFIGURATION
+    // =====================
+
+    /** Durée d’un tick de simulation (en secondes). */
+    private final float tickDuration;
+
+    /** Nombre maximum de ticks exécutés pour une seule frame. */
+    private final int maxStepsPerFrame;
+
+    /** Vitesse « aussi vite que possible ». */
+    public static final float UNLIMITED = Float.POSITIVE_INFINITY;
+
+    /** Temps de calcul accordé à la simulation par frame lorsqu’elle est accélérée. */
+    private static final long FRAME_BUDGET_NANOS = 12_000_000L;
+
+    /** Durée de la fenêtre de mesure de la vitesse atteinte (en secondes réelles). */
+    private static final float SPEED_WINDOW = 0.5f;
+
+    // =====================
+    // ETAT
+    // =====================
+
+    /** Temps réel accumulé et pas encore simulé. */
+    private float accumulator = 0f;
+
+    /** Multiplicateur du temps réel (1 : temps réel). */
+    private float speed = 1f;
+
+    /** Début du calcul de la frame courante ({@link System#nanoTime()}). */
+    private long frameStart;
+
+    /** Temps réel écoulé dans la fenêtre de mesure courante. */
+    private float windowReal = 0f;
+
+    /** Temps simulé dans la fenêtre de mesure courante. */
+    private float windowSimulated = 0f;
+
+    /** Vitesse atteinte lors de la dernière fenêtre de mesure complète. */
+    private float achievedSpeed = 1f;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Crée une horloge de simulation.
+     *
+     * @param tickRate         fréquence de simulation (ticks par seconde)
+     * @param maxStepsPerFrame nombre maximum de ticks rattrapés par frame
+     * @throws IllegalArgumentException si un paramètre n’est pas strictement positif
+     */
+    public SimulationClock(int tickRate, int maxStepsPerFrame) {
+        if (tickRate <= 0)
+            throw new IllegalArgumentException("tickRate must be > 0");
+        if (maxStepsPerFrame <= 0)
+            throw new IllegalArgumentException("maxStepsPerFrame must be > 0");
+
+        this.tickDuration = 1f / tickRate;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    // =====================
+    // AVANCEMENT
+    // =====================
+
+    /**
+     * Ajoute le temps d’une frame et calcule le nombre de ticks à exécuter.
+     * <p>
+     * Le plafond de ticks par frame est multiplié par la vitesse. Lorsque
+     * la simulation est accélérée, la boucle appelante doit en plus s’arrêter
+     * dès que {@link #hasFrameBudget()} devient faux, et signaler chaque tick
+     * exécuté par {@link #tickDone()} :
+     * <pre>
+     * int steps = clock.advance(delta);
+     * for (int i = 0; i &lt; steps &amp;&amp; clock.hasFrameBudget(); i++) {
+     *     world.update(clock.getTickDuration());
+     *     clock.tickDone();
+     * }
+     * </pre>
+     *
+     * @param frameDelta temps réel écoulé depuis la frame précédente
+     * @return nombre de ticks de {@link #getTickDuration()} à simuler
+     *         ({@link Integer#MAX_VALUE} en vitesse {@link #UNLIMITED})
+     */
+    public int advance(float frameDelta) {
+        frameStart = System.nanoTime();
+        measure(frameDelta);
+
+        if (speed == UNLIMITED) {
+            accumulator = 0f;
+            return Integer.MAX_VALUE;
+        }
+
+        if (frameDelta > 0f) accumulator += frameDelta * speed;
+
+        int maxSteps = (int) Math.ceil(maxStepsPerFrame * Math.max(speed, 1f));
+        int steps = (int) (accumulator / tickDuration);
+        if (steps > maxSteps) {
+            // Retard trop important : on abandonne l’excédent
+            steps = maxSteps;
+            accumulator = tickDuration * steps;
+        }
+
+        accumulator -= steps * tickDuration;
+        if (accumulator < 0f) accumulator = 0f;
+
+        return steps;
+    }
+
+    /**
+     * Indique s’il reste du temps de calcul pour un tick dans cette frame.
+     * <p>
+     * Toujours vrai à vitesse normale ou ralentie ; une simulation accélérée
+     * s’arrête une fois le budget de la frame consommé, les ticks restants
+     * étant abandonnés afin que l’affichage garde sa fréquence.
+     *
+     * @return {@code true} si un tick supplémentaire peut être exécuté
+     */
+    public boolean hasFrameBudget() {
+        return speed <= 1f || System.nanoTime() - frameStart < FRAME_BUDGET_NANOS;
+    }
+
+    /**
+     * Signale qu’un tick a été simulé (mesure de la vitesse atteinte).
+     */
+    public void tickDone() {
+        windowSimulated += tickDuration;
+    }
+
+    /**
+     * Cumule le temps réel de la frame et clôt la fenêtre de mesure si elle est pleine.
+     */
+    private void measure(float frameDelta) {
+        if (frameDelta > 0f) windowReal += frameDelta;
+        if (windowReal < SPEED_WINDOW) return;
+
+        achievedSpeed = windowSimulated / windowReal;
+        windowReal = 0f;
+        windowSimulated = 0f;
+    }
+
+    // =====================
+    // VITESSE
+    // =====================
+
+    /**
+     * Choisit la vitesse de la simulation.
+     *
+     * @param speed multiplicateur du temps réel, ou {@link #UNLIMITED}
+     * @throws IllegalArgumentException si la vitesse n’est pas strictement positive
+     */
+    public void setSpeed(float speed) {
+        if (!(speed > 0f))
+            throw new IllegalArgumentException("speed must be > 0");
+
+        this.speed = speed;
+        accumulator = 0f;
+    }
+
+    /**
+     * @return vitesse demandée, ou {@link #UNLIMITED}
+     */
+    public float getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Vitesse réellement atteinte : temps simulé par seconde réelle,
+     * mesuré sur la dernière demi-seconde.
+     *
+     * @return vitesse atteinte
+     */
+    public float getAchievedSpeed() {
+        return achievedSpeed;
+    }
+
+    // =====================
+    // GETTERS
+    // =====================
+
+    /**
+     * @return durée fixe d’un tick (en secondes)
+     */
+    public float getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Fraction du tick suivant déjà écoulée.
+     * <p>
+     * Vaut 0 juste après un tick et tend vers 1 à l’approche du suivant.
+     *
+     * @return facteur d’interpolation dans [0, 1)
+     */
+    public float getAlpha() {
+        float alpha = accumulator / tickDuration;
+        return alpha < 1f ? alpha : 1f;
+    }
+}
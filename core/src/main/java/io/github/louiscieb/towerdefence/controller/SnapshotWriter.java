@@ -0,0 +1,106 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sauvegarde des instantanés de partie sans bloquer la simulation.
+ * <p>
+ * La capture ({@link WorldSnapshot#capture(GameWorld, String, ByteBuffer)})
+ * a lieu sur le thread appelant : ce n’est qu’une recopie des champs dans
+ * un tampon direct. L’écriture sur disque, seule partie lente, se fait sur
+ * un thread dédié à partir de cette copie, pendant que la partie continue.
+ * </p>
+ * <p>
+ * Le fichier est d’abord écrit à côté de sa destination puis renommé :
+ * une sauvegarde interrompue ne remplace jamais la précédente.
+ * </p>
+ */
+public class SnapshotWriter {
+
+    /** Délai maximum accordé aux écritures en cours lors de l’arrêt. */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    /** Thread d’écriture des instantanés. */
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "td-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Capture de l’état du monde. */
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    /** Tampon libre, rendu par le thread d’écriture une fois le fichier écrit. */
+    private final AtomicReference<ByteBuffer> spare = new AtomicReference<>();
+
+    /**
+     * Capture le monde puis l’écrit en arrière-plan.
+     *
+     * @param world monde à sauvegarder, entre deux ticks
+     * @param mapId identifiant de la carte
+     * @param file  fichier de destination
+     * @return écriture en cours ; {@link Future#get()} relance une éventuelle erreur d’écriture
+     */
+    public Future<?> save(GameWorld world, String mapId, FileHandle file) {
+        ByteBuffer buffer = snapshot.capture(world, mapId, spare.getAndSet(null));
+        return io.submit(() -> {
+            try {
+                write(buffer, file);
+            } finally {
+                spare.set(buffer);
+            }
+        });
+    }
+
+    /**
+     * Écrit un instantané capturé dans un fichier temporaire, puis le renomme.
+     */
+    private static void write(ByteBuffer buffer, FileHandle file) {
+        java.nio.file.Path target = file.file().toPath();
+        java.nio.file.Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write snapshot " + file.path(), e);
+        }
+    }
+
+    /**
+     * Termine les écritures en cours puis arrête le thread d’écriture.
+     * <p>
+     * Attend au plus {@link #SHUTDOWN_TIMEOUT_SECONDS} secondes, afin qu’une
+     * sauvegarde lancée juste avant la fermeture du jeu ne soit pas perdue.
+     */
+    public void shutdown() {
+        io.shutdown();
+        try {
+            io.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exécute les phases parallélisables d’un tick sur un {@link ForkJoinPool}.
+ * <p>
+ * Une phase est une boucle sur un intervalle d’index dont chaque itération
+ * ne modifie que l’élément qu’elle traite. L’intervalle est découpé en
+ * tranches contiguës réparties sur les threads du pool ; l’appelant attend
+ * la fin de toutes les tranches avant de poursuivre le tick.
+ * </p>
+ * <p>
+ * Les tâches sont allouées une seule fois et réinitialisées à chaque phase.
+ * En mode série ({@link #serial()}), la boucle s’exécute simplement sur le
+ * thread appelant : les deux modes produisent exactement le même résultat,
+ * puisque le résultat d’une itération ne dépend pas des autres.
+ * </p>
+ */
+public class TickExecutor {
+
+    /**
+     * Traitement d’une tranche {@code [from, to[} d’une phase.
+     */
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /** Nombre minimum d’éléments par tranche par défaut (en dessous, le découpage coûte plus qu’il ne rapporte). */
+    private static final int DEFAULT_MIN_CHUNK = 64;
+
+    /** Nombre de tranches par thread, pour équilibrer la charge. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Pool de threads, {@code null} en mode série. */
+    private final ForkJoinPool pool;
+
+    /** Nombre minimum d’éléments par tranche. */
+    private final int minChunk;
+
+    /** Tranches réutilisées d’une phase à l’autre. */
+    private final Chunk[] chunks;
+
+    /** Tâche racine lançant les tranches. */
+    private final Root root = new Root();
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Crée un exécuteur utilisant le nombre de threads donné.
+     *
+     * @param threads nombre de threads (1 ou moins : mode série)
+     */
+    public TickExecutor(int threads) {
+        this(threads, DEFAULT_MIN_CHUNK);
+    }
+
+    /**
+     * Crée un exécuteur en précisant la taille minimale des tranches.
+     * <p>
+     * Une petite taille force le découpage même pour quelques éléments,
+     * ce qui sert à vérifier le déterminisme sur une partie ordinaire.
+     *
+     * @param threads  nombre de threads (1 ou moins : mode série)
+     * @param minChunk nombre minimum d’éléments par tranche
+     */
+    public TickExecutor(int threads, int minChunk) {
+        this.minChunk = Math.max(1, minChunk);
+
+        if (threads <= 1) {
+            pool = null;
+            chunks = new Chunk[0];
+            return;
+        }
+
+        pool = new ForkJoinPool(threads);
+        chunks = new Chunk[threads * CHUNKS_PER_THREAD];
+        for (int i = 0; i < chunks.length; i++) chunks[i] = new Chunk();
+    }
+
+    /**
+     * @return exécuteur exécutant toutes les phases sur le thread appelant
+     */
+    public static TickExecutor serial() {
+        return new TickExecutor(1);
+    }
+
+    // =====================
+    // EXECUTION
+    // =====================
+
+    /**
+     * Exécute une phase sur {@code [0, count[} et attend sa fin.
+     *
+     * @param count nombre d’éléments
+     * @param task  traitement d’une tranche
+     */
+    public void forRange(int count, RangeTask task) {
+        int n = Math.min(chunks.length, count / minChunk);
+        if (n < 2) {
+            task.run(0, count);
+            return;
+        }
+
+        for (int i = 0; i < n; i++) {
+            chunks[i].reinitialize();
+            chunks[i].set(task, (int) ((long) count * i / n), (int) ((long) count * (i + 1) / n));
+        }
+        root.reinitialize();
+        root.count = n;
+        pool.invoke(root);
+    }
+
+    /**
+     * @return nombre de threads utilisés (1 en mode série)
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * @return {@code true} si les phases s’exécutent sur le thread appelant
+     */
+    public boolean isSerial() {
+        return pool == null;
+    }
+
+    /**
+     * Arrête les threads du pool.
+     */
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    // =====================
+    // TACHES
+    // =====================
+
+    /** Tranche d’une phase. */
+    private static final class Chunk extends RecursiveAction {
+        private RangeTask task;
+        private int from;
+        private int to;
+
+        void set(RangeTask task, int from, int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            task.run(from, to);
+        }
+    }
+
+    /** Lance les tranches et attend leur fin. */
+    private final class Root extends RecursiveAction {
+        private int count;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < count; i++) chunks[i].fork();
+            chunks[0].invoke();
+            for (int i = 1; i < count; i++) chunks[i].join();
+        }
+    }
+}
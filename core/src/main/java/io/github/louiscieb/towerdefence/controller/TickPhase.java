@@ -0,0 +1,32 @@
+package io.github.louiscieb.towerdefence.controller;
+
+/**
+ * Phases successives d’un tick de {@link GameWorld#update(float)}.
+ * <p>
+ * Utilisées par les {@link TickProbe} pour attribuer un coût
+ * (temps, mémoire…) à chaque étape de la simulation.
+ * </p>
+ */
+public enum TickPhase {
+
+    /** Application des commandes du joueur. */
+    COMMANDS,
+
+    /** Progression des vagues et apparition des ennemis. */
+    SPAWN,
+
+    /** Déplacement des ennemis et indexation spatiale. */
+    ENEMIES,
+
+    /** Ciblage et tirs des tours. */
+    TOWERS,
+
+    /** Déplacement et impacts des projectiles. */
+    PROJECTILES,
+
+    /** Retrait des ennemis et projectiles terminés. */
+    CLEANUP,
+
+    /** Vérification des conditions de fin de partie. */
+    VICTORY
+}
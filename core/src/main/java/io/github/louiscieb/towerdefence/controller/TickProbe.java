@@ -0,0 +1,81 @@
+package io.github.louiscieb.towerdefence.controller;
+
+/**
+ * Sonde instrumentant les phases d’un tick de {@link GameWorld}.
+ * <p>
+ * Le monde appelle {@link #beginTick()}, puis {@link #endPhase(TickPhase)}
+ * à la fin de chaque phase dans l’ordre de {@link TickPhase}, puis
+ * {@link #endTick()}. Une implémentation ne doit pas allouer : elle est
+ * appelée sur le chemin critique de la simulation.
+ * </p>
+ * <p>
+ * Par défaut le monde utilise {@link #NONE}, dont les appels vides
+ * sont éliminés par le JIT.
+ * </p>
+ */
+public interface TickProbe {
+
+    /** Sonde inactive. */
+    TickProbe NONE = new TickProbe() {
+        @Override
+        public void beginTick() {
+        }
+
+        @Override
+        public void endPhase(TickPhase phase) {
+        }
+
+        @Override
+        public void endTick() {
+        }
+    };
+
+    /**
+     * Combine deux sondes, appelées dans l’ordre à chaque borne.
+     *
+     * @param first  première sonde
+     * @param second seconde sonde
+     * @return sonde combinée, ou l’une des deux si l’autre est {@link #NONE}
+     */
+    static TickProbe both(TickProbe first, TickProbe second) {
+        if (first == NONE) return second;
+        if (second == NONE) return first;
+
+        return new TickProbe() {
+            @Override
+            public void beginTick() {
+                first.beginTick();
+                second.beginTick();
+            }
+
+            @Override
+            public void endPhase(TickPhase phase) {
+                first.endPhase(phase);
+                second.endPhase(phase);
+            }
+
+            @Override
+            public void endTick() {
+                first.endTick();
+                second.endTick();
+            }
+        };
+    }
+
+    /**
+     * Début d’un tick.
+     */
+    void beginTick();
+
+    /**
+     * Fin d’une phase du tick courant.
+     *
+     * @param phase phase qui vient de se terminer
+     */
+    void endPhase(TickPhase phase);
+
+    /**
+     * Fin du tick courant.
+     */
+    void endTick();
+}
@@ -0,0 +1,67 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.Tower;
+
+/**
+ * Condensé de l’état observable d’un {@link GameWorld}.
+ * <p>
+ * Sert à vérifier qu’une simulation en reproduit une autre au bit près
+ * (replays, comparaison série / parallèle) : les flottants sont pris
+ * en compte par leur représentation binaire, sans arrondi.
+ * </p>
+ */
+public final class WorldChecksum {
+
+    private WorldChecksum() {
+    }
+
+    /**
+     * Calcule le condensé de l’état courant du monde.
+     *
+     * @param world monde de jeu
+     * @return condensé
+     */
+    public static long of(GameWorld world) {
+        long h = 17;
+        h = mix(h, world.getTick());
+        h = mix(h, world.getGold());
+        h = mix(h, world.getBaseHp());
+        h = mix(h, world.getEnemyLevel());
+        h = mix(h, world.getState().ordinal());
+
+        Array<Enemy> enemies = world.getEnemies();
+        h = mix(h, enemies.size);
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            h = mix(h, e.getLevel());
+            h = mix(h, Float.floatToIntBits(e.getProgress()));
+            h = mix(h, Float.floatToIntBits(e.getHp()));
+            h = mix(h, Float.floatToIntBits(e.getPendingDamage()));
+        }
+
+        Array<Tower> towers = world.getTowers();
+        h = mix(h, towers.size);
+        for (int i = 0; i < towers.size; i++) {
+            Tower t = towers.get(i);
+            h = mix(h, t.getLevel());
+            h = mix(h, Float.floatToIntBits(t.getReadyTime()));
+        }
+
+        Array<Projectile> projectiles = world.getProjectiles();
+        h = mix(h, projectiles.size);
+        for (int i = 0; i < projectiles.size; i++) {
+            Projectile p = projectiles.get(i);
+            h = mix(h, Float.floatToIntBits(p.getPosition().x));
+            h = mix(h, Float.floatToIntBits(p.getPosition().y));
+            h = mix(h, Float.floatToIntBits(p.getImpactTime()));
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        return h * 31 + value;
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.louiscieb.towerdefence.controller;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import io.github.louiscieb.towerdefence.model.Enemy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Instantané binaire de l’état complet d’un {@link GameWorld}.
+ * <p>
+ * Format (petit-boutiste) :
+ * <pre>
+ * int    MAGIC "TDSV"
+ * int    VERSION
+ * short  longueur de l’identifiant de carte, puis ses octets UTF-8
+ * long   condensé de l’état ({@link WorldChecksum})
+ * int    taille de l’état du monde, puis l’état lui-même
+ * </pre>
+ * Chaque champ est écrit explicitement, sans réflexion ; les entités sont
+ * des enregistrements de taille fixe, si bien que la taille exacte est
+ * connue avant l’écriture et que la capture n’alloue rien lorsque le
+ * tampon est assez grand. Le tampon est direct afin d’être écrit sur
+ * disque sans copie intermédiaire (voir {@link SnapshotWriter}).
+ * </p>
+ * <p>
+ * Un monde restauré continue la partie exactement comme l’original :
+ * le condensé est vérifié après la lecture.
+ * </p>
+ */
+public final class WorldSnapshot {
+
+    /** Signature des instantanés ("TDSV"). */
+    static final int MAGIC = 0x54445356;
+
+    /** Version du format, à incrémenter à chaque changement de l’état écrit. */
+    public static final int VERSION = 4;
+
+    /** Taille de l’en-tête hors identifiant de carte. */
+    private static final int HEADER_BYTES = 4 + 4 + 2 + 8 + 4;
+
+    /** Index des ennemis, réutilisé d’une capture à l’autre. */
+    private final ObjectIntMap<Enemy> indices = new ObjectIntMap<>();
+
+    // =====================
+    // CAPTURE
+    // =====================
+
+    /**
+     * Capture l’état du monde entre deux ticks.
+     * <p>
+     * Doit être appelée sur le thread de simulation ; le tampon rendu
+     * est ensuite indépendant du monde et peut être écrit ailleurs.
+     *
+     * @param world  monde à capturer
+     * @param mapId  identifiant de la carte (voir {@link MapData#getName()})
+     * @param buffer tampon à réutiliser, ou {@code null}
+     * @return {@code buffer} s’il est assez grand, sinon un nouveau tampon direct ;
+     *         prêt à être lu (position 0, limite en fin d’instantané)
+     */
+    public ByteBuffer capture(GameWorld world, String mapId, ByteBuffer buffer) {
+        byte[] name = mapId.getBytes(StandardCharsets.UTF_8);
+        int stateSize = world.snapshotSize();
+        int size = HEADER_BYTES + name.length + stateSize;
+
+        if (buffer == null || buffer.capacity() < size) buffer = allocate(size);
+        buffer.clear();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putLong(WorldChecksum.of(world));
+        buffer.putInt(stateSize);
+        world.writeSnapshot(buffer, indices);
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Alloue un tampon direct pour les instantanés, avec une marge
+     * pour que les captures suivantes le réutilisent.
+     *
+     * @param size taille minimale
+     * @return tampon direct
+     */
+    static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocateDirect(size + size / 2).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // =====================
+    // RESTAURATION
+    // =====================
+
+    /**
+     * Recrée un monde à partir d’un instantané.
+     * <p>
+     * Le monde restauré n’a ni observateur, ni sonde, ni exécuteur
+     * parallèle : c’est à l’appelant de les réinstaller.
+     *
+     * @param in  tampon positionné au début de l’instantané
+     * @param map carte sur laquelle l’instantané a été pris
+     * @return monde restauré
+     * @throws GdxRuntimeException si l’instantané est invalide, d’une autre
+     *                             version, d’une autre carte ou corrompu
+     */
+    public static GameWorld restore(ByteBuffer in, MapData map) {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC)
+            throw new GdxRuntimeException("Not a snapshot");
+
+        int version = in.getInt();
+        if (version != VERSION)
+            throw new GdxRuntimeException("Unsupported snapshot version " + version);
+
+        // Octets restant après l’identifiant : condensé et taille de l’état
+        int nameLength = in.getShort();
+        if (nameLength < 0 || nameLength > in.remaining() - 12)
+            throw new GdxRuntimeException("Corrupted snapshot");
+        byte[] name = new byte[nameLength];
+        in.get(name);
+        String mapId = new String(name, StandardCharsets.UTF_8);
+        if (!mapId.equals(map.getName()))
+            throw new GdxRuntimeException("Snapshot was taken on map '" + mapId + "', not '" + map.getName() + "'");
+
+        long checksum = in.getLong();
+        int stateSize = in.getInt();
+        if (stateSize < 0 || in.remaining() < stateSize)
+            throw new GdxRuntimeException("Truncated snapshot");
+
+        GameWorld world = new GameWorld(map);
+        int end = in.position() + stateSize;
+        try {
+            world.readSnapshot(in, stateSize);
+        } catch (GdxRuntimeException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Ordinal, index ou valeur hors bornes : tout échec de décodage est une corruption
+            throw new GdxRuntimeException("Corrupted snapshot", e);
+        }
+        if (in.position() != end)
+            throw new GdxRuntimeException("Corrupted snapshot");
+
+        if (WorldChecksum.of(world) != checksum)
+            throw new GdxRuntimeException("Corrupted snapshot");
+        return world;
+    }
+
+    /**
+     * Lit un instantané depuis un fichier et recrée le monde.
+     *
+     * @param file fichier écrit par {@link SnapshotWriter}
+     * @param map  carte sur laquelle l’instantané a été pris
+     * @return monde restauré
+     * @throws GdxRuntimeException si le fichier est illisible ou invalide
+     */
+    public static GameWorld load(FileHandle file, MapData map) {
+        try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return restore(buffer, map);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot read snapshot " + file.path(), e);
+        }
+    }
+}
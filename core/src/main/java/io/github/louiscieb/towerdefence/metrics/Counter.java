@@ -0,0 +1,46 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur croissant (tirs, ennemis tués…).
+ * <p>
+ * Sans verrou ni allocation : peut être incrémenté depuis la simulation
+ * pendant qu’un exportateur le lit depuis un autre thread.
+ * </p>
+ */
+public final class Counter extends Metric {
+
+    private final AtomicLong value = new AtomicLong();
+
+    Counter(String name, String help, String labelName, String labelValue) {
+        super(name, help, labelName, labelValue);
+    }
+
+    /** Ajoute 1 au compteur. */
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    /**
+     * Ajoute une quantité au compteur.
+     *
+     * @param amount quantité à ajouter (positive ou nulle)
+     */
+    public void add(long amount) {
+        if (amount < 0) throw new IllegalArgumentException("A counter cannot decrease: " + amount);
+        value.addAndGet(amount);
+    }
+
+    /**
+     * @return valeur courante
+     */
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+}
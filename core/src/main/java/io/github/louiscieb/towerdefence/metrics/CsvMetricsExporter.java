@@ -0,0 +1,167 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écrit périodiquement les métriques d’un registre dans un fichier CSV.
+ * <p>
+ * Une ligne par période : les compteurs et jauges y figurent tels quels ;
+ * chaque histogramme donne le nombre de valeurs, la moyenne et le p99
+ * (borne haute de l’intervalle, {@code inf} au-delà de la dernière borne)
+ * des valeurs enregistrées pendant la période, en microsecondes.
+ * </p>
+ * <p>
+ * L’écriture a lieu sur un thread dédié : la simulation n’est jamais bloquée.
+ * </p>
+ */
+public final class CsvMetricsExporter {
+
+    /** Délai maximum accordé à la dernière écriture lors de l’arrêt. */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final Array<Metric> metrics;
+    private final PrintWriter out;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "td-metrics-csv");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Effectifs des histogrammes lors de la ligne précédente, indexés comme {@link #metrics}. */
+    private final long[][] previousCounts;
+
+    /** Sommes des histogrammes lors de la ligne précédente. */
+    private final long[] previousSums;
+
+    /** Effectifs de la période, réutilisés. */
+    private final long[] counts = new long[Histogram.BUCKETS + 1];
+
+    /** Date de démarrage (ns). */
+    private final long start = System.nanoTime();
+
+    private CsvMetricsExporter(MetricsRegistry registry, File file) throws IOException {
+        metrics = registry.getMetrics();
+        previousCounts = new long[metrics.size][];
+        previousSums = new long[metrics.size];
+        out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+
+        StringBuilder header = new StringBuilder("seconds");
+        for (int i = 0; i < metrics.size; i++) {
+            Metric metric = metrics.get(i);
+            String column = metric.getLabelValue() == null
+                ? metric.getName()
+                : metric.getName() + "_" + metric.getLabelValue();
+
+            if (metric instanceof Histogram) {
+                previousCounts[i] = new long[Histogram.BUCKETS + 1];
+                header.append(',').append(column).append("_count")
+                    .append(',').append(column).append("_mean_us")
+                    .append(',').append(column).append("_p99_us");
+            } else {
+                header.append(',').append(column);
+            }
+        }
+        out.println(header);
+        out.flush();
+    }
+
+    /**
+     * Crée le fichier et lance l’écriture périodique.
+     *
+     * @param registry      registre complet des métriques
+     * @param file          fichier CSV (remplacé s’il existe)
+     * @param periodSeconds période d’écriture, en secondes
+     * @return exportateur démarré
+     * @throws GdxRuntimeException si le fichier ne peut pas être créé
+     */
+    public static CsvMetricsExporter start(MetricsRegistry registry, File file, long periodSeconds) {
+        CsvMetricsExporter exporter;
+        try {
+            exporter = new CsvMetricsExporter(registry, file);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot create metrics file " + file, e);
+        }
+        exporter.timer.scheduleAtFixedRate(exporter::dump, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return exporter;
+    }
+
+    private void dump() {
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%.1f", (System.nanoTime() - start) / 1e9));
+
+        for (int i = 0; i < metrics.size; i++) {
+            Metric metric = metrics.get(i);
+            if (metric instanceof Counter) {
+                row.append(',').append(((Counter) metric).get());
+            } else if (metric instanceof Gauge) {
+                row.append(',').append(((Gauge) metric).get());
+            } else if (metric instanceof Histogram) {
+                appendHistogram(row, (Histogram) metric, i);
+            }
+        }
+
+        out.println(row);
+        out.flush();
+    }
+
+    /** Ajoute le nombre de valeurs, la moyenne et le p99 de la période écoulée. */
+    private void appendHistogram(StringBuilder row, Histogram histogram, int index) {
+        long[] previous = previousCounts[index];
+        long sum = histogram.getSum();
+        histogram.snapshot(counts);
+
+        long total = 0;
+        for (int b = 0; b <= Histogram.BUCKETS; b++) {
+            long count = counts[b];
+            counts[b] = count - previous[b];
+            previous[b] = count;
+            total += counts[b];
+        }
+        long periodSum = sum - previousSums[index];
+        previousSums[index] = sum;
+
+        row.append(',').append(total);
+        if (total == 0) {
+            row.append(",,");
+            return;
+        }
+        row.append(',').append(String.format(Locale.ROOT, "%.1f", periodSum / 1000.0 / total));
+
+        long rank = (long) Math.ceil(total * 0.99);
+        long seen = 0;
+        for (int b = 0; b <= Histogram.BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                if (b == Histogram.BUCKETS) row.append(",inf");
+                else row.append(',').append(String.format(Locale.ROOT, "%.3f", Histogram.upperBound(b) / 1000.0));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Écrit une dernière ligne puis arrête l’écriture périodique.
+     */
+    public void close() {
+        timer.execute(this::dump);
+        timer.shutdown();
+        try {
+            timer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+}
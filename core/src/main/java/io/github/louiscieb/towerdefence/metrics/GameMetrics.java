@@ -0,0 +1,149 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import io.github.louiscieb.towerdefence.controller.GameListener;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.TickPhase;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+import io.github.louiscieb.towerdefence.model.Enemy;
+import io.github.louiscieb.towerdefence.model.Projectile;
+import io.github.louiscieb.towerdefence.model.Tower;
+
+import java.util.Locale;
+
+/**
+ * Métriques de la simulation : durée de chaque phase du tick,
+ * événements de jeu et effectifs.
+ * <p>
+ * Installée comme {@link TickProbe} (durées) et comme {@link GameListener}
+ * (événements) sur le monde. Toutes les mises à jour sont des opérations
+ * atomiques sur des champs existants : aucune allocation par tick.
+ * </p>
+ */
+public final class GameMetrics implements TickProbe, GameListener {
+
+    /** Phases d’un tick, dans l’ordre. */
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    private final Counter ticks;
+    private final Histogram tickTime;
+
+    /** Durée de chaque phase, indexée par {@link TickPhase#ordinal()}. */
+    private final Histogram[] phaseTime = new Histogram[PHASES.length];
+
+    private final Counter shots;
+    private final Counter kills;
+    private final Counter leaks;
+    private final Counter overkillMisses;
+
+    private final Gauge enemies;
+    private final Gauge towers;
+    private final Gauge projectiles;
+    private final Gauge gold;
+    private final Gauge baseHp;
+
+    /** Monde observé, {@code null} avant {@link #bind(GameWorld)}. */
+    private GameWorld world;
+
+    /** Début du tick courant (ns). */
+    private long tickStart;
+
+    /** Fin de la dernière phase (ns). */
+    private long mark;
+
+    /**
+     * Crée les métriques de la simulation dans un registre.
+     *
+     * @param registry registre des métriques
+     */
+    public GameMetrics(MetricsRegistry registry) {
+        ticks = registry.counter("td_ticks_total", "Simulation ticks");
+        tickTime = registry.histogram("td_tick_seconds", "Duration of GameWorld.update");
+        for (TickPhase phase : PHASES) {
+            phaseTime[phase.ordinal()] = registry.histogram("td_tick_phase_seconds",
+                "Duration of each phase of GameWorld.update", "phase", phase.name().toLowerCase(Locale.ROOT));
+        }
+
+        shots = registry.counter("td_shots_fired_total", "Projectiles fired by towers");
+        kills = registry.counter("td_enemies_killed_total", "Enemies killed");
+        leaks = registry.counter("td_enemies_leaked_total", "Enemies that reached the base");
+        overkillMisses = registry.counter("td_overkill_misses_total",
+            "Projectiles that vanished because their target was already dead or gone");
+
+        enemies = registry.gauge("td_enemies", "Active enemies");
+        towers = registry.gauge("td_towers", "Built towers");
+        projectiles = registry.gauge("td_projectiles", "Projectiles in flight");
+        gold = registry.gauge("td_gold", "Player gold");
+        baseHp = registry.gauge("td_base_hp", "Base hit points");
+    }
+
+    /**
+     * Branche les métriques sur un monde, nouveau ou restauré.
+     * <p>
+     * Ajoute l’observateur des événements ; la sonde est installée par
+     * l’appelant, qui peut la combiner à d’autres
+     * (voir {@link TickProbe#both(TickProbe, TickProbe)}).
+     *
+     * @param world monde à observer
+     */
+    public void bind(GameWorld world) {
+        this.world = world;
+        world.addListener(this);
+    }
+
+    // =====================
+    // SONDE
+    // =====================
+
+    @Override
+    public void beginTick() {
+        tickStart = System.nanoTime();
+        mark = tickStart;
+    }
+
+    @Override
+    public void endPhase(TickPhase phase) {
+        long now = System.nanoTime();
+        phaseTime[phase.ordinal()].record(now - mark);
+        mark = now;
+    }
+
+    @Override
+    public void endTick() {
+        tickTime.record(System.nanoTime() - tickStart);
+        ticks.increment();
+    }
+
+    // =====================
+    // EVENEMENTS
+    // =====================
+
+    @Override
+    public void onProjectileFired(Tower tower, Projectile projectile) {
+        shots.increment();
+    }
+
+    @Override
+    public void onProjectileMissed(Projectile projectile) {
+        overkillMisses.increment();
+    }
+
+    @Override
+    public void onEnemyKilled(Enemy enemy) {
+        kills.increment();
+    }
+
+    @Override
+    public void onEnemyReachedBase(Enemy enemy) {
+        leaks.increment();
+    }
+
+    @Override
+    public void onTickEnd(int tick) {
+        if (world == null) return;
+        enemies.set(world.getEnemies().size);
+        towers.set(world.getTowers().size);
+        projectiles.set(world.getProjectiles().size);
+        gold.set(world.getGold());
+        baseHp.set(world.getBaseHp());
+    }
+}
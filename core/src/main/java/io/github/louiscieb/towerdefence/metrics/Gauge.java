@@ -0,0 +1,35 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+/**
+ * Valeur instantanée (ennemis actifs, or…), remplacée à chaque mise à jour.
+ * <p>
+ * Une simple écriture {@code volatile} : sans verrou ni allocation.
+ * </p>
+ */
+public final class Gauge extends Metric {
+
+    private volatile long value;
+
+    Gauge(String name, String help, String labelName, String labelValue) {
+        super(name, help, labelName, labelValue);
+    }
+
+    /**
+     * @param value nouvelle valeur
+     */
+    public void set(long value) {
+        this.value = value;
+    }
+
+    /**
+     * @return dernière valeur
+     */
+    public long get() {
+        return value;
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution de durées, en intervalles fixes à la manière de Prometheus.
+ * <p>
+ * Les bornes sont des puissances de deux, de 1 024 ns (environ 1 µs) à
+ * 2^27 ns (environ 134 ms), plus un intervalle de dépassement : l’indice
+ * d’une valeur se calcule en quelques opérations sur les bits.
+ * L’enregistrement incrémente deux compteurs atomiques, sans verrou
+ * ni allocation.
+ * </p>
+ */
+public final class Histogram extends Metric {
+
+    /** Nombre d’intervalles bornés ; l’intervalle suivant reçoit les dépassements. */
+    public static final int BUCKETS = 18;
+
+    /** Exposant de la première borne (2^10 ns). */
+    private static final int FIRST_BOUND_BITS = 10;
+
+    /** Effectifs par intervalle, dépassement compris. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+    /** Somme des valeurs enregistrées (ns). */
+    private final AtomicLong sum = new AtomicLong();
+
+    Histogram(String name, String help, String labelName, String labelValue) {
+        super(name, help, labelName, labelValue);
+    }
+
+    /**
+     * Enregistre une durée.
+     *
+     * @param nanos durée en nanosecondes (les valeurs négatives comptent pour 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        int bucket = value <= 1L << FIRST_BOUND_BITS
+            ? 0
+            : Math.min(BUCKETS, 64 - Long.numberOfLeadingZeros(value - 1) - FIRST_BOUND_BITS);
+        counts.incrementAndGet(bucket);
+        sum.addAndGet(value);
+    }
+
+    /**
+     * Recopie les effectifs des intervalles (non cumulés).
+     *
+     * @param into tableau d’au moins {@code BUCKETS + 1} cases ; la dernière reçoit les dépassements
+     * @return nombre total de valeurs recopiées
+     */
+    public long snapshot(long[] into) {
+        long total = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            into[i] = counts.get(i);
+            total += into[i];
+        }
+        return total;
+    }
+
+    /**
+     * @return somme des valeurs enregistrées (ns)
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * @param bucket indice d’un intervalle borné, entre 0 et {@code BUCKETS - 1}
+     * @return borne haute incluse de l’intervalle (ns)
+     */
+    public static long upperBound(int bucket) {
+        return 1L << (FIRST_BOUND_BITS + bucket);
+    }
+
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+}
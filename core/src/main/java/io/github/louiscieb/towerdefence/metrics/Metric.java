@@ -0,0 +1,45 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+/**
+ * Métrique nommée d’un {@link MetricsRegistry}.
+ * <p>
+ * Le nom suit les conventions de Prometheus ({@code td_enemies_killed_total},
+ * {@code td_tick_seconds}…). Une métrique peut porter une étiquette, qui
+ * distingue plusieurs séries d’un même nom (par exemple une par phase du tick).
+ * </p>
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+
+    /** Nom de l’étiquette, {@code null} si la métrique n’en a pas. */
+    private final String labelName;
+
+    /** Valeur de l’étiquette, {@code null} si la métrique n’en a pas. */
+    private final String labelValue;
+
+    Metric(String name, String help, String labelName, String labelValue) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    /**
+     * @return type Prometheus de la métrique ({@code counter}, {@code gauge} ou {@code histogram})
+     */
+    public abstract String getType();
+
+    public String getName() { return name; }
+    public String getHelp() { return help; }
+    public String getLabelName() { return labelName; }
+    public String getLabelValue() { return labelValue; }
+
+    /**
+     * @return nom suivi de l’étiquette, unique dans un registre ({@code td_tick_phase_seconds{phase="spawn"}})
+     */
+    public String getKey() {
+        return labelName == null ? name : name + "{" + labelName + "=\"" + labelValue + "\"}";
+    }
+}
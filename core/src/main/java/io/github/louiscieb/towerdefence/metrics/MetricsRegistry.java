@@ -0,0 +1,91 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Registre des métriques du jeu, lu par les exportateurs
+ * ({@link CsvMetricsExporter}, {@link PrometheusExporter}).
+ * <p>
+ * Toutes les métriques sont créées avant le démarrage des exportateurs :
+ * le registre n’est ensuite plus modifié, et seules les valeurs changent.
+ * Sans registre, rien n’est mesuré : le monde garde sa sonde vide
+ * et aucun observateur n’est ajouté.
+ * </p>
+ */
+public final class MetricsRegistry {
+
+    private final Array<Metric> metrics = new Array<>();
+
+    /**
+     * Crée un compteur.
+     *
+     * @param name nom Prometheus, terminé par {@code _total}
+     * @param help description
+     * @return nouveau compteur
+     */
+    public Counter counter(String name, String help) {
+        return register(new Counter(name, help, null, null));
+    }
+
+    /**
+     * Crée une jauge.
+     *
+     * @param name nom Prometheus
+     * @param help description
+     * @return nouvelle jauge
+     */
+    public Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help, null, null));
+    }
+
+    /**
+     * Crée un histogramme de durées.
+     *
+     * @param name nom Prometheus, terminé par {@code _seconds}
+     * @param help description
+     * @return nouvel histogramme
+     */
+    public Histogram histogram(String name, String help) {
+        return register(new Histogram(name, help, null, null));
+    }
+
+    /**
+     * Crée une série d’un histogramme étiqueté.
+     * <p>
+     * Les séries d’un même nom doivent être créées à la suite.
+     *
+     * @param name       nom Prometheus, terminé par {@code _seconds}
+     * @param help       description
+     * @param labelName  nom de l’étiquette
+     * @param labelValue valeur de l’étiquette pour cette série
+     * @return nouvel histogramme
+     */
+    public Histogram histogram(String name, String help, String labelName, String labelValue) {
+        return register(new Histogram(name, help, labelName, labelValue));
+    }
+
+    private <M extends Metric> M register(M metric) {
+        if (!metric.getName().matches("[a-zA-Z_:][a-zA-Z0-9_:]*"))
+            throw new IllegalArgumentException("Invalid metric name: " + metric.getName());
+
+        for (int i = 0; i < metrics.size; i++) {
+            Metric other = metrics.get(i);
+            if (other.getKey().equals(metric.getKey()))
+                throw new IllegalArgumentException("Metric already registered: " + metric.getKey());
+            if (other.getName().equals(metric.getName())
+                && (i != metrics.size - 1 || !other.getType().equals(metric.getType())))
+                throw new IllegalArgumentException("Series of " + metric.getName()
+                    + " must be registered together and share one type");
+        }
+
+        metrics.add(metric);
+        return metric;
+    }
+
+    /**
+     * @return métriques, dans l’ordre de création (à ne pas modifier)
+     */
+    public Array<Metric> getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.louiscieb.towerdefence.metrics;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Expose les métriques d’un registre au format texte de Prometheus
+ * sur {@code http://127.0.0.1:<port>/metrics}.
+ * <p>
+ * Le serveur n’écoute que l’interface locale et répond sur un thread
+ * dédié : chaque requête lit les valeurs courantes sans bloquer
+ * la simulation. Les histogrammes sont exposés en secondes.
+ * </p>
+ */
+public final class PrometheusExporter {
+
+    /** Type de contenu du format texte 0.0.4. */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Array<Metric> metrics;
+    private final HttpServer server;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "td-metrics-http");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Effectifs d’un histogramme, réutilisés d’une requête à l’autre. */
+    private final long[] counts = new long[Histogram.BUCKETS + 1];
+
+    private PrometheusExporter(MetricsRegistry registry, int port) throws IOException {
+        metrics = registry.getMetrics();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(worker);
+    }
+
+    /**
+     * Démarre le serveur.
+     *
+     * @param registry registre complet des métriques
+     * @param port     port local d’écoute
+     * @return exportateur démarré
+     * @throws GdxRuntimeException si le port ne peut pas être ouvert
+     */
+    public static PrometheusExporter start(MetricsRegistry registry, int port) {
+        PrometheusExporter exporter;
+        try {
+            exporter = new PrometheusExporter(registry, port);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot open metrics port " + port, e);
+        }
+        exporter.server.start();
+        return exporter;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return valeurs courantes de toutes les métriques, au format texte de Prometheus
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+        String family = null;
+
+        for (int i = 0; i < metrics.size; i++) {
+            Metric metric = metrics.get(i);
+            if (!metric.getName().equals(family)) {
+                family = metric.getName();
+                out.append("# HELP ").append(family).append(' ').append(metric.getHelp()).append('\n');
+                out.append("# TYPE ").append(family).append(' ').append(metric.getType()).append('\n');
+            }
+
+            if (metric instanceof Counter) {
+                out.append(metric.getKey()).append(' ').append(((Counter) metric).get()).append('\n');
+            } else if (metric instanceof Gauge) {
+                out.append(metric.getKey()).append(' ').append(((Gauge) metric).get()).append('\n');
+            } else if (metric instanceof Histogram) {
+                appendHistogram(out, (Histogram) metric);
+            }
+        }
+        return out.toString();
+    }
+
+    /** Ajoute les intervalles cumulés, la somme et le nombre de valeurs d’un histogramme. */
+    private void appendHistogram(StringBuilder out, Histogram histogram) {
+        String name = histogram.getName();
+        String labels = histogram.getLabelName() == null
+            ? ""
+            : histogram.getLabelName() + "=\"" + histogram.getLabelValue() + "\",";
+        double sumSeconds = histogram.getSum() / 1e9;
+        long total = histogram.snapshot(counts);
+
+        long cumulative = 0;
+        for (int b = 0; b < Histogram.BUCKETS; b++) {
+            cumulative += counts[b];
+            out.append(name).append("_bucket{").append(labels)
+                .append("le=\"").append(Histogram.upperBound(b) / 1e9).append("\"} ")
+                .append(cumulative).append('\n');
+        }
+        out.append(name).append("_bucket{").append(labels).append("le=\"+Inf\"} ").append(total).append('\n');
+
+        String suffixLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.append(name).append("_sum").append(suffixLabels).append(' ').append(sumSeconds).append('\n');
+        out.append(name).append("_count").append(suffixLabels).append(' ').append(total).append('\n');
+    }
+
+    /**
+     * Arrête le serveur.
+     */
+    public void close() {
+        server.stop(0);
+        worker.shutdown();
+    }
+}
@@ -1,52 +1,83 @@
 package io.github.louiscieb.towerdefence.model;
 
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
+
+import java.nio.ByteBuffer;
 
 /**
  * Représente un ennemi dans le jeu.
  * <p>
- * Un ennemi se déplace le long d’un {@link Path},
+ * Un ennemi se déplace le long d’un {@link Path}, ou descend un
+ * {@link FlowField} vers la base ({@link Navigation#FLOW_FIELD}),
  * possède des points de vie, une vitesse et un niveau.
  * Ses statistiques évoluent en fonction de son niveau.
 
+ * <p>
+ * Les ennemis sont recyclés via un {@link Pool} : {@link #init(Path, int)}
+ * prépare une instance, {@link #reset()} l’invalide. Chaque recyclage
+ * incrémente la {@linkplain #getGeneration() génération}, ce qui permet
+ * aux références conservées ailleurs (projectiles) de détecter
+ * qu’elles visent désormais un autre ennemi.
  * <p>
  * Cette classe appartient au modèle (MVC) et ne contient
  * aucune logique d’affichage.
 
  */
-public class Enemy {
+public class Enemy implements Pool.Poolable {
 
     // =====================
     // STATISTIQUES DE JEU
     // =====================
 
     /** Niveau de l’ennemi. */
-    private final int level;
+    private int level;
 
     /** Points de vie maximum. */
-    private final float maxHp;
+    private float maxHp;
 
     /** Points de vie actuels. */
     private float hp;
 
     /** Vitesse de déplacement. */
-    private final float speed;
+    private float speed;
 
     /** Or gagné par le joueur lorsque l’ennemi est tué. */
-    private final int goldReward;
+    private int goldReward;
+
+    /**
+     * Dégâts des projectiles en vol vers cet ennemi, pas encore appliqués.
+     * Permet aux tours d’ignorer un ennemi dont la mort est déjà assurée.
+     */
+    private float pendingDamage;
 
     // =====================
     // DEPLACEMENT
     // =====================
 
     /** Chemin suivi par l’ennemi. */
-    private final Path path;
+    private Path path;
+
+    /** Champ de flux suivi par l’ennemi, ou {@code null} s’il suit {@link #path}. */
+    private FlowField field;
+
+    /** Nombre maximum de cellules franchies en un tick (accélération extrême). */
+    private static final int MAX_CELLS_PER_STEP = 8;
 
     /** Position actuelle de l’ennemi. */
-    private final Vector2 position;
+    private final Vector2 position = new Vector2();
 
-    /** Index du point cible actuel dans le chemin. */
-    private int targetIndex = 0;
+    /** Position au tick précédent (interpolation côté vue). */
+    private final Vector2 previousPosition = new Vector2();
+
+    /**
+     * Distance parcourue depuis le début du chemin ou, sur un champ de
+     * flux, progression vers la base ({@link FlowField#progressAt(int)}).
+     */
+    private float distance = 0f;
+
+    /** Segment du chemin contenant {@link #distance} (curseur). */
+    private int segment = 0;
 
     // =====================
     // ANIMATION
@@ -61,10 +92,32 @@ public class Enemy {
      */
     private float animTime = 0f;
 
+    // =====================
+    // RECYCLAGE
+    // =====================
+
+    /** Nombre de recyclages subis par cette instance. */
+    private int generation = 0;
+
+    // =====================
+    // SAUVEGARDE
+    // =====================
+
+    /** Taille d’un ennemi dans un instantané (voir {@link #write(ByteBuffer)}). */
+    public static final int SNAPSHOT_BYTES = 40;
+
     // =====================
     // CONSTRUCTEUR
     // =====================
 
+    /**
+     * Crée un ennemi non initialisé, destiné à un {@link Pool}.
+     * <p>
+     * {@link #init(Path, int)} doit être appelée avant utilisation.
+     */
+    public Enemy() {
+    }
+
     /**
      * Crée un nouvel ennemi.
      *
@@ -72,14 +125,153 @@ public class Enemy {
      * @param level niveau de l’ennemi (influence ses statistiques)
      */
     public Enemy(Path path, int level) {
+        init(path, level);
+    }
+
+    /**
+     * Place l’ennemi au début du chemin avec les statistiques de son niveau.
+     *
+     * @param path  chemin que l’ennemi doit suivre
+     * @param level niveau de l’ennemi (influence ses statistiques)
+     * @return cet ennemi
+     */
+    public Enemy init(Path path, int level) {
         this.path = path;
-        this.position = path.first().cpy();
-        this.level = level;
+        this.field = null;
+        this.position.set(path.first());
+        this.previousPosition.set(position);
+        this.distance = 0f;
+        this.segment = 0;
+        this.animTime = 0f;
+        setLevel(level);
+        this.hp = maxHp;
+        this.pendingDamage = 0f;
+        return this;
+    }
 
-        this.maxHp = 120 + level * 60;
+    /**
+     * Place l’ennemi sur un point d’apparition d’un champ de flux
+     * avec les statistiques de son niveau.
+     *
+     * @param field champ de flux menant à la base
+     * @param x     position X d’apparition
+     * @param y     position Y d’apparition
+     * @param level niveau de l’ennemi (influence ses statistiques)
+     * @return cet ennemi
+     */
+    public Enemy init(FlowField field, float x, float y, int level) {
+        this.path = null;
+        this.field = field;
+        this.position.set(x, y);
+        this.previousPosition.set(position);
+        this.distance = field.progressAt(field.cellAt(x, y));
+        this.segment = 0;
+        this.animTime = 0f;
+        setLevel(level);
         this.hp = maxHp;
-        this.speed = 70 + level * 6;
-        this.goldReward = 10 + level * 5;
+        this.pendingDamage = 0f;
+        return this;
+    }
+
+    /**
+     * Invalide l’ennemi lorsqu’il retourne dans son pool.
+     * <p>
+     * La génération est incrémentée : toute référence prise
+     * avant le recyclage devient obsolète.
+     */
+    @Override
+    public void reset() {
+        generation++;
+        path = null;
+        field = null;
+        hp = 0f;
+        pendingDamage = 0f;
+    }
+
+    // =====================
+    // STATISTIQUES PAR NIVEAU
+    // =====================
+
+    /**
+     * @param level niveau de l’ennemi
+     * @return points de vie maximum à ce niveau
+     */
+    public static float maxHpForLevel(int level) {
+        return 120 + level * 60;
+    }
+
+    /**
+     * @param level niveau de l’ennemi
+     * @return vitesse de déplacement à ce niveau
+     */
+    public static float speedForLevel(int level) {
+        return 70 + level * 6;
+    }
+
+    /**
+     * @param level niveau de l’ennemi
+     * @return or gagné à la mort à ce niveau
+     */
+    public static int goldRewardForLevel(int level) {
+        return 10 + level * 5;
+    }
+
+    /**
+     * Applique les statistiques correspondant à un niveau.
+     *
+     * @param level niveau de l’ennemi
+     */
+    private void setLevel(int level) {
+        this.level = level;
+        this.maxHp = maxHpForLevel(level);
+        this.speed = speedForLevel(level);
+        this.goldReward = goldRewardForLevel(level);
+    }
+
+    /**
+     * Écrit l’état de l’ennemi dans un instantané binaire.
+     * <p>
+     * Les statistiques dérivées du niveau ne sont pas écrites :
+     * elles sont recalculées à la lecture.
+     *
+     * @param out tampon recevant {@link #SNAPSHOT_BYTES} octets
+     */
+    public void write(ByteBuffer out) {
+        out.putInt(level);
+        out.putFloat(hp);
+        out.putFloat(pendingDamage);
+        out.putFloat(distance);
+        out.putInt(segment);
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.putFloat(previousPosition.x);
+        out.putFloat(previousPosition.y);
+        out.putFloat(animTime);
+    }
+
+    /**
+     * Restaure un ennemi écrit par {@link #write(ByteBuffer)}.
+     * <p>
+     * La génération n’est pas restaurée : les projectiles
+     * relus référencent l’ennemi par sa génération courante.
+     *
+     * @param in    tampon positionné sur l’ennemi
+     * @param path  chemin suivi par l’ennemi
+     * @param field champ de flux suivi par l’ennemi, ou {@code null} s’il suit le chemin
+     * @return cet ennemi
+     */
+    public Enemy read(ByteBuffer in, Path path, FlowField field) {
+        this.path = field == null ? path : null;
+        this.field = field;
+        setLevel(in.getInt());
+        this.hp = in.getFloat();
+        this.pendingDamage = in.getFloat();
+        this.distance = in.getFloat();
+        this.segment = in.getInt();
+        this.position.set(in.getFloat(), in.getFloat());
+        this.previousPosition.set(in.getFloat(), in.getFloat());
+        this.animTime = in.getFloat();
+        return this;
     }
 
     // =====================
@@ -91,31 +283,64 @@ public class Enemy {
      * <p>
      * Gère :
      * <ul>
-     *     <li>Le déplacement le long du chemin</li>
-     *     <li>L’avancement entre les points du chemin</li>
+     *     <li>Le déplacement le long du chemin (distance parcourue)</li>
+     *     <li>Le passage d’un segment du chemin au suivant</li>
      *     <li>Le temps d’animation</li>
      * </ul>
-
+     * <p>
+     * La position est recalculée à partir de la distance parcourue :
+     * aucun point du chemin ne peut être dépassé, quel que soit {@code delta}.
+     * Sur un champ de flux, l’ennemi se dirige vers le centre de la cellule
+     * suivante de la sienne : quelques lectures de tableau par tick.
      *
      * @param delta temps écoulé depuis la dernière frame
      */
     public void update(float delta) {
         animTime += delta;
+        previousPosition.set(position);
 
         // L’ennemi a atteint la base
-        if (targetIndex >= path.size()) return;
+        if (reachedBase()) return;
 
-        Vector2 target = path.get(targetIndex);
-        Vector2 dir = target.cpy().sub(position);
-
-        // Si l’ennemi est suffisamment proche du point suivant, passer au suivant
-        if (dir.len() < 2f) {
-            targetIndex++;
+        if (field != null) {
+            steer(speed * delta);
             return;
         }
 
-        dir.nor();
-        position.mulAdd(dir, speed * delta);
+        distance = Math.min(distance + speed * delta, path.length());
+        segment = path.advanceSegment(distance, segment);
+        path.positionAt(distance, segment, position);
+    }
+
+    /**
+     * Avance vers la base en suivant les cellules suivantes du champ de flux.
+     * <p>
+     * Un ennemi dont la base est inaccessible reste sur place
+     * jusqu’à ce qu’un chemin se libère.
+     *
+     * @param step distance à parcourir pendant ce tick
+     */
+    private void steer(float step) {
+        int cell = field.cellAt(position.x, position.y);
+
+        for (int i = 0; i < MAX_CELLS_PER_STEP && step > 0f && !field.isGoal(cell); i++) {
+            int next = field.next(cell);
+            if (next < 0) break;
+
+            float dx = field.centerX(next) - position.x;
+            float dy = field.centerY(next) - position.y;
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            if (length > step) {
+                position.add(dx * step / length, dy * step / length);
+                break;
+            }
+
+            position.set(field.centerX(next), field.centerY(next));
+            step -= length;
+            cell = next;
+        }
+
+        distance = field.progressAt(field.cellAt(position.x, position.y));
     }
 
     // =====================
@@ -132,6 +357,34 @@ public class Enemy {
         if (hp < 0) hp = 0;
     }
 
+    /**
+     * Réserve des dégâts qu’un projectile tiré vers l’ennemi infligera.
+     *
+     * @param amount dégâts du projectile
+     */
+    public void commitDamage(float amount) {
+        pendingDamage += amount;
+    }
+
+    /**
+     * Libère des dégâts réservés, à l’impact ou à la disparition du projectile.
+     *
+     * @param amount dégâts du projectile
+     */
+    public void releaseDamage(float amount) {
+        pendingDamage -= amount;
+        if (pendingDamage < 0f) pendingDamage = 0f;
+    }
+
+    /**
+     * Indique si les projectiles déjà en vol suffisent à tuer l’ennemi.
+     *
+     * @return {@code true} si les points de vie moins les dégâts réservés sont à zéro
+     */
+    public boolean isDoomed() {
+        return hp - pendingDamage <= 0;
+    }
+
     /**
      * Indique si l’ennemi est mort.
      *
@@ -145,9 +398,11 @@ public class Enemy {
      * Indique si l’ennemi a atteint la base.
      *
      * @return {@code true} si l’ennemi est arrivé à la fin du chemin
+     *         ou dans une cellule de la base du champ de flux
      */
     public boolean reachedBase() {
-        return targetIndex >= path.size();
+        if (field != null) return field.isGoal(field.cellAt(position.x, position.y));
+        return distance >= path.length();
     }
 
     // =====================
@@ -161,6 +416,25 @@ public class Enemy {
         return position;
     }
 
+    /**
+     * @return position de l’ennemi au tick précédent
+     */
+    public Vector2 getPreviousPosition() {
+        return previousPosition;
+    }
+
+    /**
+     * Génération de l’instance, incrémentée à chaque recyclage.
+     * <p>
+     * Une référence {@code (ennemi, génération)} n’est valide que tant que
+     * {@code ennemi.getGeneration()} vaut la génération mémorisée.
+     *
+     * @return génération courante
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     /**
      * @return niveau de l’ennemi
      */
@@ -190,10 +464,51 @@ public class Enemy {
     }
 
     /**
-     * @return index du point cible actuel sur le chemin
+     * Progression de l’ennemi sur le chemin.
+     * <p>
+     * Utilisée pour la priorité de ciblage : plus la valeur est grande,
+     * plus l’ennemi est proche de la base.
+     *
+     * @return distance parcourue depuis le début du chemin,
+     *         ou progression vers la base sur un champ de flux
+     */
+    public float getProgress() {
+        return distance;
+    }
+
+    /**
+     * @return dégâts réservés par les projectiles en vol
+     */
+    public float getPendingDamage() {
+        return pendingDamage;
+    }
+
+    /**
+     * @return segment du chemin sur lequel se trouve l’ennemi
+     */
+    public int getSegment() {
+        return segment;
+    }
+
+    /**
+     * @return vitesse de déplacement (pixels par seconde)
+     */
+    public float getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return chemin suivi par l’ennemi, ou {@code null} sur un champ de flux
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return champ de flux suivi par l’ennemi, ou {@code null} s’il suit le chemin
      */
-    public int getTargetIndex() {
-        return targetIndex;
+    public FlowField getFlowField() {
+        return field;
     }
 
     /**
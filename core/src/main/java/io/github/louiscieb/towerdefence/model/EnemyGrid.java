@@ -0,0 +1,189 @@
+package io.github.louiscieb.towerdefence.model;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Grille uniforme indexant les ennemis par position.
+ * <p>
+ * Le monde est découpé en cellules carrées. À chaque tick, la grille
+ * est reconstruite en O(n) par un tri par comptage : chaque cellule
+ * référence une tranche contiguë d’un tableau d’indices d’ennemis.
+ * La reconstruction n’alloue rien tant que le nombre d’ennemis
+ * ne dépasse pas la capacité déjà atteinte.
+ * </p>
+ * <p>
+ * Une requête de portée ne visite que les cellules recouvrant le
+ * carré englobant du cercle de tir, au lieu de tous les ennemis.
+ * Les ennemis hors du monde sont rangés dans la cellule de bord la plus proche.
+ * </p>
+ */
+public class EnemyGrid {
+
+    // =====================
+    // GEOMETRIE
+    // =====================
+
+    /** Taille d’une cellule (en pixels monde). */
+    private final float cellSize;
+
+    /** Nombre de colonnes. */
+    private final int cols;
+
+    /** Nombre de lignes. */
+    private final int rows;
+
+    // =====================
+    // CONTENU
+    // =====================
+
+    /** Ennemis indexés lors de la dernière reconstruction. */
+    private Array<Enemy> enemies;
+
+    /**
+     * Début de chaque cellule dans {@link #items}.
+     * La cellule {@code c} occupe {@code items[cellStart[c] .. cellStart[c + 1]]}.
+     */
+    private final int[] cellStart;
+
+    /** Indices d’ennemis (dans {@link #enemies}) triés par cellule. */
+    private int[] items = new int[64];
+
+    /** Cellule de chaque ennemi, calculée lors de la reconstruction. */
+    private int[] enemyCell = new int[64];
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Crée une grille couvrant le monde.
+     *
+     * @param worldWidth  largeur du monde
+     * @param worldHeight hauteur du monde
+     * @param cellSize    taille d’une cellule
+     */
+    public EnemyGrid(float worldWidth, float worldHeight, float cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        this.cellStart = new int[cols * rows + 1];
+    }
+
+    // =====================
+    // RECONSTRUCTION
+    // =====================
+
+    /**
+     * Réindexe tous les ennemis à partir de leurs positions actuelles.
+     *
+     * @param enemies ennemis actifs
+     */
+    public void rebuild(Array<Enemy> enemies) {
+        this.enemies = enemies;
+        int n = enemies.size;
+
+        if (items.length < n) {
+            int capacity = Math.max(n, items.length * 2);
+            items = new int[capacity];
+            enemyCell = new int[capacity];
+        }
+
+        int cellCount = cols * rows;
+        for (int c = 0; c <= cellCount; c++) cellStart[c] = 0;
+
+        // Comptage par cellule (décalé d’un cran pour la somme préfixe)
+        for (int i = 0; i < n; i++) {
+            Enemy e = enemies.get(i);
+            int cell = cellOf(e.getPosition().x, e.getPosition().y);
+            enemyCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+
+        for (int c = 0; c < cellCount; c++) cellStart[c + 1] += cellStart[c];
+
+        // Placement : cellStart[c] sert de curseur puis est restauré
+        for (int i = 0; i < n; i++) {
+            items[cellStart[enemyCell[i]]++] = i;
+        }
+        for (int c = cellCount; c > 0; c--) cellStart[c] = cellStart[c - 1];
+        cellStart[0] = 0;
+    }
+
+    // =====================
+    // REQUETES
+    // =====================
+
+    /**
+     * Recherche l’ennemi vivant le plus avancé sur le chemin dans un cercle.
+     * <p>
+     * Les ennemis que les projectiles déjà en vol suffisent à tuer
+     * ({@link Enemy#isDoomed()}) sont ignorés.
+     * <p>
+     * À progression égale, l’ennemi apparu le plus tôt (plus petit index)
+     * est retenu, comme lors d’un parcours séquentiel de la liste.
+     *
+     * @param x     centre X
+     * @param y     centre Y
+     * @param range rayon de recherche
+     * @return ennemi trouvé ou {@code null}
+     */
+    public Enemy findMostAdvanced(float x, float y, float range) {
+        if (enemies == null) return null;
+
+        int minCol = clampCol((int) Math.floor((x - range) / cellSize));
+        int maxCol = clampCol((int) Math.floor((x + range) / cellSize));
+        int minRow = clampRow((int) Math.floor((y - range) / cellSize));
+        int maxRow = clampRow((int) Math.floor((y + range) / cellSize));
+
+        float range2 = range * range;
+        int bestIndex = -1;
+        float bestProgress = -1;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell], end = cellStart[cell + 1]; k < end; k++) {
+                    int index = items[k];
+                    Enemy e = enemies.get(index);
+                    if (e.isDoomed()) continue;
+
+                    float dx = e.getPosition().x - x;
+                    float dy = e.getPosition().y - y;
+                    if (dx * dx + dy * dy > range2) continue;
+
+                    float progress = e.getProgress();
+                    if (progress > bestProgress || (progress == bestProgress && index < bestIndex)) {
+                        bestIndex = index;
+                        bestProgress = progress;
+                    }
+                }
+            }
+        }
+        return bestIndex < 0 ? null : enemies.get(bestIndex);
+    }
+
+    // =====================
+    // OUTILS
+    // =====================
+
+    /**
+     * Calcule la cellule contenant un point (bornée aux limites du monde).
+     *
+     * @param x position X
+     * @param y position Y
+     * @return index de cellule
+     */
+    private int cellOf(float x, float y) {
+        int col = clampCol((int) Math.floor(x / cellSize));
+        int row = clampRow((int) Math.floor(y / cellSize));
+        return row * cols + col;
+    }
+
+    private int clampCol(int col) {
+        return col < 0 ? 0 : (col >= cols ? cols - 1 : col);
+    }
+
+    private int clampRow(int row) {
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+}
@@ -0,0 +1,599 @@
+package io.github.louiscieb.towerdefence.model;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Champ de flux : distance de chaque cellule de la carte jusqu’à la base.
+ * <p>
+ * La carte est découpée en cellules carrées ; une cellule est praticable
+ * si son centre se trouve dans l’une des zones praticables de la carte
+ * (couche de collision) et qu’aucune tour ne l’occupe. Le coût jusqu’à
+ * la base est calculé une fois par Dijkstra (pas orthogonal 10, diagonal
+ * 14, sans couper les coins), puis chaque cellule mémorise sa voisine la
+ * plus proche de la base. Un ennemi n’a qu’à lire la cellule suivante de
+ * celle qu’il occupe : le coût de son déplacement ne dépend ni du nombre
+ * d’ennemis, ni de la taille de la carte, et il n’y a aucun calcul de
+ * chemin par ennemi.
+ * </p>
+ * <p>
+ * Lorsqu’une tour bloque ou libère des cellules, seul le champ touché
+ * est recalculé : blocage, les cellules dont le chemin passait par les
+ * cellules bloquées sont invalidées puis réensemencées depuis leur bord ;
+ * libération, la baisse des coûts est propagée depuis les cellules libérées.
+ * Aucune allocation n’a lieu une fois les tableaux de travail dimensionnés.
+ * </p>
+ * <p>
+ * Les cellules impraticables pointent vers leur voisine praticable la plus
+ * proche de la base : un ennemi qui s’y trouve en sort.
+ * </p>
+ */
+public class FlowField {
+
+    // =====================
+    // COUTS
+    // =====================
+
+    /** Coût d’un pas orthogonal (un dixième de cellule par unité). */
+    private static final int ORTHOGONAL = 10;
+
+    /** Coût d’un pas diagonal (≈ 10·√2). */
+    private static final int DIAGONAL = 14;
+
+    /** Coût des cellules d’où la base est inaccessible. */
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /** Décalage en colonnes des huit voisins (orthogonaux d’abord). */
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+
+    /** Décalage en lignes des huit voisins (orthogonaux d’abord). */
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    // =====================
+    // GEOMETRIE
+    // =====================
+
+    /** Taille d’une cellule (en pixels monde). */
+    private final float cellSize;
+
+    /** Nombre de colonnes. */
+    private final int cols;
+
+    /** Nombre de lignes. */
+    private final int rows;
+
+    // =====================
+    // CHAMP
+    // =====================
+
+    /** Cellules dans la zone praticable de la carte. */
+    private final boolean[] walkable;
+
+    /** Nombre de tours occupant chaque cellule. */
+    private final int[] blockers;
+
+    /** Cellules de la base. */
+    private final boolean[] goal;
+
+    /** Coût de chaque cellule jusqu’à la base, ou {@link #UNREACHABLE}. */
+    private final int[] cost;
+
+    /** Cellule suivante vers la base, ou -1 (base atteinte ou inaccessible). */
+    private final int[] next;
+
+    /**
+     * Coût fini le plus élevé du champ actuel (référence de la progression).
+     * Il ne dépend que des blocages en cours, jamais de l’ordre des mises à jour.
+     */
+    private int maxCost;
+
+    // =====================
+    // TRAVAIL
+    // =====================
+
+    /** Tas binaire des cellules à relâcher, trié par {@link #heapCosts}. */
+    private int[] heapCells;
+
+    /** Coût de chaque entrée du tas. */
+    private int[] heapCosts;
+
+    /** Nombre d’entrées du tas. */
+    private int heapSize;
+
+    /** Cellules dont le coût a baissé pendant la dernière propagation. */
+    private final IntArray changed = new IntArray();
+
+    /** Cellules invalidées par un blocage. */
+    private final IntArray affected = new IntArray();
+
+    /** Appartenance à {@link #affected}. */
+    private final boolean[] marked;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Calcule le champ d’une carte.
+     *
+     * @param width    largeur du monde (en pixels)
+     * @param height   hauteur du monde (en pixels)
+     * @param cellSize taille d’une cellule (en pixels)
+     * @param areas    polygones praticables, sommets {@code x, y} en coordonnées monde
+     * @param base     zone de la base, destination des ennemis
+     */
+    public FlowField(float width, float height, float cellSize, Array<float[]> areas, Rectangle base) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+        int cells = cols * rows;
+        walkable = new boolean[cells];
+        blockers = new int[cells];
+        goal = new boolean[cells];
+        cost = new int[cells];
+        next = new int[cells];
+        marked = new boolean[cells];
+        heapCells = new int[cells];
+        heapCosts = new int[cells];
+
+        boolean hasGoal = false;
+        for (int c = 0; c < cells; c++) {
+            float x = centerX(c);
+            float y = centerY(c);
+            for (int i = 0; i < areas.size && !walkable[c]; i++) {
+                walkable[c] = contains(areas.get(i), x, y);
+            }
+            goal[c] = walkable[c] && base.contains(x, y);
+            hasGoal |= goal[c];
+        }
+
+        // Base plus petite qu’une cellule ou hors de la zone praticable
+        if (!hasGoal) {
+            int c = cellAt(base.x + base.width / 2f, base.y + base.height / 2f);
+            walkable[c] = true;
+            goal[c] = true;
+        }
+
+        rebuild();
+    }
+
+    /**
+     * Test du point dans un polygone (règle pair-impair).
+     */
+    private static boolean contains(float[] polygon, float x, float y) {
+        boolean inside = false;
+        for (int i = 0, j = polygon.length - 2; i < polygon.length; j = i, i += 2) {
+            float xi = polygon[i], yi = polygon[i + 1];
+            float xj = polygon[j], yj = polygon[j + 1];
+            if ((yi > y) != (yj > y) && x < xi + (y - yi) * (xj - xi) / (yj - yi)) inside = !inside;
+        }
+        return inside;
+    }
+
+    // =====================
+    // CALCUL COMPLET
+    // =====================
+
+    /**
+     * Recalcule tout le champ depuis les cellules de la base, en tenant
+     * compte des blocages en cours.
+     * <p>
+     * Les mises à jour incrémentales doivent aboutir exactement au même
+     * champ ; {@code FlowFieldConsistencyCheck} s’en sert de référence.
+     */
+    public void rebuild() {
+        heapSize = 0;
+        for (int c = 0; c < cost.length; c++) {
+            cost[c] = UNREACHABLE;
+            if (goal[c] && isPassable(c)) {
+                cost[c] = 0;
+                push(c, 0);
+            }
+        }
+        propagate();
+        changed.clear();
+
+        for (int c = 0; c < cost.length; c++) updateNext(c);
+        updateMaxCost();
+    }
+
+    // =====================
+    // MISE A JOUR INCREMENTALE
+    // =====================
+
+    /**
+     * Bloque les cellules dont le centre est dans un rectangle (emprise d’une tour).
+     * <p>
+     * Les blocages se cumulent : une cellule redevient praticable lorsque
+     * chaque blocage a été levé par {@link #unblock(float, float, float, float)}.
+     *
+     * @param x      coin inférieur gauche X
+     * @param y      coin inférieur gauche Y
+     * @param width  largeur
+     * @param height hauteur
+     */
+    public void block(float x, float y, float width, float height) {
+        affected.clear();
+
+        int minCol = firstCell(x), maxCol = lastCell(x + width, cols);
+        int minRow = firstCell(y), maxRow = lastCell(y + height, rows);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int c = row * cols + col;
+                if (++blockers[c] == 1 && walkable[c]) invalidate(c, col, row);
+            }
+        }
+
+        // Cellules dont le chemin passait par une cellule invalidée
+        for (int i = 0; i < affected.size; i++) {
+            int a = affected.get(i);
+            int col = a % cols, row = a / cols;
+            for (int d = 0; d < 8; d++) {
+                int v = cellOrNone(col + DX[d], row + DY[d]);
+                if (v >= 0 && next[v] == a) mark(v);
+            }
+        }
+        if (affected.size == 0) return;
+
+        // Réensemencement depuis les cellules restées valides
+        for (int i = 0; i < affected.size; i++) cost[affected.get(i)] = UNREACHABLE;
+        heapSize = 0;
+        for (int i = 0; i < affected.size; i++) {
+            int a = affected.get(i);
+            if (!isPassable(a)) continue;
+
+            int best = goal[a] ? 0 : bestNeighbourCost(a);
+            if (best == UNREACHABLE) continue;
+            cost[a] = best;
+            push(a, best);
+        }
+        propagate();
+        changed.clear();
+
+        for (int i = 0; i < affected.size; i++) {
+            int a = affected.get(i);
+            marked[a] = false;
+            updateNext(a);
+        }
+        updateMaxCost();
+    }
+
+    /**
+     * Lève un blocage posé par {@link #block(float, float, float, float)}.
+     *
+     * @param x      coin inférieur gauche X
+     * @param y      coin inférieur gauche Y
+     * @param width  largeur
+     * @param height hauteur
+     */
+    public void unblock(float x, float y, float width, float height) {
+        changed.clear();
+        heapSize = 0;
+
+        int minCol = firstCell(x), maxCol = lastCell(x + width, cols);
+        int minRow = firstCell(y), maxRow = lastCell(y + height, rows);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int c = row * cols + col;
+                if (blockers[c] > 0 && --blockers[c] == 0 && walkable[c]) changed.add(c);
+            }
+        }
+
+        // Relâchement depuis les voisines des cellules libérées : couvre
+        // les cellules elles-mêmes et les diagonales qu’elles débloquent
+        for (int i = 0, n = changed.size; i < n; i++) {
+            int c = changed.get(i);
+            if (goal[c]) {
+                cost[c] = 0;
+                push(c, 0);
+            }
+            int col = c % cols, row = c / cols;
+            for (int d = 0; d < 8; d++) {
+                int v = cellOrNone(col + DX[d], row + DY[d]);
+                if (v >= 0 && isPassable(v) && cost[v] != UNREACHABLE) push(v, cost[v]);
+            }
+        }
+        propagate();
+
+        for (int i = 0; i < changed.size; i++) {
+            int c = changed.get(i);
+            int col = c % cols, row = c / cols;
+            updateNext(c);
+            for (int d = 0; d < 8; d++) {
+                int v = cellOrNone(col + DX[d], row + DY[d]);
+                if (v >= 0) updateNext(v);
+            }
+        }
+        changed.clear();
+        updateMaxCost();
+    }
+
+    /**
+     * Recalcule {@link #maxCost} sur le champ actuel : un blocage refusé puis
+     * levé, ou un champ reconstruit depuis une sauvegarde, retrouve ainsi
+     * exactement la même progression.
+     */
+    private void updateMaxCost() {
+        int max = 0;
+        for (int c = 0; c < cost.length; c++) {
+            if (cost[c] != UNREACHABLE && cost[c] > max) max = cost[c];
+        }
+        maxCost = max;
+    }
+
+    /**
+     * Invalide une cellule qui vient d’être bloquée, ainsi que les pas
+     * diagonaux qui la contournaient par un coin.
+     */
+    private void invalidate(int c, int col, int row) {
+        mark(c);
+        for (int dx = -1; dx <= 1; dx += 2) {
+            for (int dy = -1; dy <= 1; dy += 2) {
+                int a = cellOrNone(col + dx, row);
+                int b = cellOrNone(col, row + dy);
+                if (a < 0 || b < 0) continue;
+                if (next[a] == b) mark(a);
+                if (next[b] == a) mark(b);
+            }
+        }
+    }
+
+    private void mark(int c) {
+        if (marked[c]) return;
+        marked[c] = true;
+        affected.add(c);
+    }
+
+    // =====================
+    // DIJKSTRA
+    // =====================
+
+    /**
+     * Relâche les cellules du tas jusqu’à ce qu’il soit vide.
+     * Les cellules dont le coût baisse sont ajoutées à {@link #changed}.
+     */
+    private void propagate() {
+        while (heapSize > 0) {
+            int c = heapCells[0];
+            int k = heapCosts[0];
+            pop();
+            if (k > cost[c]) continue;
+
+            int col = c % cols, row = c / cols;
+            for (int d = 0; d < 8; d++) {
+                int v = neighbour(col, row, d);
+                if (v < 0 || !isPassable(v)) continue;
+
+                int candidate = k + (d < 4 ? ORTHOGONAL : DIAGONAL);
+                if (candidate < cost[v]) {
+                    cost[v] = candidate;
+                    push(v, candidate);
+                    changed.add(v);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return plus petit coût atteignable en un pas depuis une voisine, ou {@link #UNREACHABLE}
+     */
+    private int bestNeighbourCost(int c) {
+        int col = c % cols, row = c / cols;
+        int best = UNREACHABLE;
+        for (int d = 0; d < 8; d++) {
+            int v = neighbour(col, row, d);
+            if (v < 0 || !isPassable(v) || cost[v] == UNREACHABLE || marked[v]) continue;
+            best = Math.min(best, cost[v] + (d < 4 ? ORTHOGONAL : DIAGONAL));
+        }
+        return best;
+    }
+
+    /** Choisit la cellule suivante : la voisine praticable la plus proche de la base. */
+    private void updateNext(int c) {
+        if (goal[c] && isPassable(c)) {
+            next[c] = -1;
+            return;
+        }
+
+        int col = c % cols, row = c / cols;
+        int best = -1;
+        int bestCost = UNREACHABLE;
+        for (int d = 0; d < 8; d++) {
+            int v = neighbour(col, row, d);
+            if (v < 0 || !isPassable(v) || cost[v] == UNREACHABLE) continue;
+
+            int candidate = cost[v] + (d < 4 ? ORTHOGONAL : DIAGONAL);
+            if (candidate < bestCost) {
+                best = v;
+                bestCost = candidate;
+            }
+        }
+        next[c] = best;
+    }
+
+    /**
+     * Voisine dans une direction, ou -1 hors de la carte ou si le pas
+     * diagonal couperait le coin d’une cellule impraticable.
+     */
+    private int neighbour(int col, int row, int d) {
+        int x = col + DX[d];
+        int y = row + DY[d];
+        if (x < 0 || y < 0 || x >= cols || y >= rows) return -1;
+        if (d >= 4 && (!isPassable(row * cols + x) || !isPassable(y * cols + col))) return -1;
+        return y * cols + x;
+    }
+
+    private int cellOrNone(int col, int row) {
+        return col < 0 || row < 0 || col >= cols || row >= rows ? -1 : row * cols + col;
+    }
+
+    /** Première colonne (ou ligne) dont le centre est au-delà d’une coordonnée. */
+    private int firstCell(float coordinate) {
+        return Math.max(0, (int) Math.ceil(coordinate / cellSize - 0.5f));
+    }
+
+    /** Dernière colonne (ou ligne) dont le centre est en deçà d’une coordonnée. */
+    private int lastCell(float coordinate, int count) {
+        return Math.min(count - 1, (int) Math.floor(coordinate / cellSize - 0.5f));
+    }
+
+    // =====================
+    // TAS BINAIRE
+    // =====================
+
+    private void push(int cell, int key) {
+        if (heapSize == heapCells.length) {
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+        }
+
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapCosts[parent] <= key) break;
+            heapCells[i] = heapCells[parent];
+            heapCosts[i] = heapCosts[parent];
+            i = parent;
+        }
+        heapCells[i] = cell;
+        heapCosts[i] = key;
+    }
+
+    private void pop() {
+        int cell = heapCells[--heapSize];
+        int key = heapCosts[heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) child++;
+            if (heapCosts[child] >= key) break;
+            heapCells[i] = heapCells[child];
+            heapCosts[i] = heapCosts[child];
+            i = child;
+        }
+        heapCells[i] = cell;
+        heapCosts[i] = key;
+    }
+
+    // =====================
+    // REQUETES (DEPLACEMENT DES ENNEMIS)
+    // =====================
+
+    /**
+     * @param x position X
+     * @param y position Y
+     * @return cellule contenant la position (cellule de bord si hors de la carte)
+     */
+    public int cellAt(float x, float y) {
+        int col = Math.min(Math.max((int) (x / cellSize), 0), cols - 1);
+        int row = Math.min(Math.max((int) (y / cellSize), 0), rows - 1);
+        return row * cols + col;
+    }
+
+    /**
+     * @param cell cellule
+     * @return cellule suivante vers la base, ou -1 si la base est atteinte ou inaccessible
+     */
+    public int next(int cell) {
+        return next[cell];
+    }
+
+    /**
+     * @param cell cellule
+     * @return coût jusqu’à la base (10 par pas orthogonal), ou
+     *         {@link Integer#MAX_VALUE} si la base est inaccessible
+     */
+    public int costAt(int cell) {
+        return cost[cell];
+    }
+
+    /**
+     * @param cell cellule
+     * @return {@code true} si la cellule fait partie de la base
+     */
+    public boolean isGoal(int cell) {
+        return goal[cell];
+    }
+
+    /**
+     * @param cell cellule
+     * @return {@code true} si la cellule est dans la zone praticable et libre de toute tour
+     */
+    public boolean isPassable(int cell) {
+        return walkable[cell] && blockers[cell] == 0;
+    }
+
+    /**
+     * Indique si un ennemi placé à une position peut rejoindre la base.
+     *
+     * @param x position X
+     * @param y position Y
+     * @return {@code true} si un chemin existe depuis la cellule de la position
+     */
+    public boolean canReachGoal(float x, float y) {
+        int c = cellAt(x, y);
+        if (goal[c]) return true;
+        int n = isPassable(c) ? c : next[c];
+        return n >= 0 && cost[n] != UNREACHABLE;
+    }
+
+    /**
+     * Progression vers la base (priorité de ciblage des tours) :
+     * plus la valeur est grande, plus la cellule est proche de la base.
+     *
+     * @param cell cellule
+     * @return progression en pixels, 0 si la base est inaccessible
+     */
+    public float progressAt(int cell) {
+        int c = isPassable(cell) || next[cell] < 0 ? cell : next[cell];
+        if (cost[c] == UNREACHABLE) return 0f;
+        return (maxCost - cost[c]) * cellSize / ORTHOGONAL;
+    }
+
+    /**
+     * @param cell cellule
+     * @return abscisse du centre de la cellule
+     */
+    public float centerX(int cell) {
+        return (cell % cols + 0.5f) * cellSize;
+    }
+
+    /**
+     * @param cell cellule
+     * @return ordonnée du centre de la cellule
+     */
+    public float centerY(int cell) {
+        return (cell / cols + 0.5f) * cellSize;
+    }
+
+    // =====================
+    // GETTERS
+    // =====================
+
+    /**
+     * @return taille d’une cellule (en pixels monde)
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return nombre de colonnes
+     */
+    public int getColumns() {
+        return cols;
+    }
+
+    /**
+     * @return nombre de lignes
+     */
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.louiscieb.towerdefence.model;
+
+/**
+ * Façon dont les ennemis se dirigent vers la base.
+ */
+public enum Navigation {
+
+    /**
+     * Les ennemis suivent le {@link Path} de la carte depuis son premier point.
+     * Leur mouvement est prévisible : les tours dorment jusqu’à l’arrivée
+     * du premier ennemi et les impacts peuvent être programmés au tir.
+     */
+    PATH,
+
+    /**
+     * Les ennemis apparaissent sur les points d’apparition de la carte et
+     * descendent un {@link FlowField} calculé depuis sa zone praticable.
+     * Les tours bloquent les cellules qu’elles occupent, ce qui permet
+     * de construire des labyrinthes.
+     */
+    FLOW_FIELD
+}
@@ -2,6 +2,7 @@ package io.github.louiscieb.towerdefence.model;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 
 /**
  * Représente un chemin suivi par les ennemis.
@@ -10,8 +11,14 @@ import com.badlogic.gdx.utils.Array;
  * que les ennemis parcourent dans l’ordre.
  * </p>
  * <p>
+ * Il est paramétré par abscisse curviligne : les longueurs cumulées
+ * et les directions unitaires de chaque segment sont précalculées,
+ * de sorte qu’une position sur le chemin se déduit d’une seule
+ * distance parcourue, sans allocation.
+ * </p>
+ * <p>
  * Cette classe fait partie du modèle (MVC) et ne contient
- * aucune logique de rendu ou de déplacement.
+ * aucune logique de rendu.
  * </p>
  */
 public class Path {
@@ -21,15 +28,310 @@ public class Path {
      */
     private final Array<Vector2> points;
 
+    /**
+     * Distance cumulée depuis le début du chemin jusqu’à chaque point.
+     * {@code cumulative[0] == 0} et {@code cumulative[size - 1] == length}.
+     */
+    private final float[] cumulative;
+
+    /** Composante X de la direction unitaire de chaque segment. */
+    private final float[] dirX;
+
+    /** Composante Y de la direction unitaire de chaque segment. */
+    private final float[] dirY;
+
+    /** Longueur totale du chemin. */
+    private final float length;
+
     /**
      * Crée un nouveau chemin à partir d’une liste de points.
      *
      * @param points points 2D formant le chemin
+     * @throws IllegalArgumentException si le chemin contient moins d’un point
      */
     public Path(Array<Vector2> points) {
+        if (points.size == 0)
+            throw new IllegalArgumentException("Path needs at least one point");
+
         this.points = points;
+
+        int segments = Math.max(points.size - 1, 0);
+        this.cumulative = new float[points.size];
+        this.dirX = new float[segments];
+        this.dirY = new float[segments];
+
+        float total = 0f;
+        for (int i = 0; i < segments; i++) {
+            Vector2 a = points.get(i);
+            Vector2 b = points.get(i + 1);
+            float dx = b.x - a.x;
+            float dy = b.y - a.y;
+            float len = (float) Math.sqrt(dx * dx + dy * dy);
+
+            if (len > 0f) {
+                dirX[i] = dx / len;
+                dirY[i] = dy / len;
+            }
+            total += len;
+            cumulative[i + 1] = total;
+        }
+        this.length = total;
+    }
+
+    // =====================
+    // ABSCISSE CURVILIGNE
+    // =====================
+
+    /**
+     * Retourne la longueur totale du chemin.
+     *
+     * @return longueur du chemin
+     */
+    public float length() {
+        return length;
+    }
+
+    /**
+     * Recherche par dichotomie le segment contenant une distance donnée.
+     *
+     * @param distance distance depuis le début du chemin
+     * @return index du segment (entre 0 et {@code size() - 2}), 0 si le chemin n’a qu’un point
+     */
+    public int segmentAt(float distance) {
+        int lo = 0;
+        int hi = dirX.length - 1;
+        if (hi <= 0) return 0;
+
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (cumulative[mid] <= distance) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
     }
 
+    /**
+     * Avance un curseur de segment jusqu’au segment contenant la distance.
+     * <p>
+     * Pour un déplacement monotone, le coût est amorti à O(1) par appel.
+     *
+     * @param distance distance depuis le début du chemin
+     * @param segment  segment courant (curseur)
+     * @return segment contenant la distance
+     */
+    public int advanceSegment(float distance, int segment) {
+        int last = dirX.length - 1;
+        while (segment < last && distance >= cumulative[segment + 1]) segment++;
+        return segment;
+    }
+
+    /**
+     * Calcule la position correspondant à une distance sur un segment donné.
+     * <p>
+     * La distance est bornée à la longueur du chemin : aucun dépassement
+     * de la fin n’est possible, même pour un grand pas de temps.
+     *
+     * @param distance distance depuis le début du chemin
+     * @param segment  segment contenant la distance (voir {@link #segmentAt(float)})
+     * @param out      vecteur recevant la position
+     * @return {@code out}
+     */
+    public Vector2 positionAt(float distance, int segment, Vector2 out) {
+        if (dirX.length == 0) return out.set(points.first());
+
+        if (distance >= length) return out.set(points.peek());
+        if (distance < 0f) distance = 0f;
+
+        Vector2 start = points.get(segment);
+        float along = distance - cumulative[segment];
+        return out.set(start.x + dirX[segment] * along, start.y + dirY[segment] * along);
+    }
+
+    /**
+     * Coordonnée X correspondant à une distance sur un segment donné.
+     * <p>
+     * Variante sans objet de {@link #positionAt(float, int, Vector2)},
+     * destinée aux stockages en tableaux de primitives.
+     *
+     * @param distance distance depuis le début du chemin
+     * @param segment  segment contenant la distance
+     * @return coordonnée X
+     */
+    public float xAt(float distance, int segment) {
+        if (dirX.length == 0) return points.first().x;
+        if (distance >= length) return points.peek().x;
+        if (distance < 0f) distance = 0f;
+        return points.get(segment).x + dirX[segment] * (distance - cumulative[segment]);
+    }
+
+    /**
+     * Coordonnée Y correspondant à une distance sur un segment donné.
+     *
+     * @param distance distance depuis le début du chemin
+     * @param segment  segment contenant la distance
+     * @return coordonnée Y
+     * @see #xAt(float, int)
+     */
+    public float yAt(float distance, int segment) {
+        if (dirY.length == 0) return points.first().y;
+        if (distance >= length) return points.peek().y;
+        if (distance < 0f) distance = 0f;
+        return points.get(segment).y + dirY[segment] * (distance - cumulative[segment]);
+    }
+
+    /**
+     * Calcule la position correspondant à une distance quelconque.
+     *
+     * @param distance distance depuis le début du chemin
+     * @param out      vecteur recevant la position
+     * @return {@code out}
+     */
+    public Vector2 positionAt(float distance, Vector2 out) {
+        return positionAt(distance, segmentAt(distance), out);
+    }
+
+    // =====================
+    // INTERCEPTION
+    // =====================
+
+    /**
+     * Calcule l’instant où un projectile tiré en ligne droite rejoint
+     * un mobile avançant à vitesse constante sur le chemin.
+     * <p>
+     * Sur chaque segment, la rencontre est la racine d’un polynôme
+     * du second degré : le calcul est exact et ne parcourt que les
+     * segments traversés par le mobile pendant le vol.
+     *
+     * @param distance        distance actuelle du mobile sur le chemin
+     * @param segment         segment actuel du mobile
+     * @param speed           vitesse du mobile
+     * @param fromX           position X de tir
+     * @param fromY           position Y de tir
+     * @param projectileSpeed vitesse du projectile
+     * @return durée avant l’impact, ou -1 si le mobile atteint la fin du chemin avant
+     */
+    public float interceptTime(float distance, int segment, float speed,
+                               float fromX, float fromY, float projectileSpeed) {
+        float s2 = projectileSpeed * projectileSpeed;
+        int last = dirX.length - 1;
+
+        // Cible immobile
+        if (last < 0 || speed <= 0f) {
+            float dx = xAt(distance, segment) - fromX;
+            float dy = yAt(distance, segment) - fromY;
+            return (float) Math.sqrt(dx * dx + dy * dy) / projectileSpeed;
+        }
+
+        float elapsed = 0f;
+        float d = distance < 0f ? 0f : distance;
+        int seg = advanceSegment(d, segment);
+
+        while (d < length) {
+            float ax = xAt(d, seg) - fromX;
+            float ay = yAt(d, seg) - fromY;
+            float ux = dirX[seg] * speed;
+            float uy = dirY[seg] * speed;
+            float window = (cumulative[seg + 1] - d) / speed;
+
+            // |A + u·τ|² = s²·(elapsed + τ)²
+            float a = ux * ux + uy * uy - s2;
+            float b = 2f * (ax * ux + ay * uy - s2 * elapsed);
+            float c = ax * ax + ay * ay - s2 * elapsed * elapsed;
+
+            float tau = smallestRoot(a, b, c, window);
+            if (tau >= 0f) return elapsed + tau;
+
+            elapsed += window;
+            d = cumulative[seg + 1];
+            if (seg == last) break;
+            seg++;
+        }
+        return -1f;
+    }
+
+    /**
+     * Calcule les portions du chemin situées dans un cercle.
+     * <p>
+     * Chaque portion est un intervalle {@code [début, fin]} d’abscisse
+     * curviligne ; les intervalles sont triés et disjoints.
+     *
+     * @param cx     centre X du cercle
+     * @param cy     centre Y du cercle
+     * @param radius rayon du cercle
+     * @param out    tableau recevant les bornes (vidé au préalable)
+     * @return {@code out}
+     */
+    public FloatArray coverage(float cx, float cy, float radius, FloatArray out) {
+        out.clear();
+        float r2 = radius * radius;
+
+        if (dirX.length == 0) {
+            float dx = points.first().x - cx;
+            float dy = points.first().y - cy;
+            if (dx * dx + dy * dy <= r2) out.add(0f, 0f);
+            return out;
+        }
+
+        for (int i = 0; i < dirX.length; i++) {
+            float len = cumulative[i + 1] - cumulative[i];
+            if (len <= 0f) continue;
+
+            // |S + dir·s - C|² = r²  avec  s ∈ [0, len]
+            float sx = points.get(i).x - cx;
+            float sy = points.get(i).y - cy;
+            float b = sx * dirX[i] + sy * dirY[i];
+            float c = sx * sx + sy * sy - r2;
+            float disc = b * b - c;
+            if (disc < 0f) continue;
+
+            float sqrt = (float) Math.sqrt(disc);
+            float from = Math.max(-b - sqrt, 0f);
+            float to = Math.min(-b + sqrt, len);
+            if (from > to) continue;
+
+            float start = cumulative[i] + from;
+            float end = cumulative[i] + to;
+            if (out.size > 0 && start <= out.peek()) {
+                out.set(out.size - 1, Math.max(out.peek(), end));
+            } else {
+                out.add(start, end);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Plus petite racine de {@code a·τ² + b·τ + c} dans {@code [0, max]}.
+     *
+     * @return racine trouvée, ou -1
+     */
+    private static float smallestRoot(float a, float b, float c, float max) {
+        if (c <= 0f) return 0f;
+
+        if (Math.abs(a) < 1e-6f) {
+            if (b >= 0f) return -1f;
+            float tau = -c / b;
+            return tau <= max ? tau : -1f;
+        }
+
+        float disc = b * b - 4f * a * c;
+        if (disc < 0f) return -1f;
+
+        float sqrt = (float) Math.sqrt(disc);
+        float r1 = (-b - sqrt) / (2f * a);
+        float r2 = (-b + sqrt) / (2f * a);
+        float lo = Math.min(r1, r2);
+        float hi = Math.max(r1, r2);
+
+        if (lo >= 0f && lo <= max) return lo;
+        if (hi >= 0f && hi <= max) return hi;
+        return -1f;
+    }
+
+    // =====================
+    // POINTS
+    // =====================
+
     /**
      * Retourne le premier point du chemin.
      *
@@ -1,6 +1,11 @@
 package io.github.louiscieb.towerdefence.model;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.Pool;
+
+import java.nio.ByteBuffer;
 
 /**
  * Représente un projectile tiré par une tour vers un ennemi.
@@ -8,35 +13,49 @@ import com.badlogic.gdx.math.Vector2;
  * Le projectile se déplace en ligne droite vers sa cible
  * et inflige des dégâts lorsqu’il l’atteint.
 
+ * <p>
+ * Les projectiles sont recyclés via un {@link Pool}. La cible est
+ * mémorisée avec sa {@linkplain Enemy#getGeneration() génération} :
+ * si l’ennemi est recyclé pendant le vol, le projectile le détecte
+ * et disparaît au lieu de toucher le nouvel occupant de l’instance.
+ * <p>
+ * En mode {@link ProjectileMode#INTERCEPT}, le projectile est
+ * {@linkplain #schedule(float, float, float, float) programmé} : il ne
+ * se déplace plus pendant la simulation. Il est rangé dans une file
+ * de priorité par instant d’impact (d’où l’héritage de
+ * {@link BinaryHeap.Node}) et sa position affichée se déduit du temps.
  * <p>
  * Cette classe appartient au modèle (MVC) et ne contient
  * aucune logique d’affichage.
 
  */
-public class Projectile {
+public class Projectile extends BinaryHeap.Node implements Pool.Poolable {
 
     // =====================
     // PROPRIETES
     // =====================
 
     /** Position actuelle du projectile. */
-    private final Vector2 position;
+    private final Vector2 position = new Vector2();
+
+    /** Position au tick précédent (interpolation côté vue). */
+    private final Vector2 previousPosition = new Vector2();
 
     /** Cible du projectile. */
-    private final Enemy target;
+    private Enemy target;
 
-    /** Dégâts infligés à la cible. */
-    private final float damage;
+    /** Génération de la cible au moment du tir. */
+    private int targetGeneration;
 
-    /** Indique si le projectile vient d’être créé (utile pour le son). */
-    private boolean justCreated = true;
+    /** Dégâts infligés à la cible. */
+    private float damage;
 
     // =====================
     // CONSTANTES
     // =====================
 
     /** Vitesse de déplacement du projectile. */
-    private static final float SPEED = 400f;
+    public static final float SPEED = 400f;
 
     // =====================
     // ETAT
@@ -45,16 +64,65 @@ public class Projectile {
     /** Indique si le projectile a terminé son cycle de vie. */
     private boolean done = false;
 
+    /** Indique qu’un impact a été détecté et attend d’être résolu. */
+    private boolean hit = false;
+
+    /** Indique que les dégâts sont encore réservés auprès de la cible. */
+    private boolean committed = false;
+
+    /**
+     * Indique que le projectile a infligé ses dégâts. Un projectile terminé
+     * est retiré pendant le tick même : cet état n’est jamais sauvegardé.
+     */
+    private boolean landed = false;
+
     /**
      * Temps écoulé depuis la création du projectile.
      * Utilisé pour l’animation côté vue.
      */
     private float animTime = 0f;
 
+    // =====================
+    // IMPACT PROGRAMME
+    // =====================
+
+    /** Indique si l’impact est programmé (mode {@link ProjectileMode#INTERCEPT}). */
+    private boolean scheduled = false;
+
+    /** Instant de simulation du tir. */
+    private float fireTime;
+
+    /** Instant de simulation de l’impact. */
+    private float impactTime;
+
+    /** Point d’impact prévu. */
+    private final Vector2 impactPosition = new Vector2();
+
+    // =====================
+    // SAUVEGARDE
+    // =====================
+
+    /** Taille d’un projectile dans un instantané (voir {@link #write(ByteBuffer, int)}). */
+    public static final int SNAPSHOT_BYTES = 45;
+
+    private static final int FLAG_DONE = 1;
+    private static final int FLAG_HIT = 2;
+    private static final int FLAG_COMMITTED = 4;
+    private static final int FLAG_SCHEDULED = 8;
+
     // =====================
     // CONSTRUCTEUR
     // =====================
 
+    /**
+     * Crée un projectile non initialisé, destiné à un {@link Pool}.
+     * <p>
+     * {@link #init(Vector2, Enemy, float)} doit être appelée avant utilisation.
+     */
+    public Projectile() {
+        super(0f);
+    }
+
     /**
      * Crée un nouveau projectile.
      *
@@ -63,9 +131,83 @@ public class Projectile {
      * @param damage dégâts infligés à l’impact
      */
     public Projectile(Vector2 start, Enemy target, float damage) {
-        this.position = start.cpy();
+        super(0f);
+        init(start, target, damage);
+    }
+
+    /**
+     * Prépare le projectile pour un nouveau tir.
+     *
+     * @param start  position de départ du projectile (recopiée)
+     * @param target ennemi ciblé
+     * @param damage dégâts infligés à l’impact
+     * @return ce projectile
+     */
+    public Projectile init(Vector2 start, Enemy target, float damage) {
+        this.position.set(start);
+        this.previousPosition.set(start);
         this.target = target;
+        this.targetGeneration = target.getGeneration();
         this.damage = damage;
+        this.done = false;
+        this.hit = false;
+        this.landed = false;
+        this.committed = true;
+        target.commitDamage(damage);
+        this.animTime = 0f;
+        this.scheduled = false;
+        return this;
+    }
+
+    /**
+     * Programme l’impact du projectile au lieu de le guider tick par tick.
+     *
+     * @param fireTime   instant de simulation du tir
+     * @param impactTime instant de simulation de l’impact
+     * @param impactX    position X de l’impact
+     * @param impactY    position Y de l’impact
+     * @return ce projectile
+     */
+    public Projectile schedule(float fireTime, float impactTime, float impactX, float impactY) {
+        this.scheduled = true;
+        this.fireTime = fireTime;
+        this.impactTime = impactTime;
+        this.impactPosition.set(impactX, impactY);
+        return this;
+    }
+
+    /**
+     * Libère la référence vers la cible lorsque le projectile
+     * retourne dans son pool.
+     */
+    @Override
+    public void reset() {
+        release();
+        target = null;
+        done = true;
+        scheduled = false;
+    }
+
+    /**
+     * Libère les dégâts réservés auprès de la cible, une seule fois.
+     * Une cible recyclée entre-temps n’est pas modifiée.
+     */
+    private void release() {
+        if (!committed) return;
+
+        committed = false;
+        if (target != null && target.getGeneration() == targetGeneration) target.releaseDamage(damage);
+    }
+
+    /**
+     * Indique si la cible mémorisée est toujours le même ennemi, vivant.
+     *
+     * @return {@code true} si la cible peut encore être touchée
+     */
+    private boolean hasValidTarget() {
+        return target != null
+            && target.getGeneration() == targetGeneration
+            && !target.isDead();
     }
 
     // =====================
@@ -84,48 +226,175 @@ public class Projectile {
 
      *
      * @param delta temps écoulé depuis la dernière frame
+     * @see #advance(float)
+     * @see #resolve()
      */
     public void update(float delta) {
+        advance(delta);
+        resolve();
+    }
+
+    /**
+     * Déplace le projectile vers sa cible et détecte l’impact,
+     * sans modifier la cible.
+     * <p>
+     * Ne modifie que ce projectile : peut être exécutée en parallèle
+     * pour tous les projectiles, les dégâts étant appliqués ensuite
+     * par {@link #resolve()}, dans un ordre déterministe.
+     *
+     * @param delta temps écoulé depuis la dernière frame
+     */
+    public void advance(float delta) {
+        if (scheduled) return;
+
         animTime += delta;
+        previousPosition.set(position);
 
-        if (done || target == null || target.isDead()) {
+        if (done || !hasValidTarget()) {
             done = true;
             return;
         }
 
-        Vector2 dir = target.getPosition().cpy().sub(position);
+        float dx = target.getPosition().x - position.x;
+        float dy = target.getPosition().y - position.y;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy);
 
         // Impact : le projectile est suffisamment proche de la cible
-        if (dir.len() < 8f) {
-            target.takeDamage(damage);
-            done = true;
+        if (dist < 8f) {
+            hit = true;
             return;
         }
 
-        dir.nor();
-        position.mulAdd(dir, SPEED * delta);
+        float step = SPEED * delta / dist;
+        position.add(dx * step, dy * step);
+    }
+
+    /**
+     * Applique les dégâts d’un impact détecté par {@link #advance(float)}.
+     * <p>
+     * La cible peut avoir été tuée par un impact résolu avant celui-ci
+     * pendant le même tick : le projectile disparaît alors sans effet.
+     * Les dégâts réservés sont libérés dès que le projectile touche
+     * ou disparaît.
+     */
+    public void resolve() {
+        if (!hit) {
+            if (done) release();
+            return;
+        }
+
+        hit = false;
+        release();
+        land();
+        done = true;
+    }
+
+    /**
+     * Applique l’impact programmé : la cible subit les dégâts
+     * si elle est toujours le même ennemi, vivant.
+     */
+    public void impact() {
+        release();
+        land();
+        done = true;
+    }
+
+    /** Inflige les dégâts à la cible si elle est toujours le même ennemi, vivant. */
+    private void land() {
+        if (!hasValidTarget()) return;
+        target.takeDamage(damage);
+        landed = true;
+    }
+
+    /**
+     * Indique si le projectile a touché sa cible. Un projectile terminé
+     * qui ne l’a pas touchée est un tir perdu : sa cible a été tuée
+     * ou a atteint la base avant l’impact.
+     *
+     * @return {@code true} si les dégâts ont été infligés
+     */
+    public boolean hasLanded() {
+        return landed;
     }
 
     // =====================
-    // GETTERS (MODELE → VUE)
+    // SAUVEGARDE
     // =====================
 
     /**
-     * Indique si le projectile vient d’être créé.
+     * Indique si la cible mémorisée est toujours le même ennemi,
+     * vivant ou non. Seule une telle cible peut être sauvegardée.
+     *
+     * @return {@code true} si la référence vers la cible est valide
+     */
+    public boolean hasTarget() {
+        return target != null && target.getGeneration() == targetGeneration;
+    }
+
+    /**
+     * Écrit l’état du projectile dans un instantané binaire.
      * <p>
-     * Cette méthode ne retourne {@code true} qu’une seule fois,
-     * puis se désactive automatiquement.
+     * La cible est désignée par son index dans la liste des ennemis
+     * actifs, ou -1 si elle n’est plus valide.
      *
-     * @return {@code true} lors du premier appel uniquement
+     * @param out         tampon recevant {@link #SNAPSHOT_BYTES} octets
+     * @param targetIndex index de la cible, ou -1
      */
-    public boolean consumeJustCreated() {
-        if (justCreated) {
-            justCreated = false;
-            return true;
-        }
-        return false;
+    public void write(ByteBuffer out, int targetIndex) {
+        int flags = 0;
+        if (done) flags |= FLAG_DONE;
+        if (hit) flags |= FLAG_HIT;
+        if (committed && targetIndex >= 0) flags |= FLAG_COMMITTED;
+        if (scheduled) flags |= FLAG_SCHEDULED;
+
+        out.putInt(targetIndex);
+        out.putFloat(damage);
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.putFloat(previousPosition.x);
+        out.putFloat(previousPosition.y);
+        out.putFloat(animTime);
+        out.put((byte) flags);
+        out.putFloat(fireTime);
+        out.putFloat(impactTime);
+        out.putFloat(impactPosition.x);
+        out.putFloat(impactPosition.y);
+    }
+
+    /**
+     * Restaure un projectile écrit par {@link #write(ByteBuffer, int)}.
+     * <p>
+     * Contrairement à {@link #init(Vector2, Enemy, float)}, aucun dégât
+     * n’est réservé : la réserve de la cible est restaurée avec elle.
+     *
+     * @param in     tampon positionné sur le projectile, après l’index de la cible
+     * @param target cible restaurée, ou {@code null}
+     * @return ce projectile
+     */
+    public Projectile read(ByteBuffer in, Enemy target) {
+        this.target = target;
+        this.targetGeneration = target != null ? target.getGeneration() : 0;
+        this.damage = in.getFloat();
+        this.position.set(in.getFloat(), in.getFloat());
+        this.previousPosition.set(in.getFloat(), in.getFloat());
+        this.animTime = in.getFloat();
+
+        int flags = in.get();
+        this.done = (flags & FLAG_DONE) != 0;
+        this.hit = (flags & FLAG_HIT) != 0;
+        this.committed = (flags & FLAG_COMMITTED) != 0;
+        this.scheduled = (flags & FLAG_SCHEDULED) != 0;
+
+        this.fireTime = in.getFloat();
+        this.impactTime = in.getFloat();
+        this.impactPosition.set(in.getFloat(), in.getFloat());
+        return this;
     }
 
+    // =====================
+    // GETTERS (MODELE → VUE)
+    // =====================
+
     /**
      * @return position actuelle du projectile
      */
@@ -133,6 +402,20 @@ public class Projectile {
         return position;
     }
 
+    /**
+     * @return position du projectile au tick précédent
+     */
+    public Vector2 getPreviousPosition() {
+        return previousPosition;
+    }
+
+    /**
+     * @return ennemi ciblé
+     */
+    public Enemy getTarget() {
+        return target;
+    }
+
     /**
      * @return {@code true} si le projectile doit être supprimé
      */
@@ -146,4 +429,51 @@ public class Projectile {
     public float getAnimTime() {
         return animTime;
     }
+
+    /**
+     * @return {@code true} si l’impact est programmé
+     */
+    public boolean isScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * @return instant de simulation du tir programmé
+     */
+    public float getFireTime() {
+        return fireTime;
+    }
+
+    /**
+     * @return instant de simulation de l’impact programmé
+     */
+    public float getImpactTime() {
+        return impactTime;
+    }
+
+    /**
+     * Position d’un projectile programmé à un instant donné.
+     *
+     * @param time instant de simulation (éventuellement interpolé)
+     * @param out  vecteur recevant la position
+     * @return {@code out}
+     */
+    public Vector2 positionAt(float time, Vector2 out) {
+        float duration = impactTime - fireTime;
+        float t = duration > 0f ? MathUtils.clamp((time - fireTime) / duration, 0f, 1f) : 1f;
+        return out.set(
+            MathUtils.lerp(position.x, impactPosition.x, t),
+            MathUtils.lerp(position.y, impactPosition.y, t)
+        );
+    }
+
+    /**
+     * Temps d’animation d’un projectile programmé à un instant donné.
+     *
+     * @param time instant de simulation (éventuellement interpolé)
+     * @return temps écoulé depuis le tir
+     */
+    public float getAnimTime(float time) {
+        return Math.max(time - fireTime, 0f);
+    }
 }
@@ -0,0 +1,21 @@
+package io.github.louiscieb.towerdefence.model;
+
+/**
+ * Façon dont les projectiles atteignent leur cible.
+ */
+public enum ProjectileMode {
+
+    /**
+     * Le projectile se réoriente vers sa cible à chaque tick
+     * et inflige ses dégâts lorsqu’il la rejoint.
+     */
+    HOMING,
+
+    /**
+     * Le point et l’instant d’impact sont calculés au tir à partir
+     * du déplacement prévisible de la cible sur le chemin.
+     * Les dégâts sont un événement programmé ; le vol n’est
+     * plus qu’une interpolation côté vue.
+     */
+    INTERCEPT
+}
@@ -0,0 +1,151 @@
+package io.github.louiscieb.towerdefence.model;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Calendrier précalculé des apparitions d’ennemis.
+ * <p>
+ * Les {@link Wave vagues} d’une carte sont dépliées une fois pour toutes
+ * en une suite de groupes triés par instant d’apparition. Chaque groupe
+ * fait apparaître plusieurs ennemis identiques (même niveau, même instant) :
+ * la simulation n’a qu’à avancer un curseur, pour un coût proportionnel
+ * aux groupes dus et non au nombre de ticks ou d’ennemis.
+ * </p>
+ * <p>
+ * Le calendrier est immuable et peut être partagé entre plusieurs mondes
+ * de jeu ; le curseur appartient à chaque monde.
+ * </p>
+ */
+public class SpawnTimeline {
+
+    /** Instant d’apparition de chaque groupe (temps de simulation). */
+    private final float[] times;
+
+    /** Nombre d’ennemis de chaque groupe. */
+    private final int[] counts;
+
+    /** Niveau des ennemis de chaque groupe. */
+    private final int[] levels;
+
+    /** Index de la vague de chaque groupe. */
+    private final int[] waves;
+
+    /** Nombre d’ennemis de chaque vague. */
+    private final int[] waveSizes;
+
+    /** Niveau le plus élevé du calendrier. */
+    private final int maxLevel;
+
+    /**
+     * Déplie une liste de vagues en calendrier.
+     *
+     * @param definitions vagues, dans l’ordre
+     */
+    public SpawnTimeline(Array<Wave> definitions) {
+        int groups = 0;
+        for (Wave wave : definitions) {
+            groups += (wave.getCount() + wave.getBurst() - 1) / wave.getBurst();
+        }
+
+        times = new float[groups];
+        counts = new int[groups];
+        levels = new int[groups];
+        waves = new int[groups];
+        waveSizes = new int[definitions.size];
+
+        // Cumul en double : aucune dérive sur une longue partie
+        double time = 0.0;
+        int group = 0;
+        int max = 0;
+
+        for (int w = 0; w < definitions.size; w++) {
+            Wave wave = definitions.get(w);
+            waveSizes[w] = wave.getCount();
+            max = Math.max(max, wave.getLevel());
+            time += wave.getDelay();
+
+            int remaining = wave.getCount();
+            while (remaining > 0) {
+                int n = Math.min(wave.getBurst(), remaining);
+                times[group] = (float) time;
+                counts[group] = n;
+                levels[group] = wave.getLevel();
+                waves[group] = w;
+                group++;
+
+                remaining -= n;
+                if (remaining > 0) time += wave.getSpacing();
+            }
+        }
+        maxLevel = max;
+    }
+
+    // =====================
+    // GROUPES
+    // =====================
+
+    /**
+     * @return nombre de groupes du calendrier
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * @param group index du groupe
+     * @return instant d’apparition du groupe
+     */
+    public float getTime(int group) {
+        return times[group];
+    }
+
+    /**
+     * @param group index du groupe
+     * @return nombre d’ennemis du groupe
+     */
+    public int getCount(int group) {
+        return counts[group];
+    }
+
+    /**
+     * @param group index du groupe
+     * @return niveau des ennemis du groupe
+     */
+    public int getLevel(int group) {
+        return levels[group];
+    }
+
+    /**
+     * @param group index du groupe
+     * @return index de la vague contenant le groupe
+     */
+    public int getWave(int group) {
+        return waves[group];
+    }
+
+    // =====================
+    // VAGUES
+    // =====================
+
+    /**
+     * @return nombre de vagues
+     */
+    public int getWaveCount() {
+        return waveSizes.length;
+    }
+
+    /**
+     * @param wave index de la vague
+     * @return nombre d’ennemis de la vague
+     */
+    public int getWaveSize(int wave) {
+        return waveSizes[wave];
+    }
+
+    /**
+     * @return niveau le plus élevé du calendrier
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+}
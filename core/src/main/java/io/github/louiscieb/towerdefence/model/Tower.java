@@ -2,6 +2,11 @@ package io.github.louiscieb.towerdefence.model;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.Pool;
+
+import java.nio.ByteBuffer;
 
 /**
  * Représente une tour de défense.
@@ -11,11 +16,20 @@ import com.badlogic.gdx.utils.Array;
  * d’augmenter son efficacité.
  * </p>
  * <p>
+ * Une tour n’est pas mise à jour à chaque tick : elle est rangée dans
+ * une file de priorité (d’où l’héritage de {@link BinaryHeap.Node})
+ * selon l’instant où elle doit agir. Cet instant est soit la fin de
+ * son rechargement, soit l’arrivée prévue du premier ennemi sur la
+ * portion du chemin qu’elle couvre. Lorsque les ennemis ne suivent pas
+ * de chemin ({@link Navigation#FLOW_FIELD}), leur arrivée n’est pas
+ * prévisible : une tour sans cible se réveille au tick suivant.
+ * </p>
+ * <p>
  * Cette classe fait partie du modèle (MVC) et ne contient
  * aucune logique d’affichage.
  * </p>
  */
-public class Tower {
+public class Tower extends BinaryHeap.Node {
 
     // =====================
     // PROPRIETES
@@ -24,14 +38,29 @@ public class Tower {
     /** Position de la tour dans le monde. */
     private final Vector2 position;
 
-    /** Temps restant avant le prochain tir. */
-    private float cooldown = 0f;
+    /** Instant de simulation à partir duquel la tour peut tirer. */
+    private float readyTime = 0f;
+
+    /** Instant de simulation de la construction (animations côté vue). */
+    private float builtTime = 0f;
+
+    /** Indique si la tour, rechargée, attend qu’un ennemi entre à portée. */
+    private boolean waiting = false;
 
     /**
-     * Temps écoulé pour les animations.
-     * Utilisé côté vue.
+     * Portions du chemin couvertes par la portée de la tour,
+     * par paires {@code [début, fin]} d’abscisse curviligne.
      */
-    private float animTime = 0f;
+    private final FloatArray coverage = new FloatArray();
+
+    /** Indique si les ennemis suivent un chemin, et donc si {@link #coverage} est utilisable. */
+    private boolean predictable = true;
+
+    /** Cible retenue lors de la dernière planification. */
+    private Enemy plannedTarget;
+
+    /** Instant de réveil calculé lors de la dernière planification (sans cible). */
+    private float plannedWake;
 
     // =====================
     // SYSTEME D’AMELIORATION
@@ -52,6 +81,13 @@ public class Tower {
     /** Temps entre deux tirs (en secondes). */
     private float fireRate = 1f;
 
+    // =====================
+    // SAUVEGARDE
+    // =====================
+
+    /** Taille d’une tour dans un instantané (voir {@link #write(ByteBuffer)}). */
+    public static final int SNAPSHOT_BYTES = 37;
+
     // =====================
     // CONSTRUCTEUR
     // =====================
@@ -63,39 +99,127 @@ public class Tower {
      * @param y position Y
      */
     public Tower(float x, float y) {
+        super(0f);
         this.position = new Vector2(x, y);
     }
 
     // =====================
-    // MISE A JOUR
+    // PLANIFICATION
     // =====================
 
     /**
-     * Met à jour l’état de la tour.
+     * Met la tour en service.
+     *
+     * @param path chemin suivi par les ennemis, ou {@code null} s’ils n’en suivent pas
+     * @param time instant de simulation de la construction
+     */
+    public void activate(Path path, float time) {
+        builtTime = time;
+        readyTime = time;
+        waiting = false;
+        updateCoverage(path);
+    }
+
+    /**
+     * Recalcule les portions du chemin couvertes par la portée.
+     *
+     * @param path chemin suivi par les ennemis, ou {@code null} s’ils n’en suivent pas
+     */
+    public void updateCoverage(Path path) {
+        predictable = path != null;
+        if (predictable) path.coverage(position.x, position.y, range, coverage);
+        else coverage.clear();
+    }
+
+    /**
+     * Tire sur une cible à un instant donné (éventuellement au milieu d’un tick).
+     *
+     * @param target         ennemi ciblé
+     * @param projectilePool pool fournissant le projectile
+     * @param time           instant de simulation du tir
+     * @return projectile tiré
+     */
+    public Projectile fire(Enemy target, Pool<Projectile> projectilePool, float time) {
+        waiting = false;
+        readyTime = time + fireRate;
+        return projectilePool.obtain().init(position, target, damage);
+    }
+
+    /**
+     * Prépare l’action de la tour pour ce tick : choisit sa cible
+     * ou, à défaut, calcule l’instant de son réveil.
      * <p>
-     * Gère :
-     * <ul>
-     *     <li>Le cooldown de tir</li>
-     *     <li>La recherche de cible</li>
-     *     <li>Le tir de projectiles</li>
-     * </ul>
+     * Ne lit que l’état des ennemis et ne modifie que cette tour :
+     * peut être exécutée en parallèle pour toutes les tours dues.
+     *
+     * @param grid    index spatial des ennemis
+     * @param enemies ennemis actifs
+     * @param time    instant de simulation courant
+     */
+    public void plan(EnemyGrid grid, Array<Enemy> enemies, float time) {
+        plannedTarget = findTarget(grid);
+        plannedWake = plannedTarget == null ? waitForTarget(enemies, time) : time;
+    }
+
+    /**
+     * Récupère la cible retenue par {@link #plan(EnemyGrid, Array, float)}.
+     *
+     * @return cible, ou {@code null} si aucun ennemi n’était à portée
+     */
+    public Enemy takePlannedTarget() {
+        Enemy target = plannedTarget;
+        plannedTarget = null;
+        return target;
+    }
+
+    /**
+     * @return instant de réveil calculé par la dernière planification sans cible
+     */
+    public float getPlannedWake() {
+        return plannedWake;
+    }
+
+    /**
+     * Met la tour en attente faute de cible à portée.
+     * <p>
+     * Le mouvement des ennemis sur le chemin étant prévisible, l’instant
+     * où le premier d’entre eux entrera dans une portion couverte se
+     * calcule directement.
      *
+     * @param enemies ennemis actifs
+     * @param time    instant de simulation courant
+     * @return instant de réveil, ou {@link Float#POSITIVE_INFINITY} si aucun ennemi n’approche
+     */
+    public float waitForTarget(Array<Enemy> enemies, float time) {
+        waiting = true;
+        float wake = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < enemies.size && wake > time; i++) {
+            wake = Math.min(wake, entryTime(enemies.get(i), time));
+        }
+        return wake;
+    }
+
+    /**
+     * Instant où un ennemi entrera dans la prochaine portion couverte.
      *
-     * @param delta       temps écoulé depuis la dernière frame
-     * @param enemies     liste des ennemis actifs
-     * @param projectiles liste des projectiles à alimenter
-     */
-    public void update(float delta, Array<Enemy> enemies, Array<Projectile> projectiles) {
-        animTime += delta;
-        cooldown -= delta;
-
-        if (cooldown <= 0f) {
-            Enemy target = findTarget(enemies);
-            if (target != null) {
-                projectiles.add(new Projectile(position, target, damage));
-                cooldown = fireRate;
-            }
+     * @param e    ennemi
+     * @param time instant de simulation courant
+     * @return instant d’entrée, {@code time} s’il est déjà dans une portion couverte
+     *         ou que son mouvement n’est pas prévisible,
+     *         ou {@link Float#POSITIVE_INFINITY} s’il n’y entrera plus
+     *         ou que sa mort est déjà assurée
+     */
+    public float entryTime(Enemy e, float time) {
+        if (e.isDoomed() || e.getSpeed() <= 0f) return Float.POSITIVE_INFINITY;
+        if (!predictable) return time;
+
+        float progress = e.getProgress();
+        for (int i = 0; i < coverage.size; i += 2) {
+            if (progress > coverage.get(i + 1)) continue;
+            if (progress >= coverage.get(i)) return time;
+            return time + (coverage.get(i) - progress) / e.getSpeed();
         }
+        return Float.POSITIVE_INFINITY;
     }
 
     // =====================
@@ -106,27 +230,15 @@ public class Tower {
      * Recherche la meilleure cible parmi les ennemis à portée.
      * <p>
      * La priorité est donnée à l’ennemi le plus avancé
-     * sur le chemin vers la base.
+     * sur le chemin vers la base. Seules les cellules de la grille
+     * recouvrant la portée de la tour sont visitées.
      *
      *
-     * @param enemies liste des ennemis
+     * @param enemies index spatial des ennemis
      * @return ennemi ciblé ou {@code null} si aucun n’est à portée
      */
-    private Enemy findTarget(Array<Enemy> enemies) {
-        Enemy best = null;
-        float bestProgress = -1;
-
-        for (Enemy e : enemies) {
-            if (e.isDead()) continue;
-
-            if (position.dst(e.getPosition()) <= range) {
-                if (e.getTargetIndex() > bestProgress) {
-                    best = e;
-                    bestProgress = e.getTargetIndex();
-                }
-            }
-        }
-        return best;
+    public Enemy findTarget(EnemyGrid enemies) {
+        return enemies.findMostAdvanced(position.x, position.y, range);
     }
 
     // =====================
@@ -163,6 +275,53 @@ public class Tower {
         upgradeCost = (int) (upgradeCost * 1.8f);
     }
 
+    // =====================
+    // SAUVEGARDE
+    // =====================
+
+    /**
+     * Écrit l’état de la tour dans un instantané binaire.
+     * <p>
+     * La place de la tour dans la file de priorité appartient au
+     * monde de jeu, qui l’écrit séparément ; les portions couvertes
+     * se recalculent à partir du chemin.
+     *
+     * @param out tampon recevant {@link #SNAPSHOT_BYTES} octets
+     */
+    public void write(ByteBuffer out) {
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.putInt(level);
+        out.putInt(upgradeCost);
+        out.putFloat(damage);
+        out.putFloat(range);
+        out.putFloat(fireRate);
+        out.putFloat(readyTime);
+        out.putFloat(builtTime);
+        out.put((byte) (waiting ? 1 : 0));
+    }
+
+    /**
+     * Recrée une tour écrite par {@link #write(ByteBuffer)}.
+     *
+     * @param in   tampon positionné sur la tour
+     * @param path chemin suivi par les ennemis, ou {@code null} s’ils n’en suivent pas
+     * @return tour restaurée
+     */
+    public static Tower read(ByteBuffer in, Path path) {
+        Tower tower = new Tower(in.getFloat(), in.getFloat());
+        tower.level = in.getInt();
+        tower.upgradeCost = in.getInt();
+        tower.damage = in.getFloat();
+        tower.range = in.getFloat();
+        tower.fireRate = in.getFloat();
+        tower.readyTime = in.getFloat();
+        tower.builtTime = in.getFloat();
+        tower.waiting = in.get() != 0;
+        tower.updateCoverage(path);
+        return tower;
+    }
+
     // =====================
     // GETTERS (MODELE → VUE / CONTROLEUR)
     // =====================
@@ -189,9 +348,24 @@ public class Tower {
     }
 
     /**
+     * @return instant à partir duquel la tour peut tirer
+     */
+    public float getReadyTime() {
+        return readyTime;
+    }
+
+    /**
+     * @return {@code true} si la tour, rechargée, attend une cible
+     */
+    public boolean isWaiting() {
+        return waiting;
+    }
+
+    /**
+     * @param time instant de simulation (éventuellement interpolé)
      * @return temps écoulé pour l’animation
      */
-    public float getAnimTime() {
-        return animTime;
+    public float getAnimTime(float time) {
+        return Math.max(time - builtTime, 0f);
     }
 }
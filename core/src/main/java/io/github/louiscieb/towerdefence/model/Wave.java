@@ -0,0 +1,101 @@
+package io.github.louiscieb.towerdefence.model;
+
+/**
+ * Définition d’une vague d’ennemis.
+ * <p>
+ * Une vague fait apparaître {@code count} ennemis d’un même niveau,
+ * par groupes de {@code burst} ennemis simultanés espacés de
+ * {@code spacing} secondes. Le premier groupe apparaît {@code delay}
+ * secondes après le dernier groupe de la vague précédente
+ * (ou après le début de la partie).
+ * </p>
+ * <p>
+ * Cette classe fait partie du modèle (MVC) et ne contient
+ * aucune logique de rendu.
+ * </p>
+ */
+public class Wave {
+
+    /** Nombre total d’ennemis de la vague. */
+    private final int count;
+
+    /** Niveau des ennemis de la vague. */
+    private final int level;
+
+    /** Temps entre deux groupes (en secondes). */
+    private final float spacing;
+
+    /** Nombre d’ennemis apparaissant ensemble. */
+    private final int burst;
+
+    /** Temps avant le premier groupe (en secondes). */
+    private final float delay;
+
+    /**
+     * Crée une définition de vague.
+     *
+     * @param count   nombre total d’ennemis
+     * @param level   niveau des ennemis
+     * @param spacing temps entre deux groupes (en secondes)
+     * @param burst   nombre d’ennemis apparaissant ensemble
+     * @param delay   temps avant le premier groupe (en secondes)
+     * @throws IllegalArgumentException si un paramètre est hors limites
+     */
+    public Wave(int count, int level, float spacing, int burst, float delay) {
+        if (count <= 0)
+            throw new IllegalArgumentException("count must be > 0");
+        if (level < 0)
+            throw new IllegalArgumentException("level must be >= 0");
+        if (!(spacing >= 0f))
+            throw new IllegalArgumentException("spacing must be >= 0");
+        if (burst <= 0)
+            throw new IllegalArgumentException("burst must be > 0");
+        if (!(delay >= 0f))
+            throw new IllegalArgumentException("delay must be >= 0");
+
+        this.count = count;
+        this.level = level;
+        this.spacing = spacing;
+        this.burst = burst;
+        this.delay = delay;
+    }
+
+    // =====================
+    // GETTERS
+    // =====================
+
+    /**
+     * @return nombre total d’ennemis
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return niveau des ennemis
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return temps entre deux groupes (en secondes)
+     */
+    public float getSpacing() {
+        return spacing;
+    }
+
+    /**
+     * @return nombre d’ennemis apparaissant ensemble
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return temps avant le premier groupe (en secondes)
+     */
+    public float getDelay() {
+        return delay;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickPhase;
+import io.github.louiscieb.towerdefence.model.GameState;
+
+/**
+ * Vérification headless du budget d’allocation de la simulation.
+ * <p>
+ * Joue une {@linkplain ScriptedGame partie scriptée} (une tour par zone, améliorations régulières)
+ * sans fenêtre ni audio, laisse la JVM et les pools atteindre leur régime
+ * établi, puis mesure chaque tick avec un {@link AllocationTracker}.
+ * Tout tick qui alloue fait échouer la vérification (code de sortie 1)
+ * en indiquant la phase responsable. Les ticks mesurés suivent le même
+ * script que la chauffe, améliorations comprises.
+ * </p>
+ * <p>
+ * Les ticks où une nouvelle vague commence sont ignorés : les pools y sont
+ * volontairement complétés. La vérification échoue aussi si la partie
+ * s’arrête avant d’avoir mesuré {@link #MIN_MEASURED_TICKS} ticks.
+ * </p>
+ * <p>
+ * Usage : {@code AllocationBudgetCheck [fichier.tmx]} (par défaut {@code maps/map.tmx},
+ * relatif au dossier {@code assets}).
+ * </p>
+ */
+public final class AllocationBudgetCheck {
+
+    /** Ticks joués avant la mesure (JIT, pools et tableaux à leur taille finale). */
+    private static final int WARMUP_TICKS = 90 * 60;
+
+    /** Ticks mesurés. */
+    private static final int MEASURED_TICKS = 60 * 60;
+
+    /** Ticks mesurés en deçà desquels la vérification ne prouve rien. */
+    private static final int MIN_MEASURED_TICKS = MEASURED_TICKS / 2;
+
+    /** Nombre maximum de ticks fautifs détaillés dans le rapport. */
+    private static final int MAX_REPORTED = 10;
+
+    private AllocationBudgetCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (!AllocationTracker.isSupported()) {
+            System.out.println("Allocation budget check skipped: no per-thread allocation counters on this JVM");
+            return;
+        }
+
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        MapData data = MapData.load(new FileHandle(mapFile));
+        GameWorld world = ScriptedGame.create(data);
+
+        // ===== CHAUFFE =====
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            ScriptedGame.step(world, i);
+        }
+
+        // ===== MESURE =====
+        AllocationTracker tracker = new AllocationTracker();
+        world.setTickProbe(tracker);
+
+        int measured = 0;
+        int failures = 0;
+        long worstBytes = 0;
+
+        for (int i = 0; i < MEASURED_TICKS && world.getState() == GameState.RUNNING; i++) {
+            int wave = world.getWave();
+            ScriptedGame.step(world, WARMUP_TICKS + i);
+            if (world.getWave() != wave) continue;
+
+            measured++;
+            long bytes = tracker.getLastTickBytes();
+            if (bytes == 0) continue;
+
+            failures++;
+            worstBytes = Math.max(worstBytes, bytes);
+            if (failures <= MAX_REPORTED) {
+                TickPhase phase = tracker.getWorstPhase();
+                System.err.println("Tick " + (WARMUP_TICKS + i) + " allocated " + bytes
+                    + " bytes (" + phase + ": " + tracker.getPhaseBytes(phase) + " bytes)");
+            }
+        }
+
+        world.setTickProbe(null);
+
+        if (measured < MIN_MEASURED_TICKS) {
+            System.err.println("Allocation budget not verified: only " + measured + " steady-state ticks measured"
+                + " (at least " + MIN_MEASURED_TICKS + " required, game " + world.getState() + " at tick "
+                + world.getTick() + ")");
+            System.exit(1);
+        }
+
+        if (failures > 0) {
+            System.err.println("Allocation budget exceeded: " + failures + "/" + measured
+                + " steady-state ticks allocated (worst " + worstBytes + " bytes)");
+            System.exit(1);
+        }
+
+        System.out.println("Allocation budget respected: " + measured + " steady-state ticks, 0 bytes allocated");
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import io.github.louiscieb.towerdefence.controller.TickPhase;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mesure les octets alloués par le thread de jeu, tick par tick et phase par phase.
+ * <p>
+ * S’appuie sur {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes},
+ * disponible sur HotSpot et OpenJ9. Le coût propre d’une lecture du compteur
+ * (qui peut allouer un petit tableau selon la version du JDK) est mesuré
+ * au démarrage et soustrait de chaque mesure.
+ * </p>
+ * <p>
+ * Installé sur un {@link io.github.louiscieb.towerdefence.controller.GameWorld}
+ * via {@code setTickProbe}, il permet de vérifier qu’un tick en régime établi
+ * n’alloue rien, et d’indiquer la phase fautive dans le cas contraire.
+ * Il mesure aussi des frames complètes avec {@link #beginFrame()} / {@link #endFrame()}.
+ * </p>
+ */
+public class AllocationTracker implements TickProbe {
+
+    /** Phases d’un tick, dans l’ordre. */
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    /** Nombre de mesures utilisées pour calibrer le coût d’une lecture. */
+    private static final int CALIBRATION_ROUNDS = 32;
+
+    /** Accès au compteur d’allocations par thread. */
+    private final com.sun.management.ThreadMXBean threads;
+
+    /** Identifiant du thread mesuré (celui qui a créé le tracker). */
+    private final long threadId;
+
+    /** Octets alloués par une lecture du compteur elle-même. */
+    private final long readOverhead;
+
+    // =====================
+    // MESURES
+    // =====================
+
+    /** Compteur lors de la dernière borne de phase. */
+    private long mark;
+
+    /** Octets alloués par phase lors du dernier tick. */
+    private final long[] phaseBytes = new long[PHASES.length];
+
+    /** Octets alloués lors du dernier tick complet. */
+    private long lastTickBytes;
+
+    /** Compteur au début de la frame courante. */
+    private long frameStart;
+
+    /** Octets alloués lors de la dernière frame complète. */
+    private long lastFrameBytes;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Crée un tracker pour le thread courant.
+     *
+     * @throws UnsupportedOperationException si la JVM ne fournit pas la mesure
+     */
+    public AllocationTracker() {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Thread allocation counters are not available on this JVM");
+
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threadId = Thread.currentThread().getId();
+        readOverhead = calibrate();
+    }
+
+    /**
+     * @return {@code true} si la JVM courante peut mesurer les allocations par thread
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Mesure le nombre d’octets alloués par une lecture du compteur.
+     *
+     * @return coût minimal observé d’une lecture
+     */
+    private long calibrate() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long a = read();
+            long b = read();
+            best = Math.min(best, b - a);
+        }
+        return Math.max(best, 0L);
+    }
+
+    /** @return octets alloués par le thread mesuré depuis son démarrage */
+    private long read() {
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Octets alloués depuis une borne, coût de la lecture déduit.
+     *
+     * @param since valeur du compteur à la borne
+     * @param now   valeur actuelle du compteur
+     * @return octets alloués entre les deux
+     */
+    private long since(long since, long now) {
+        return Math.max(now - since - readOverhead, 0L);
+    }
+
+    // =====================
+    // TICKS
+    // =====================
+
+    @Override
+    public void beginTick() {
+        mark = read();
+    }
+
+    @Override
+    public void endPhase(TickPhase phase) {
+        long now = read();
+        phaseBytes[phase.ordinal()] = since(mark, now);
+        mark = now;
+    }
+
+    @Override
+    public void endTick() {
+        long total = 0;
+        for (long bytes : phaseBytes) total += bytes;
+        lastTickBytes = total;
+    }
+
+    /**
+     * @return octets alloués lors du dernier tick
+     */
+    public long getLastTickBytes() {
+        return lastTickBytes;
+    }
+
+    /**
+     * @param phase phase du tick
+     * @return octets alloués par cette phase lors du dernier tick
+     */
+    public long getPhaseBytes(TickPhase phase) {
+        return phaseBytes[phase.ordinal()];
+    }
+
+    /**
+     * @return phase ayant le plus alloué lors du dernier tick
+     */
+    public TickPhase getWorstPhase() {
+        TickPhase worst = PHASES[0];
+        for (TickPhase phase : PHASES) {
+            if (phaseBytes[phase.ordinal()] > phaseBytes[worst.ordinal()]) worst = phase;
+        }
+        return worst;
+    }
+
+    // =====================
+    // FRAMES
+    // =====================
+
+    /**
+     * Début d’une frame de rendu.
+     */
+    public void beginFrame() {
+        frameStart = read();
+    }
+
+    /**
+     * Fin d’une frame de rendu.
+     *
+     * @return octets alloués pendant la frame (ticks compris)
+     */
+    public long endFrame() {
+        lastFrameBytes = since(frameStart, read());
+        return lastFrameBytes;
+    }
+
+    /**
+     * @return octets alloués lors de la dernière frame
+     */
+    public long getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+}
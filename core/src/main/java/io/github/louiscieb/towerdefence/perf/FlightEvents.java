@@ -0,0 +1,95 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.TickProbe;
+
+/**
+ * Événements Java Flight Recorder du jeu : phases du tick, apparitions
+ * de vagues, passes de rendu et chargements d’assets.
+ * <p>
+ * Les types d’événements ({@code jdk.jfr.Event}) sont compilés à part,
+ * pour Java 11, dans le source set {@code jfr} du module {@code core},
+ * et ne sont chargés que par réflexion, au premier appel de {@link #get()} :
+ * le reste du jeu reste du bytecode Java 8 et ne référence jamais
+ * {@code jdk.jfr}. Sur une JVM sans JFR, {@link #get()} renvoie
+ * {@link #NONE}, dont les méthodes vides ne coûtent rien.
+ * </p>
+ * <p>
+ * Chaque type d’événement a un seuil : seules les occurrences lentes
+ * sont enregistrées. Un événement n’est créé que si son type est activé
+ * dans un enregistrement en cours ; sinon un appel se réduit à un test.
+ * Les passes de rendu et les chargements ne s’imbriquent pas et
+ * sont appelés depuis le thread de rendu.
+ * </p>
+ */
+public interface FlightEvents {
+
+    /** Événements désactivés. */
+    FlightEvents NONE = new FlightEvents() {
+        @Override
+        public TickProbe tickProbe(GameWorld world) {
+            return TickProbe.NONE;
+        }
+
+        @Override
+        public void beginRenderPass() {
+        }
+
+        @Override
+        public void endRenderPass(String pass, int enemies, int towers, int projectiles) {
+        }
+
+        @Override
+        public void beginAssetLoad() {
+        }
+
+        @Override
+        public void endAssetLoad(String asset) {
+        }
+    };
+
+    /**
+     * Retourne les événements JFR si la JVM les supporte, sinon {@link #NONE}.
+     *
+     * @return instance partagée, chargée au premier appel
+     */
+    static FlightEvents get() {
+        return FlightEventsLoader.INSTANCE;
+    }
+
+    /**
+     * Crée la sonde qui émet un événement par phase de tick lente et par
+     * apparition d’ennemis lente, avec les effectifs du monde.
+     *
+     * @param world monde instrumenté
+     * @return sonde à installer sur le monde, {@link TickProbe#NONE} sans JFR
+     */
+    TickProbe tickProbe(GameWorld world);
+
+    /**
+     * Début d’une passe de rendu.
+     */
+    void beginRenderPass();
+
+    /**
+     * Fin de la passe de rendu commencée par {@link #beginRenderPass()}.
+     *
+     * @param pass        nom de la passe ({@code map}, {@code entities}, {@code hud}…)
+     * @param enemies     nombre d’ennemis affichés
+     * @param towers      nombre de tours affichées
+     * @param projectiles nombre de projectiles affichés
+     */
+    void endRenderPass(String pass, int enemies, int towers, int projectiles);
+
+    /**
+     * Début du chargement d’un asset.
+     */
+    void beginAssetLoad();
+
+    /**
+     * Fin du chargement commencé par {@link #beginAssetLoad()}.
+     *
+     * @param asset chemin de l’asset chargé
+     */
+    void endAssetLoad(String asset);
+}
@@ -0,0 +1,33 @@
+package io.github.louiscieb.towerdefence.perf;
+
+/**
+ * Chargement différé de l’implémentation JFR de {@link FlightEvents}.
+ * <p>
+ * La classe n’est initialisée qu’au premier appel de {@link FlightEvents#get()}.
+ * Toute erreur de chargement (classes absentes, JVM trop ancienne pour
+ * leur bytecode, JFR indisponible) désactive simplement les événements.
+ * </p>
+ */
+final class FlightEventsLoader {
+
+    /** Implémentation compilée dans le source set {@code jfr}. */
+    private static final String IMPLEMENTATION = "io.github.louiscieb.towerdefence.jfr.JfrFlightEvents";
+
+    /** Propriété système désactivant les événements ({@code -Dtd.jfr=false}). */
+    private static final String ENABLED_PROPERTY = "td.jfr";
+
+    static final FlightEvents INSTANCE = load();
+
+    private FlightEventsLoader() {
+    }
+
+    private static FlightEvents load() {
+        if ("false".equals(System.getProperty(ENABLED_PROPERTY))) return FlightEvents.NONE;
+
+        try {
+            return (FlightEvents) Class.forName(IMPLEMENTATION).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return FlightEvents.NONE;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.model.FlowField;
+import io.github.louiscieb.towerdefence.model.Path;
+
+import java.util.Random;
+
+/**
+ * Vérifie que les mises à jour incrémentales du {@link FlowField}
+ * aboutissent au même champ qu’un calcul complet.
+ * <p>
+ * Des suites aléatoires (mais reproductibles) de
+ * {@link FlowField#block(float, float, float, float) blocages} et de
+ * {@link FlowField#unblock(float, float, float, float) libérations} sont
+ * appliquées au champ de la carte. Les emprises sont posées surtout sur la
+ * route, parfois n’importe où sur la carte, et se chevauchent ou s’empilent.
+ * Après chaque opération, un second champ portant les mêmes blocages est
+ * entièrement {@linkplain FlowField#rebuild() recalculé} : le coût, la
+ * cellule suivante et la {@linkplain FlowField#progressAt(int) progression}
+ * de chaque cellule doivent être identiques.
+ * </p>
+ * <p>
+ * La vérification échoue (code de sortie 1) à la première différence.
+ * </p>
+ * <p>
+ * Usage : {@code FlowFieldConsistencyCheck [fichier.tmx]} (par défaut {@code maps/map.tmx},
+ * relatif au dossier {@code assets}).
+ * </p>
+ */
+public final class FlowFieldConsistencyCheck {
+
+    /** Nombre de suites d’opérations (une graine chacune). */
+    private static final int SEQUENCES = 20;
+
+    /** Opérations par suite. */
+    private static final int OPERATIONS = 300;
+
+    /** Nombre maximum de blocages simultanés. */
+    private static final int MAX_BLOCKS = 40;
+
+    /** Côté de l’emprise d’une tour (voir {@code GameWorld}). */
+    private static final float FOOTPRINT = 48f;
+
+    /** Probabilité de poser une emprise sur la route plutôt qu’au hasard. */
+    private static final float ON_ROUTE = 0.75f;
+
+    private FlowFieldConsistencyCheck() {
+    }
+
+    public static void main(String[] args) {
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        MapData data = MapData.load(new FileHandle(mapFile));
+
+        if (data.createFlowField() == null) {
+            System.err.println("Map " + mapFile + " has no collision layer");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        int blocks = 0;
+        int unblocks = 0;
+
+        for (int sequence = 0; sequence < SEQUENCES; sequence++) {
+            Random random = new Random(sequence);
+            FlowField field = data.createFlowField();
+            FlowField reference = data.createFlowField();
+            // x, y, largeur, hauteur de chaque blocage en cours
+            FloatArray active = new FloatArray();
+
+            for (int op = 0; op < OPERATIONS; op++) {
+                int count = active.size / 4;
+                boolean block = count == 0 || (count < MAX_BLOCKS && random.nextBoolean());
+
+                if (block) {
+                    if (count > 0 && random.nextInt(8) == 0) {
+                        // Empilement sur une emprise existante
+                        int i = random.nextInt(count) * 4;
+                        active.add(active.get(i), active.get(i + 1), active.get(i + 2), active.get(i + 3));
+                    } else {
+                        addRandomBlock(data, random, active);
+                    }
+                    int i = active.size - 4;
+                    field.block(active.get(i), active.get(i + 1), active.get(i + 2), active.get(i + 3));
+                    reference.block(active.get(i), active.get(i + 1), active.get(i + 2), active.get(i + 3));
+                    blocks++;
+                } else {
+                    int i = random.nextInt(count) * 4;
+                    field.unblock(active.get(i), active.get(i + 1), active.get(i + 2), active.get(i + 3));
+                    reference.unblock(active.get(i), active.get(i + 1), active.get(i + 2), active.get(i + 3));
+                    active.removeRange(i, i + 3);
+                    unblocks++;
+                }
+
+                reference.rebuild();
+                int cell = firstDifference(field, reference);
+                if (cell >= 0) {
+                    System.err.println("Sequence " + sequence + ", operation " + op + " ("
+                        + (block ? "block" : "unblock") + ", " + count + " blocks before): cell " + cell
+                        + " (" + cell % field.getColumns() + ", " + cell / field.getColumns() + ") has cost "
+                        + field.costAt(cell) + " -> " + field.next(cell) + ", full build gives "
+                        + reference.costAt(cell) + " -> " + reference.next(cell) + " (progress "
+                        + field.progressAt(cell) + ", full build gives " + reference.progressAt(cell) + ")");
+                    System.exit(1);
+                }
+            }
+        }
+
+        System.out.println("Flow field matched a full build after " + blocks + " blocks and " + unblocks
+            + " unblocks (" + SEQUENCES + " sequences) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Ajoute une emprise aléatoire : carré d’une tour centré sur un point de
+     * la route, ou rectangle de taille quelconque n’importe où sur la carte.
+     */
+    private static void addRandomBlock(MapData data, Random random, FloatArray active) {
+        if (random.nextFloat() < ON_ROUTE) {
+            Path path = data.getPath();
+            float d = random.nextFloat() * path.length();
+            int segment = path.segmentAt(d);
+            active.add(path.xAt(d, segment) - FOOTPRINT / 2f, path.yAt(d, segment) - FOOTPRINT / 2f,
+                FOOTPRINT, FOOTPRINT);
+        } else {
+            float width = 8f + random.nextFloat() * 4f * FOOTPRINT;
+            float height = 8f + random.nextFloat() * 4f * FOOTPRINT;
+            active.add(random.nextFloat() * data.getWidth() - width / 2f,
+                random.nextFloat() * data.getHeight() - height / 2f, width, height);
+        }
+    }
+
+    /**
+     * @return première cellule dont le coût, la cellule suivante ou la progression diffère, ou -1
+     */
+    private static int firstDifference(FlowField field, FlowField reference) {
+        int cells = field.getColumns() * field.getRows();
+        for (int c = 0; c < cells; c++) {
+            if (field.costAt(c) != reference.costAt(c) || field.next(c) != reference.next(c)
+                || Float.floatToIntBits(field.progressAt(c)) != Float.floatToIntBits(reference.progressAt(c))) return c;
+        }
+        return -1;
+    }
+}
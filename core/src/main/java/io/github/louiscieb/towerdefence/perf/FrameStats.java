@@ -0,0 +1,255 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Statistiques des dernières frames, pour l’overlay de performance.
+ * <p>
+ * Chaque frame est bornée par {@link #beginFrame()} et
+ * {@link #endFrame(int, int, int)}, la simulation par {@link #beginSimulation()}
+ * et {@link #endSimulation()} ; le reste de la frame compte comme rendu.
+ * Les durées (frame, simulation, rendu) et les compteurs de rendu sont rangés dans des
+ * tampons circulaires de taille fixe ; le nombre et la durée cumulée des GC
+ * sont relevés sur les {@link GarbageCollectorMXBean}, et le tas via
+ * {@link Runtime}, sans objet intermédiaire.
+ * </p>
+ * <p>
+ * Aucune de ces méthodes n’alloue : la mesure ne perturbe pas
+ * ce qu’elle mesure.
+ * </p>
+ */
+public final class FrameStats {
+
+    /** Nombre de frames conservées. */
+    public static final int CAPACITY = 240;
+
+    /** Collecteurs de la JVM, lus une seule fois. */
+    private final GarbageCollectorMXBean[] collectors;
+
+    private final Runtime runtime = Runtime.getRuntime();
+
+    // =====================
+    // TAMPONS CIRCULAIRES
+    // =====================
+
+    /**
+     * Durée de chaque frame (ms), d’un début de frame au suivant ; pour la plus
+     * récente, provisoirement jusqu’à la fin de son rendu.
+     */
+    private final float[] frameMillis = new float[CAPACITY];
+
+    /** Part de la simulation dans chaque frame (ms). */
+    private final float[] simulationMillis = new float[CAPACITY];
+
+    /** Part du rendu dans chaque frame (ms, côté CPU). */
+    private final float[] renderMillis = new float[CAPACITY];
+
+    /** Indique si un GC a eu lieu pendant la frame. */
+    private final boolean[] collected = new boolean[CAPACITY];
+
+    /** Prochain emplacement à écrire. */
+    private int head;
+
+    /** Nombre d’emplacements remplis. */
+    private int size;
+
+    // =====================
+    // FRAME COURANTE
+    // =====================
+
+    /** Début de la frame courante (ns). */
+    private long frameStart;
+
+    /** Début de la simulation de la frame courante (ns). */
+    private long simulationStart;
+
+    /** Durée de la simulation de la frame courante (ns). */
+    private long simulationNanos;
+
+    // =====================
+    // DERNIÈRES VALEURS
+    // =====================
+
+    private int renderCalls;
+    private int totalRenderCalls;
+    private int textureBindings;
+    private long gcCount;
+    private long gcMillis;
+
+    /** Crée les tampons et repère les collecteurs de la JVM. */
+    public FrameStats() {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        sampleCollectors();
+    }
+
+    // =====================
+    // BORNES DE FRAME
+    // =====================
+
+    /** Marque le début d’une frame. */
+    public void beginFrame() {
+        long now = System.nanoTime();
+        // La frame précédente s’étend jusqu’ici (attente de la synchronisation verticale comprise)
+        if (size > 0) frameMillis[(head - 1 + CAPACITY) % CAPACITY] = (now - frameStart) / 1_000_000f;
+        frameStart = now;
+        simulationNanos = 0;
+    }
+
+    /** Marque le début de la simulation. */
+    public void beginSimulation() {
+        simulationStart = System.nanoTime();
+    }
+
+    /** Marque la fin de la simulation. */
+    public void endSimulation() {
+        simulationNanos += System.nanoTime() - simulationStart;
+    }
+
+    /**
+     * Marque la fin du rendu et range la frame dans les tampons.
+     *
+     * @param renderCalls      appels de rendu du batch pendant la frame ({@code SpriteBatch.renderCalls})
+     * @param totalRenderCalls appels de rendu cumulés du batch ({@code SpriteBatch.totalRenderCalls})
+     * @param textureBindings  changements de texture pendant la frame (0 si non mesurés)
+     */
+    public void endFrame(int renderCalls, int totalRenderCalls, int textureBindings) {
+        long end = System.nanoTime();
+        this.renderCalls = renderCalls;
+        this.totalRenderCalls = totalRenderCalls;
+        this.textureBindings = textureBindings;
+
+        long previousGcCount = gcCount;
+        sampleCollectors();
+
+        frameMillis[head] = (end - frameStart) / 1_000_000f;
+        simulationMillis[head] = simulationNanos / 1_000_000f;
+        renderMillis[head] = (end - frameStart - simulationNanos) / 1_000_000f;
+        collected[head] = gcCount != previousGcCount;
+
+        head = (head + 1) % CAPACITY;
+        if (size < CAPACITY) size++;
+    }
+
+    private void sampleCollectors() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            count += Math.max(0L, gc.getCollectionCount());
+            millis += Math.max(0L, gc.getCollectionTime());
+        }
+        gcCount = count;
+        gcMillis = millis;
+    }
+
+    // =====================
+    // TAMPONS
+    // =====================
+
+    /**
+     * @return nombre de frames conservées (au plus {@link #CAPACITY})
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i rang de la frame, de 0 (la plus ancienne) à {@code size() - 1} (la plus récente)
+     * @return durée de la frame (ms)
+     */
+    public float getFrameMillis(int i) {
+        return frameMillis[slot(i)];
+    }
+
+    /**
+     * @param i rang de la frame (voir {@link #getFrameMillis(int)})
+     * @return part de la simulation (ms)
+     */
+    public float getSimulationMillis(int i) {
+        return simulationMillis[slot(i)];
+    }
+
+    /**
+     * @param i rang de la frame (voir {@link #getFrameMillis(int)})
+     * @return part du rendu côté CPU (ms)
+     */
+    public float getRenderMillis(int i) {
+        return renderMillis[slot(i)];
+    }
+
+    /**
+     * @param i rang de la frame (voir {@link #getFrameMillis(int)})
+     * @return {@code true} si un GC a eu lieu pendant la frame
+     */
+    public boolean hadCollection(int i) {
+        return collected[slot(i)];
+    }
+
+    /**
+     * @return durée moyenne des frames conservées (ms)
+     */
+    public float averageFrameMillis() {
+        return average(frameMillis);
+    }
+
+    /**
+     * @return part moyenne de la simulation (ms)
+     */
+    public float averageSimulationMillis() {
+        return average(simulationMillis);
+    }
+
+    /**
+     * @return part moyenne du rendu (ms)
+     */
+    public float averageRenderMillis() {
+        return average(renderMillis);
+    }
+
+    /**
+     * @return durée de la frame la plus longue parmi celles conservées (ms)
+     */
+    public float maxFrameMillis() {
+        float max = 0f;
+        for (int i = 0; i < size; i++) max = Math.max(max, frameMillis[i]);
+        return max;
+    }
+
+    private float average(float[] values) {
+        if (size == 0) return 0f;
+        float sum = 0f;
+        for (int i = 0; i < size; i++) sum += values[i];
+        return sum / size;
+    }
+
+    private int slot(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("frame " + i + " of " + size);
+        return (head - size + i + CAPACITY) % CAPACITY;
+    }
+
+    // =====================
+    // DERNIÈRES VALEURS
+    // =====================
+
+    public int getRenderCalls() { return renderCalls; }
+    public int getTotalRenderCalls() { return totalRenderCalls; }
+    public int getTextureBindings() { return textureBindings; }
+    public long getGcCount() { return gcCount; }
+    public long getGcMillis() { return gcMillis; }
+
+    /**
+     * @return tas occupé (octets), déchets non collectés compris
+     */
+    public long getHeapUsed() {
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return taille maximale du tas (octets)
+     */
+    public long getHeapMax() {
+        return runtime.maxMemory();
+    }
+}
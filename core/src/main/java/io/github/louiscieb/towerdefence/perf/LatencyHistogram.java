@@ -0,0 +1,119 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme de durées à précision relative constante, à la manière
+ * de HdrHistogram.
+ * <p>
+ * Les valeurs inférieures à 128 ns sont comptées exactement ; au-delà,
+ * chaque puissance de deux est découpée en 64 intervalles, soit une
+ * erreur relative inférieure à 1,6 % de 1 ns à plusieurs heures, dans un
+ * tableau de taille fixe. L’enregistrement ne fait qu’incrémenter un
+ * compteur : il n’alloue rien et ne perturbe pas la mesure.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /** Bits de précision : 2^7 valeurs exactes, puis 2^6 intervalles par octave. */
+    private static final int EXACT_BITS = 7;
+
+    /** Nombre de valeurs comptées exactement. */
+    private static final int EXACT = 1 << EXACT_BITS;
+
+    /** Intervalles par puissance de deux au-delà des valeurs exactes. */
+    private static final int SUB_BUCKETS = EXACT / 2;
+
+    /** Compteurs des intervalles. */
+    private final long[] counts = new long[EXACT + (63 - EXACT_BITS) * SUB_BUCKETS];
+
+    /** Nombre de valeurs enregistrées. */
+    private long total;
+
+    /** Plus grande valeur enregistrée. */
+    private long max;
+
+    /**
+     * Enregistre une durée.
+     *
+     * @param nanos durée en nanosecondes (les valeurs négatives comptent pour 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        counts[index(value)]++;
+        total++;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Ajoute les valeurs d’un autre histogramme.
+     *
+     * @param other histogramme à cumuler
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /** Efface toutes les valeurs. */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Valeur au percentile donné.
+     *
+     * @param percentile percentile, entre 0 et 100
+     * @return borne haute de l’intervalle contenant le percentile
+     *         (au plus {@link #getMax()}), ou 0 si l’histogramme est vide
+     */
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestEquivalent(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * @return nombre de valeurs enregistrées
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * @return plus grande valeur enregistrée
+     */
+    public long getMax() {
+        return max;
+    }
+
+    // =====================
+    // INTERVALLES
+    // =====================
+
+    private static int index(long value) {
+        if (value < EXACT) return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - (EXACT_BITS - 1);
+        return EXACT + (magnitude - EXACT_BITS) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < EXACT) return index;
+
+        int octave = (index - EXACT) / SUB_BUCKETS;
+        long sub = (index - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = octave + 1;
+        return ((sub + 1) << shift) - 1;
+    }
+}
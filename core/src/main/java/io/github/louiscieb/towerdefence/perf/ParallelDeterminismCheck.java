@@ -0,0 +1,118 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+import io.github.louiscieb.towerdefence.controller.WorldChecksum;
+import io.github.louiscieb.towerdefence.model.Navigation;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
+
+/**
+ * Vérifie que la simulation parallèle reproduit la simulation série au bit près.
+ * <p>
+ * La même {@linkplain ScriptedGame partie scriptée} est jouée en mode série
+ * puis avec 2, 4, 8 et 16 threads. Après chaque tick, le {@link WorldChecksum}
+ * du monde est comparé à celui du mode série. Les phases sont découpées en tranches
+ * d’un seul élément pour que le parallélisme s’exerce même avec peu d’entités.
+ * </p>
+ * <p>
+ * Seuls le déplacement des ennemis, le choix des cibles des tours et
+ * l’avancée des projectiles sont répartis entre les workers ; chaque élément
+ * n’y écrit que son propre état. Les tirs, les dégâts et les impacts sont
+ * ensuite appliqués en série, dans l’ordre canonique (tours, puis projectiles,
+ * puis impacts triés). La partie est jouée dans chaque configuration qui
+ * change ce qui est calculé en parallèle : impacts programmés sur le chemin,
+ * projectiles guidés sur le chemin, et projectiles guidés sur le champ de flux.
+ * </p>
+ * <p>
+ * Usage : {@code ParallelDeterminismCheck [fichier.tmx]} (par défaut {@code maps/map.tmx},
+ * relatif au dossier {@code assets}).
+ * </p>
+ */
+public final class ParallelDeterminismCheck {
+
+    /** Nombre de ticks joués par partie (couvre toutes les vagues). */
+    private static final int TICKS = 200 * 60;
+
+    /** Nombres de threads comparés au mode série. */
+    private static final int[] THREADS = {2, 4, 8, 16};
+
+    /** Modes des projectiles vérifiés, associés un à un à {@link #NAVIGATIONS}. */
+    private static final ProjectileMode[] MODES = {
+        ProjectileMode.INTERCEPT, ProjectileMode.HOMING, ProjectileMode.HOMING
+    };
+
+    /** Navigations vérifiées, associées une à une à {@link #MODES}. */
+    private static final Navigation[] NAVIGATIONS = {
+        Navigation.PATH, Navigation.PATH, Navigation.FLOW_FIELD
+    };
+
+    private ParallelDeterminismCheck() {
+    }
+
+    public static void main(String[] args) {
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        MapData data = MapData.load(new FileHandle(mapFile));
+
+        boolean failed = false;
+        for (int c = 0; c < MODES.length; c++) {
+            ProjectileMode mode = MODES[c];
+            Navigation navigation = NAVIGATIONS[c];
+            String label = mode + "/" + navigation;
+
+            long[] reference = new long[TICKS];
+            long start = System.nanoTime();
+            int played = play(data, mode, navigation, TickExecutor.serial(), reference, null);
+            System.out.println(label + " serial: " + played + " ticks in " + millisSince(start) + " ms");
+
+            for (int threads : THREADS) {
+                TickExecutor executor = new TickExecutor(threads, 1);
+                try {
+                    start = System.nanoTime();
+                    int result = play(data, mode, navigation, executor, new long[TICKS], reference);
+                    if (result < 0) {
+                        System.err.println(label + " " + threads + " threads: state diverged from serial run at tick "
+                            + (-result - 1));
+                        failed = true;
+                    } else {
+                        System.out.println(label + " " + threads + " threads: identical over " + result
+                            + " ticks in " + millisSince(start) + " ms");
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        }
+
+        if (failed) System.exit(1);
+    }
+
+    /**
+     * Joue la partie scriptée en enregistrant le condensé de chaque tick.
+     *
+     * @param data       données de la carte
+     * @param mode       mode des projectiles
+     * @param navigation navigation des ennemis
+     * @param executor   exécuteur des phases parallèles
+     * @param hashes     condensés enregistrés
+     * @param reference  condensés attendus, ou {@code null}
+     * @return nombre de ticks joués, ou {@code -(tick + 1)} à la première divergence
+     */
+    private static int play(MapData data, ProjectileMode mode, Navigation navigation, TickExecutor executor,
+                            long[] hashes, long[] reference) {
+        GameWorld world = ScriptedGame.create(data, mode, navigation);
+        world.setExecutor(executor);
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            ScriptedGame.step(world, tick);
+            hashes[tick] = WorldChecksum.of(world);
+            if (reference != null && hashes[tick] != reference[tick]) return -(tick + 1);
+        }
+        return TICKS;
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+}
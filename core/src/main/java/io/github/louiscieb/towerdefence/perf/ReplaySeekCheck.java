@@ -0,0 +1,87 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.WorldChecksum;
+import io.github.louiscieb.towerdefence.model.GameState;
+import io.github.louiscieb.towerdefence.replay.ReplayPlayer;
+import io.github.louiscieb.towerdefence.replay.ReplayRecorder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+/**
+ * Vérifie que le positionnement dans un replay aboutit exactement à l’état
+ * de la partie enregistrée.
+ * <p>
+ * La {@linkplain ScriptedGame partie scriptée} est enregistrée en mémoire
+ * en relevant le {@link WorldChecksum} de chaque tick. Le replay est ensuite
+ * relu et positionné sur des ticks tirés au hasard, en avant comme en
+ * arrière : chaque {@link ReplayPlayer#seek(int)} doit reprendre depuis une
+ * image clé et rendre le condensé relevé à ce tick.
+ * </p>
+ * <p>
+ * Usage : {@code ReplaySeekCheck [fichier.tmx]} (par défaut {@code maps/map.tmx},
+ * relatif au dossier {@code assets}).
+ * </p>
+ */
+public final class ReplaySeekCheck {
+
+    /** Nombre maximum de ticks enregistrés (couvre toutes les vagues). */
+    private static final int TICKS = 200 * 60;
+
+    /** Nombre de positionnements vérifiés. */
+    private static final int SEEKS = 40;
+
+    private ReplaySeekCheck() {
+    }
+
+    public static void main(String[] args) {
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        MapData data = MapData.load(new FileHandle(mapFile));
+
+        // ===== ENREGISTREMENT =====
+        GameWorld world = ScriptedGame.create(data);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(world, data.getName(), ScriptedGame.TICK, bytes);
+
+        long[] hashes = new long[TICKS + 1];
+        hashes[0] = WorldChecksum.of(world);
+        for (int tick = 0; tick < TICKS && world.getState() == GameState.RUNNING; tick++) {
+            ScriptedGame.step(world, tick);
+            hashes[world.getTick()] = WorldChecksum.of(world);
+        }
+        recorder.close();
+        int recorded = world.getTick();
+
+        ReplayPlayer player = new ReplayPlayer(bytes.toByteArray());
+        if (player.getStateKeyframeCount() == 0) {
+            System.err.println("Replay of " + recorded + " ticks has no keyframe to seek from");
+            System.exit(1);
+        }
+
+        // ===== POSITIONNEMENTS =====
+        player.start(data);
+        Random random = new Random(1);
+        long worst = 0;
+
+        for (int i = 0; i < SEEKS; i++) {
+            int target = random.nextInt(recorded + 1);
+
+            long start = System.nanoTime();
+            player.seek(target);
+            worst = Math.max(worst, System.nanoTime() - start);
+
+            GameWorld seeked = player.getWorld();
+            if (seeked.getTick() != target || WorldChecksum.of(seeked) != hashes[target]) {
+                System.err.println("Seek to tick " + target + " reached tick " + seeked.getTick()
+                    + " with a different state");
+                System.exit(1);
+            }
+        }
+
+        System.out.println(SEEKS + " seeks identical over " + recorded + " ticks (" + bytes.size() + " bytes, "
+            + player.getStateKeyframeCount() + " restorable keyframes); worst seek " + worst / 1000 + " us");
+    }
+}
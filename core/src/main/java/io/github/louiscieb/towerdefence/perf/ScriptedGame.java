@@ -0,0 +1,83 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.math.Rectangle;
+import io.github.louiscieb.towerdefence.controller.GameCommand;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.model.Navigation;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
+import io.github.louiscieb.towerdefence.model.Tower;
+
+/**
+ * Partie scriptée commune aux vérifications headless.
+ * <p>
+ * Une tour est construite dans chaque zone dès le premier tick,
+ * puis toutes les tours sont améliorées à intervalle régulier.
+ * Le script ne dépend que du numéro de tick : deux parties
+ * jouées sur la même carte reçoivent exactement les mêmes commandes.
+ * </p>
+ */
+final class ScriptedGame {
+
+    /** Durée d’un tick de simulation. */
+    static final float TICK = 1f / 60f;
+
+    /** Intervalle entre deux vagues d’améliorations. */
+    static final int UPGRADE_EVERY_TICKS = 10 * 60;
+
+    private ScriptedGame() {
+    }
+
+    /**
+     * Crée un monde (projectiles {@link ProjectileMode#INTERCEPT}, ennemis
+     * sur le chemin) et programme la construction des tours.
+     *
+     * @param data données de la carte
+     * @return monde prêt à jouer
+     */
+    static GameWorld create(MapData data) {
+        return create(data, ProjectileMode.INTERCEPT, Navigation.PATH);
+    }
+
+    /**
+     * Crée un monde et programme la construction des tours.
+     *
+     * @param data       données de la carte
+     * @param mode       mode des projectiles
+     * @param navigation navigation des ennemis
+     * @return monde prêt à jouer
+     * @throws IllegalStateException si la carte ne permet pas cette navigation
+     */
+    static GameWorld create(MapData data, ProjectileMode mode, Navigation navigation) {
+        GameWorld world = new GameWorld(data);
+        world.setProjectileMode(mode);
+        world.setNavigation(navigation);
+
+        for (Rectangle zone : data.getBuildZones()) {
+            world.submit(GameCommand.build(zone.x + zone.width / 2f, zone.y + zone.height / 2f));
+        }
+        return world;
+    }
+
+    /**
+     * Joue un tick du script.
+     *
+     * @param world monde de jeu
+     * @param tick  numéro du tick (à partir de 0)
+     */
+    static void step(GameWorld world, int tick) {
+        if (tick % UPGRADE_EVERY_TICKS == 0) upgradeAll(world);
+        world.update(TICK);
+    }
+
+    /**
+     * Demande l’amélioration de toutes les tours existantes.
+     *
+     * @param world monde de jeu
+     */
+    private static void upgradeAll(GameWorld world) {
+        for (Tower t : world.getTowers()) {
+            world.submit(GameCommand.upgrade(t.getPosition().x, t.getPosition().y));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.WorldChecksum;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+import io.github.louiscieb.towerdefence.model.Navigation;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vérifie qu’un monde restauré depuis un instantané poursuit la partie
+ * exactement comme l’original.
+ * <p>
+ * La {@linkplain ScriptedGame partie scriptée} est capturée à intervalle
+ * régulier ; chaque capture est restaurée puis les deux mondes sont joués
+ * côte à côte jusqu’à la capture suivante, en comparant leur
+ * {@link WorldChecksum} après chaque tick. Les durées de capture et de
+ * restauration sont affichées.
+ * </p>
+ * <p>
+ * La partie est jouée sur le chemin puis sur le champ de flux : un monde
+ * restauré y reconstruit son champ à partir des tours, et doit retrouver
+ * exactement les coûts et la progression du champ mis à jour au fil de la
+ * partie.
+ * </p>
+ * <p>
+ * Usage : {@code SnapshotRoundTripCheck [fichier.tmx]} (par défaut {@code maps/map.tmx},
+ * relatif au dossier {@code assets}).
+ * </p>
+ */
+public final class SnapshotRoundTripCheck {
+
+    /** Nombre de ticks joués (couvre toutes les vagues). */
+    private static final int TICKS = 200 * 60;
+
+    /** Intervalle entre deux captures. */
+    private static final int SNAPSHOT_EVERY_TICKS = 7 * 60 + 13;
+
+    /** Modes des projectiles vérifiés, associés un à un à {@link #NAVIGATIONS}. */
+    private static final ProjectileMode[] MODES = {
+        ProjectileMode.INTERCEPT, ProjectileMode.HOMING
+    };
+
+    /** Navigations vérifiées, associées une à une à {@link #MODES}. */
+    private static final Navigation[] NAVIGATIONS = {
+        Navigation.PATH, Navigation.FLOW_FIELD
+    };
+
+    private SnapshotRoundTripCheck() {
+    }
+
+    public static void main(String[] args) {
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        MapData data = MapData.load(new FileHandle(mapFile));
+
+        for (int c = 0; c < MODES.length; c++) {
+            String label = MODES[c] + "/" + NAVIGATIONS[c];
+            if (!check(data, MODES[c], NAVIGATIONS[c], label)) System.exit(1);
+        }
+    }
+
+    /**
+     * Joue une configuration en restaurant régulièrement une capture.
+     *
+     * @return {@code false} si un monde restauré a divergé
+     */
+    private static boolean check(MapData data, ProjectileMode mode, Navigation navigation, String label) {
+        WorldSnapshot snapshot = new WorldSnapshot();
+        ByteBuffer buffer = null;
+
+        GameWorld world = ScriptedGame.create(data, mode, navigation);
+        GameWorld restored = null;
+        long worstCapture = 0;
+        long worstRestore = 0;
+        int snapshots = 0;
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (tick % SNAPSHOT_EVERY_TICKS == SNAPSHOT_EVERY_TICKS - 1) {
+                long start = System.nanoTime();
+                buffer = snapshot.capture(world, data.getName(), buffer);
+                worstCapture = Math.max(worstCapture, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                restored = WorldSnapshot.restore(buffer, data);
+                worstRestore = Math.max(worstRestore, System.nanoTime() - start);
+                snapshots++;
+            }
+
+            ScriptedGame.step(world, tick);
+            if (restored == null) continue;
+
+            ScriptedGame.step(restored, tick);
+            if (WorldChecksum.of(restored) != WorldChecksum.of(world)) {
+                System.err.println(label + ": restored world diverged at tick " + tick);
+                return false;
+            }
+        }
+
+        System.out.println(label + ": " + snapshots + " snapshots identical over " + TICKS + " ticks; worst capture "
+            + worstCapture / 1000 + " us, worst restore " + worstRestore / 1000 + " us");
+        return true;
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.louiscieb.towerdefence.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.model.GameState;
+import io.github.louiscieb.towerdefence.model.SpawnTimeline;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Endurance headless : une seule {@linkplain ScriptedGame partie scriptée}
+ * jouée pendant des heures de temps simulé.
+ * <p>
+ * Les vagues de la carte sont rejouées en boucle jusqu’à la fin de la course
+ * ({@link MapData#withRepeatedWaves(int)}) et la base ne peut pas tomber : le
+ * même {@link GameWorld} tourne du début à la fin, si bien qu’une accumulation
+ * d’entités ou de mémoire au fil de la partie reste visible au lieu d’être
+ * effacée par une nouvelle partie. La durée de chaque tick est enregistrée
+ * dans un {@link LatencyHistogram} ; à la fin de chaque minute simulée sont
+ * relevés la latence de la minute (p50, p99, p99,9, max), les pics d’ennemis et
+ * de projectiles actifs et le tas occupé après un GC complet.
+ * </p>
+ * <p>
+ * Une croissance régulière du nombre d’ennemis, de projectiles ou du tas fait
+ * échouer l’essai (code de sortie 1) : la course est coupée en quatre quarts
+ * et l’essai échoue si la valeur de chaque quart (pic pour les entités,
+ * plancher pour le tas) dépasse strictement celle du précédent, et le dernier
+ * le premier de plus de 10 %. La première minute (compilation JIT, pools)
+ * est exclue de l’analyse et de l’histogramme global.
+ * </p>
+ * <p>
+ * Le rapport est écrit dans {@code soak.csv} (une ligne par minute simulée)
+ * et {@code soak.json} (synthèse).
+ * </p>
+ * <p>
+ * Usage : {@code SoakRunner [fichier.tmx] [heures] [dossier du rapport]}
+ * (par défaut {@code maps/map.tmx}, 2 heures, dossier {@code soak}).
+ * </p>
+ */
+public final class SoakRunner {
+
+    /** Durée simulée par défaut (en heures). */
+    private static final double DEFAULT_HOURS = 2.0;
+
+    /** Ticks par fenêtre de mesure (une minute simulée). */
+    private static final int WINDOW_TICKS = 60 * 60;
+
+    /** Fenêtres de chauffe, exclues de l’analyse. */
+    private static final int WARMUP_WINDOWS = 1;
+
+    /** Nombre minimum de fenêtres analysées pour juger une tendance. */
+    private static final int MIN_TREND_WINDOWS = 8;
+
+    /** Croissance relative tolérée entre le premier et le dernier quart. */
+    private static final double GROWTH_TOLERANCE = 0.10;
+
+    /** Croissance absolue tolérée du tas (bruit du GC). */
+    private static final long HEAP_SLACK_BYTES = 2L << 20;
+
+    /** Croissance absolue tolérée des pics d’entités. */
+    private static final long ENTITY_SLACK = 2;
+
+    /** Points de vie de la base : aucune fuite ne termine la partie. */
+    private static final int ENDLESS_BASE_HP = Integer.MAX_VALUE;
+
+    private SoakRunner() {
+    }
+
+    public static void main(String[] args) throws FileNotFoundException {
+        String mapFile = args.length > 0 ? args[0] : "maps/map.tmx";
+        double hours = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_HOURS;
+        File outputDir = new File(args.length > 2 ? args[2] : "soak");
+
+        MapData data = MapData.load(new FileHandle(mapFile));
+        int windows = Math.max(1, (int) Math.ceil(hours * 60));
+        int cycles = waveCycles(data, (long) windows * WINDOW_TICKS);
+
+        long[] enemies = new long[windows];
+        long[] enemiesPeak = new long[windows];
+        long[] projectilesPeak = new long[windows];
+        long[] heap = new long[windows];
+        long[][] latency = new long[windows][];
+        int[] waves = new int[windows];
+
+        LatencyHistogram window = new LatencyHistogram();
+        LatencyHistogram overall = new LatencyHistogram();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        GameWorld world = ScriptedGame.create(data.withRepeatedWaves(cycles));
+        world.setBaseHp(ENDLESS_BASE_HP);
+        int gameTick = 0;
+        long start = System.nanoTime();
+
+        for (int w = 0; w < windows; w++) {
+            for (int t = 0; t < WINDOW_TICKS; t++) {
+                if (world.getState() != GameState.RUNNING)
+                    throw new IllegalStateException("Soak game ended (" + world.getState() + ") at tick " + gameTick);
+
+                long tickStart = System.nanoTime();
+                ScriptedGame.step(world, gameTick++);
+                window.record(System.nanoTime() - tickStart);
+
+                enemiesPeak[w] = Math.max(enemiesPeak[w], world.getEnemies().size);
+                projectilesPeak[w] = Math.max(projectilesPeak[w], world.getProjectiles().size);
+            }
+
+            enemies[w] = world.getEnemies().size;
+            waves[w] = world.getWave();
+            latency[w] = new long[]{
+                window.percentile(50), window.percentile(99), window.percentile(99.9), window.getMax()
+            };
+
+            System.gc();
+            heap[w] = memory.getHeapMemoryUsage().getUsed();
+
+            if (w >= WARMUP_WINDOWS) overall.add(window);
+            window.reset();
+
+            if ((w + 1) % 30 == 0) {
+                System.out.println((w + 1) + "/" + windows + " simulated minutes, wave " + waves[w] + ", heap "
+                    + heap[w] / 1024 + " KiB, tick p99 " + latency[w][1] / 1000 + " us");
+            }
+        }
+        long wallSeconds = (System.nanoTime() - start) / 1_000_000_000L;
+
+        boolean enemiesGrow = grows(enemiesPeak, false, ENTITY_SLACK);
+        boolean projectilesGrow = grows(projectilesPeak, false, ENTITY_SLACK);
+        boolean heapGrows = grows(heap, true, HEAP_SLACK_BYTES);
+        boolean passed = !enemiesGrow && !projectilesGrow && !heapGrows;
+
+        if (!outputDir.isDirectory() && !outputDir.mkdirs())
+            throw new FileNotFoundException("Cannot create report directory " + outputDir);
+
+        try (PrintWriter csv = new PrintWriter(new File(outputDir, "soak.csv"), StandardCharsets.UTF_8.name())) {
+            csv.println("minute,wave,enemies,enemies_peak,projectiles_peak,heap_after_gc_bytes,"
+                + "tick_p50_ns,tick_p99_ns,tick_p999_ns,tick_max_ns");
+            for (int w = 0; w < windows; w++) {
+                csv.println((w + 1) + "," + waves[w] + "," + enemies[w] + "," + enemiesPeak[w] + ","
+                    + projectilesPeak[w] + "," + heap[w] + "," + latency[w][0] + "," + latency[w][1] + ","
+                    + latency[w][2] + "," + latency[w][3]);
+            }
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (PrintWriter json = new PrintWriter(new File(outputDir, "soak.json"), StandardCharsets.UTF_8.name())) {
+            json.println("{");
+            json.println("  \"map\": \"" + data.getName() + "\",");
+            json.println(String.format(Locale.ROOT, "  \"simulatedHours\": %.2f,", windows / 60.0));
+            json.println("  \"ticks\": " + (long) windows * WINDOW_TICKS + ",");
+            json.println("  \"waves\": " + waves[windows - 1] + ",");
+            json.println("  \"waveCycles\": " + cycles + ",");
+            json.println("  \"wallSeconds\": " + wallSeconds + ",");
+            json.println("  \"tickLatencyNanos\": { \"p50\": " + overall.percentile(50)
+                + ", \"p99\": " + overall.percentile(99) + ", \"p999\": " + overall.percentile(99.9)
+                + ", \"max\": " + overall.getMax() + " },");
+            json.println("  \"heapAfterGcBytes\": { \"first\": " + heap[Math.min(WARMUP_WINDOWS, windows - 1)]
+                + ", \"last\": " + heap[windows - 1] + " },");
+            json.println("  \"growth\": { \"enemies\": " + enemiesGrow + ", \"projectiles\": " + projectilesGrow
+                + ", \"heap\": " + heapGrows + " },");
+            json.println("  \"passed\": " + passed);
+            json.println("}");
+        } catch (java.io.UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        System.out.println(String.format(Locale.ROOT,
+            "%d simulated minutes, %d waves in %d s; tick p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+            windows, waves[windows - 1], wallSeconds, overall.percentile(50) / 1000, overall.percentile(99) / 1000,
+            overall.percentile(99.9) / 1000, overall.getMax() / 1000));
+
+        if (!passed) {
+            System.err.println("Soak test failed: steady growth of"
+                + (enemiesGrow ? " enemies" : "") + (projectilesGrow ? " projectiles" : "") + (heapGrows ? " heap" : "")
+                + " (see " + new File(outputDir, "soak.csv") + ")");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Calcule combien de fois rejouer les vagues de la carte pour
+     * qu’elles durent toute la course.
+     * <p>
+     * Un passage sur la liste des vagues dure exactement l’instant du
+     * dernier groupe : le délai de la première vague sépare deux passages.
+     *
+     * @param data  carte d’origine
+     * @param ticks durée de la course (en ticks)
+     * @return nombre de passages, avec un passage de marge
+     */
+    private static int waveCycles(MapData data, long ticks) {
+        SpawnTimeline timeline = data.getSpawnTimeline();
+        float period = timeline.size() > 0 ? timeline.getTime(timeline.size() - 1) : 0f;
+        if (period <= 0f) return 1;
+        return (int) Math.ceil(ticks * ScriptedGame.TICK / period) + 1;
+    }
+
+    /**
+     * Indique si une série relevée par minute croît régulièrement.
+     *
+     * @param values série, fenêtres de chauffe comprises
+     * @param floor  {@code true} pour comparer le minimum de chaque quart, sinon le maximum
+     * @param slack  croissance absolue tolérée
+     * @return {@code true} si chaque quart dépasse le précédent et que la hausse totale dépasse la tolérance
+     */
+    private static boolean grows(long[] values, boolean floor, long slack) {
+        int n = values.length - WARMUP_WINDOWS;
+        if (n < MIN_TREND_WINDOWS) return false;
+
+        long[] quarters = new long[4];
+        for (int q = 0; q < 4; q++) {
+            int from = WARMUP_WINDOWS + n * q / 4;
+            int to = WARMUP_WINDOWS + n * (q + 1) / 4;
+            long value = values[from];
+            for (int i = from + 1; i < to; i++) {
+                value = floor ? Math.min(value, values[i]) : Math.max(value, values[i]);
+            }
+            quarters[q] = value;
+            if (q > 0 && value <= quarters[q - 1]) return false;
+        }
+        return quarters[3] - quarters[0] > Math.max(slack, (long) (quarters[0] * GROWTH_TOLERANCE));
+    }
+}
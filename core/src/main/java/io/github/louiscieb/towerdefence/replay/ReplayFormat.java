@@ -0,0 +1,173 @@
+package io.github.louiscieb.towerdefence.replay;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format binaire des replays.
+ * <p>
+ * En-tête :
+ * <pre>
+ * "TDRP" | version (varint) | identifiant de carte (varint + UTF-8)
+ * | durée du tick (float, 4 octets) | mode des projectiles (varint)
+ * | navigation des ennemis (varint)
+ * | or, PV de la base, niveau ennemi initiaux (varints)
+ * | intervalle entre images clés (varint)
+ * </pre>
+ * Puis une suite d’enregistrements : type (1 octet), écart en ticks
+ * depuis l’enregistrement précédent (varint), puis selon le type :
+ * <ul>
+ *     <li>construction / amélioration : écart des bits IEEE de X et de Y
+ *     avec la commande précédente (varints zigzag) ; les coordonnées
+ *     sont ainsi restituées exactement</li>
+ *     <li>image clé : {@linkplain io.github.louiscieb.towerdefence.controller.WorldChecksum
+ *     condensé} de l’état en fin de tick (8 octets), taille de l’état (varint,
+ *     0 si absent) puis l’état restaurable, écrit par
+ *     {@link io.github.louiscieb.towerdefence.controller.WorldSnapshot} ;
+ *     la relecture repart de ces états pour se positionner</li>
+ *     <li>fin : condensé de l’état final (8 octets)</li>
+ * </ul>
+ */
+final class ReplayFormat {
+
+    /** Signature du fichier. */
+    static final byte[] MAGIC = {'T', 'D', 'R', 'P'};
+
+    /**
+     * Version du format, incrémentée à chaque changement des règles de
+     * simulation (2 : ordre canonique des tours et des impacts simultanés ;
+     * 3 : vagues lues depuis la carte ; 4 : navigation des ennemis dans
+     * l’en-tête ; 5 : temps de simulation cumulé en double ; 6 : état
+     * restaurable dans les images clés) : les replays antérieurs divergeraient.
+     */
+    static final int VERSION = 6;
+
+    /** Nombre de ticks entre deux images clés (10 s à 60 Hz). */
+    static final int KEYFRAME_INTERVAL = 600;
+
+    /**
+     * Nombre de ticks entre deux images clés portant l’état complet du monde
+     * (1 min à 60 Hz) : un positionnement resimule au plus cette durée.
+     */
+    static final int STATE_INTERVAL = 6 * KEYFRAME_INTERVAL;
+
+    static final int RECORD_BUILD = 0;
+    static final int RECORD_UPGRADE = 1;
+    static final int RECORD_KEYFRAME = 2;
+    static final int RECORD_END = 3;
+
+    private ReplayFormat() {
+    }
+
+    // =====================
+    // ECRITURE
+    // =====================
+
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static void writeZigZag(OutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    static void writeLong(OutputStream out, long value) throws IOException {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    // =====================
+    // LECTURE
+    // =====================
+
+    /**
+     * Curseur de lecture sur le contenu d’un replay.
+     */
+    static final class Cursor {
+
+        private final byte[] data;
+        private int position;
+
+        Cursor(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        boolean hasMore() {
+            return position < data.length;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int readByte() {
+            if (position >= data.length) throw new GdxRuntimeException("Truncated replay");
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new GdxRuntimeException("Malformed varint in replay at offset " + position);
+        }
+
+        int readZigZag() {
+            int raw = readVarInt();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        int readInt() {
+            return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        }
+
+        long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Saute un bloc d’octets.
+         *
+         * @param length taille du bloc
+         * @return position du début du bloc
+         */
+        int skip(int length) {
+            if (length < 0 || length > data.length - position) throw new GdxRuntimeException("Truncated replay");
+            int start = position;
+            position += length;
+            return start;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length > data.length - position) throw new GdxRuntimeException("Truncated replay");
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
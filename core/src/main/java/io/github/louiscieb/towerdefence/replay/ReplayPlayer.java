@@ -0,0 +1,430 @@
+package io.github.louiscieb.towerdefence.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import io.github.louiscieb.towerdefence.controller.GameCommand;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+import io.github.louiscieb.towerdefence.controller.WorldChecksum;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+import io.github.louiscieb.towerdefence.model.Navigation;
+import io.github.louiscieb.towerdefence.model.ProjectileMode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Rejoue un replay enregistré par {@link ReplayRecorder}.
+ * <p>
+ * La partie est resimulée sans rendu ni attente : chaque appel à
+ * {@link #step()} soumet les commandes du tick suivant puis avance
+ * le monde d’un tick. Aux images clés et à la fin, le condensé de
+ * l’état est comparé à celui de l’enregistrement ; une différence
+ * lève une {@link GdxRuntimeException} indiquant le tick fautif.
+ * </p>
+ * <p>
+ * À l’ouverture, le fichier est entièrement indexé (images clés, durée) ;
+ * {@link #seek(int)} restaure l’état de la dernière image clé qui en porte
+ * un avant le tick demandé, puis resimule les ticks restants. Il ne repart
+ * du début que si aucune image clé ne précède la cible.
+ * </p>
+ */
+public class ReplayPlayer {
+
+    /** Contenu du replay. */
+    private final byte[] data;
+
+    // =====================
+    // EN-TETE
+    // =====================
+
+    private final String mapId;
+    private final float tickDuration;
+    private final ProjectileMode projectileMode;
+    private final Navigation navigation;
+    private final int initialGold;
+    private final int initialBaseHp;
+    private final int initialEnemyLevel;
+
+    /** Position du premier enregistrement. */
+    private final int recordsStart;
+
+    // =====================
+    // INDEX
+    // =====================
+
+    /** Tick de chaque image clé. */
+    private final IntArray keyframeTicks = new IntArray();
+
+    /** Condensé attendu à chaque image clé. */
+    private final LongArray keyframeChecksums = new LongArray();
+
+    /** Tick de chaque image clé portant un état restaurable. */
+    private final IntArray stateTicks = new IntArray();
+
+    /** Position de chaque état restaurable dans {@link #data}. */
+    private final IntArray stateOffsets = new IntArray();
+
+    /** Taille de chaque état restaurable. */
+    private final IntArray stateLengths = new IntArray();
+
+    /** Position de l’enregistrement qui suit chaque état restaurable. */
+    private final IntArray stateResumes = new IntArray();
+
+    /** Bits IEEE de la dernière commande avant chaque état (X). */
+    private final IntArray stateCommandX = new IntArray();
+
+    /** Bits IEEE de la dernière commande avant chaque état (Y). */
+    private final IntArray stateCommandY = new IntArray();
+
+    /** Dernier tick enregistré. */
+    private int lastTick;
+
+    /** Indique si le replay se termine par l’état final (enregistrement fermé proprement). */
+    private boolean complete;
+
+    // =====================
+    // LECTURE EN COURS
+    // =====================
+
+    /** Carte de la partie rejouée. */
+    private MapData map;
+
+    /** Exécuteur transmis au monde à chaque (re)démarrage. */
+    private TickExecutor executor;
+
+    /** Monde resimulé. */
+    private GameWorld world;
+
+    /** Curseur sur le prochain enregistrement. */
+    private ReplayFormat.Cursor cursor;
+
+    /** Type du prochain enregistrement, ou -1 s’il n’y en a plus. */
+    private int nextType;
+
+    /** Tick du prochain enregistrement. */
+    private int nextTick;
+
+    private int commandX;
+    private int commandY;
+
+    /** Indique si la fin du replay a été atteinte. */
+    private boolean finished;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Ouvre un replay en mémoire et l’indexe.
+     *
+     * @param data contenu du replay
+     * @throws GdxRuntimeException si le contenu n’est pas un replay valide
+     */
+    public ReplayPlayer(byte[] data) {
+        this.data = data;
+
+        ReplayFormat.Cursor header = new ReplayFormat.Cursor(data, 0);
+        for (byte b : ReplayFormat.MAGIC) {
+            if (header.readByte() != (b & 0xFF)) throw new GdxRuntimeException("Not a replay file");
+        }
+        int version = header.readVarInt();
+        if (version != ReplayFormat.VERSION)
+            throw new GdxRuntimeException("Unsupported replay version " + version);
+
+        mapId = header.readString();
+        tickDuration = Float.intBitsToFloat(header.readInt());
+        int mode = header.readVarInt();
+        int nav = header.readVarInt();
+        if (mode < 0 || mode >= ProjectileMode.values().length || nav < 0 || nav >= Navigation.values().length)
+            throw new GdxRuntimeException("Malformed replay header");
+        projectileMode = ProjectileMode.values()[mode];
+        navigation = Navigation.values()[nav];
+        initialGold = header.readVarInt();
+        initialBaseHp = header.readVarInt();
+        initialEnemyLevel = header.readVarInt();
+        header.readVarInt(); // intervalle des images clés (informatif)
+        recordsStart = header.position();
+
+        index();
+    }
+
+    /**
+     * Charge un replay depuis un fichier.
+     *
+     * @param file fichier du replay
+     * @return lecteur prêt à démarrer
+     */
+    public static ReplayPlayer load(FileHandle file) {
+        return new ReplayPlayer(file.readBytes());
+    }
+
+    /**
+     * Parcourt tous les enregistrements pour indexer les images clés
+     * et la durée, et valider le format.
+     */
+    private void index() {
+        ReplayFormat.Cursor c = new ReplayFormat.Cursor(data, recordsStart);
+        int tick = 0;
+        int x = 0;
+        int y = 0;
+
+        while (c.hasMore()) {
+            int type = c.readByte();
+            tick += c.readVarInt();
+
+            switch (type) {
+                case ReplayFormat.RECORD_BUILD:
+                case ReplayFormat.RECORD_UPGRADE:
+                    x += c.readZigZag();
+                    y += c.readZigZag();
+                    break;
+                case ReplayFormat.RECORD_KEYFRAME:
+                    keyframeTicks.add(tick);
+                    keyframeChecksums.add(c.readLong());
+                    int length = c.readVarInt();
+                    if (length == 0) break;
+
+                    stateTicks.add(tick);
+                    stateOffsets.add(c.skip(length));
+                    stateLengths.add(length);
+                    stateResumes.add(c.position());
+                    stateCommandX.add(x);
+                    stateCommandY.add(y);
+                    break;
+                case ReplayFormat.RECORD_END:
+                    c.readLong();
+                    complete = true;
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown replay record " + type + " at tick " + tick);
+            }
+        }
+        lastTick = tick;
+    }
+
+    // =====================
+    // LECTURE
+    // =====================
+
+    /**
+     * Démarre (ou redémarre) la partie sur la carte donnée.
+     *
+     * @param map carte de la partie, dont l’identifiant doit correspondre
+     * @return monde resimulé
+     * @throws GdxRuntimeException si la carte ou l’état initial ne correspondent pas
+     */
+    public GameWorld start(MapData map) {
+        if (!mapId.equals(map.getName()))
+            throw new GdxRuntimeException("Replay was recorded on map '" + mapId + "', not '" + map.getName() + "'");
+
+        this.map = map;
+        world = new GameWorld(map);
+        world.setProjectileMode(projectileMode);
+        world.setNavigation(navigation);
+        world.setExecutor(executor);
+
+        if (world.getGold() != initialGold
+            || world.getBaseHp() != initialBaseHp
+            || world.getEnemyLevel() != initialEnemyLevel)
+            throw new GdxRuntimeException("Replay initial state does not match this version of the game");
+
+        cursor = new ReplayFormat.Cursor(data, recordsStart);
+        nextTick = 0;
+        commandX = 0;
+        commandY = 0;
+        finished = false;
+        readNext();
+        return world;
+    }
+
+    /**
+     * Simule le tick suivant.
+     *
+     * @return {@code false} si la fin du replay est atteinte
+     * @throws GdxRuntimeException si l’état diverge de l’enregistrement
+     */
+    public boolean step() {
+        if (world == null) throw new IllegalStateException("Replay not started");
+        if (finished) return false;
+
+        int tick = world.getTick() + 1;
+        while (isCommand(nextType) && nextTick == tick) {
+            float x = Float.intBitsToFloat(commandX);
+            float y = Float.intBitsToFloat(commandY);
+            world.submit(nextType == ReplayFormat.RECORD_BUILD ? GameCommand.build(x, y) : GameCommand.upgrade(x, y));
+            readNext();
+        }
+
+        world.update(tickDuration);
+        if (world.getTick() != tick)
+            throw new GdxRuntimeException("Replay continues after the end of the game (tick " + tick + ")");
+        return verifyRecords(tick);
+    }
+
+    /**
+     * Vérifie les condensés enregistrés à la fin d’un tick
+     * et détecte la fin du replay.
+     *
+     * @param tick tick qui vient de se terminer
+     * @return {@code false} si la fin du replay est atteinte
+     * @throws GdxRuntimeException si l’état diverge de l’enregistrement
+     */
+    private boolean verifyRecords(int tick) {
+        while (nextType >= 0 && !isCommand(nextType) && nextTick == tick) {
+            long expected = cursor.readLong();
+            if (WorldChecksum.of(world) != expected)
+                throw new GdxRuntimeException("Replay diverged at tick " + tick);
+            if (nextType == ReplayFormat.RECORD_KEYFRAME) cursor.skip(cursor.readVarInt());
+
+            if (nextType == ReplayFormat.RECORD_END) {
+                finished = true;
+                return false;
+            }
+            readNext();
+        }
+
+        if (nextType < 0 && tick >= lastTick) {
+            finished = true;
+            return false;
+        }
+        if (nextType >= 0 && nextTick <= tick)
+            throw new GdxRuntimeException("Replay record out of order at tick " + nextTick);
+        return true;
+    }
+
+    /**
+     * Rejoue la partie jusqu’à la fin, aussi vite que possible.
+     */
+    public void playToEnd() {
+        while (step()) {
+            // rien : toute la progression est dans step()
+        }
+    }
+
+    /**
+     * Amène la partie au tick demandé.
+     * <p>
+     * Si une image clé portant un état se trouve entre la position courante
+     * (ou le début, pour un retour en arrière) et la cible, le monde est
+     * restauré depuis la dernière d’entre elles : {@link #getWorld()} rend
+     * alors un nouveau monde.
+     *
+     * @param tick tick cible (borné à la durée du replay)
+     * @throws GdxRuntimeException si l’état diverge de l’enregistrement
+     */
+    public void seek(int tick) {
+        if (world == null) throw new IllegalStateException("Replay not started");
+
+        int state = stateBefore(tick);
+        int from = state >= 0 ? stateTicks.get(state) : 0;
+        if (tick < world.getTick() || from > world.getTick()) {
+            if (state >= 0) {
+                restoreState(state);
+            } else {
+                start(map);
+            }
+        }
+        while (world.getTick() < tick && step()) {
+            // rien : toute la progression est dans step()
+        }
+    }
+
+    /**
+     * @param tick tick cible
+     * @return index de la dernière image clé avec état au plus tard à ce tick, ou -1
+     */
+    private int stateBefore(int tick) {
+        int low = 0;
+        int high = stateTicks.size - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (stateTicks.get(mid) <= tick) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Remplace le monde par l’état d’une image clé et reprend la lecture
+     * des enregistrements juste après elle.
+     *
+     * @param state index de l’image clé avec état
+     * @throws GdxRuntimeException si l’état est corrompu
+     */
+    private void restoreState(int state) {
+        ByteBuffer buffer = ByteBuffer.wrap(data, stateOffsets.get(state), stateLengths.get(state));
+        world = WorldSnapshot.restore(buffer, map);
+        world.setExecutor(executor);
+
+        int tick = stateTicks.get(state);
+        if (world.getTick() != tick)
+            throw new GdxRuntimeException("Replay keyframe at tick " + tick + " holds tick " + world.getTick());
+
+        cursor = new ReplayFormat.Cursor(data, stateResumes.get(state));
+        nextTick = tick;
+        commandX = stateCommandX.get(state);
+        commandY = stateCommandY.get(state);
+        finished = false;
+        readNext();
+        verifyRecords(tick);
+    }
+
+    /**
+     * Lit l’en-tête (et les coordonnées) du prochain enregistrement.
+     */
+    private void readNext() {
+        if (!cursor.hasMore()) {
+            nextType = -1;
+            return;
+        }
+
+        nextType = cursor.readByte();
+        nextTick += cursor.readVarInt();
+
+        if (isCommand(nextType)) {
+            commandX += cursor.readZigZag();
+            commandY += cursor.readZigZag();
+        }
+    }
+
+    private static boolean isCommand(int type) {
+        return type == ReplayFormat.RECORD_BUILD || type == ReplayFormat.RECORD_UPGRADE;
+    }
+
+    // =====================
+    // GETTERS
+    // =====================
+
+    /**
+     * Choisit l’exécuteur utilisé par les prochains {@link #start(MapData)}.
+     *
+     * @param executor exécuteur des phases parallèles, ou {@code null} pour le mode série
+     */
+    public void setExecutor(TickExecutor executor) {
+        this.executor = executor;
+        if (world != null) world.setExecutor(executor);
+    }
+
+    public String getMapId() { return mapId; }
+    public float getTickDuration() { return tickDuration; }
+    public GameWorld getWorld() { return world; }
+
+    /** @return nombre de ticks enregistrés */
+    public int getLength() { return lastTick; }
+
+    /** @return {@code true} si le replay a été fermé proprement (état final présent) */
+    public boolean isComplete() { return complete; }
+
+    public int getKeyframeCount() { return keyframeTicks.size; }
+    public int getStateKeyframeCount() { return stateTicks.size; }
+    public int getKeyframeTick(int index) { return keyframeTicks.get(index); }
+    public long getKeyframeChecksum(int index) { return keyframeChecksums.get(index); }
+}
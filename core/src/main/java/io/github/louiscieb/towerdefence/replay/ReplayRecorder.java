@@ -0,0 +1,203 @@
+package io.github.louiscieb.towerdefence.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.louiscieb.towerdefence.controller.GameCommand;
+import io.github.louiscieb.towerdefence.controller.GameListener;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.WorldChecksum;
+import io.github.louiscieb.towerdefence.controller.WorldSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Enregistre une partie sous forme de replay (voir {@link ReplayFormat}).
+ * <p>
+ * La simulation étant déterministe, il suffit de conserver l’état initial
+ * et les commandes du joueur datées au tick près. Le recorder est un
+ * {@link GameListener} : il reçoit chaque commande au moment où le monde
+ * l’applique, et ajoute régulièrement une image clé contenant le condensé
+ * de l’état afin que la relecture détecte la moindre divergence. Une image
+ * clé sur {@link ReplayFormat#STATE_INTERVAL} porte aussi l’état complet du
+ * monde, d’où la relecture peut repartir pour se positionner.
+ * </p>
+ * <p>
+ * Le recorder doit être créé avant le premier tick de la partie,
+ * et fermé par {@link #close()} pour écrire l’état final.
+ * </p>
+ */
+public class ReplayRecorder implements GameListener {
+
+    /** Monde enregistré. */
+    private final GameWorld world;
+
+    /** Flux de sortie du replay. */
+    private final OutputStream out;
+
+    /** Identifiant de la carte. */
+    private final String mapId;
+
+    /** Capture de l’état aux images clés. */
+    private final WorldSnapshot snapshots = new WorldSnapshot();
+
+    /** Tampon de capture, réutilisé d’une image clé à l’autre. */
+    private ByteBuffer state;
+
+    /** Copie de l’état capturé, écrite dans le flux. */
+    private byte[] stateBytes = new byte[0];
+
+    /** Tick du dernier enregistrement écrit. */
+    private int lastTick = 0;
+
+    /** Bits IEEE de la dernière coordonnée X écrite. */
+    private int lastX = 0;
+
+    /** Bits IEEE de la dernière coordonnée Y écrite. */
+    private int lastY = 0;
+
+    /** Indique si le replay a été fermé. */
+    private boolean closed = false;
+
+    // =====================
+    // CONSTRUCTEUR
+    // =====================
+
+    /**
+     * Commence l’enregistrement d’une partie qui n’a pas encore démarré.
+     *
+     * @param world        monde à enregistrer (aucun tick encore simulé)
+     * @param mapId        identifiant de la carte
+     * @param tickDuration durée fixe d’un tick
+     * @param out          flux recevant le replay
+     * @throws IllegalStateException si la partie a déjà commencé
+     */
+    public ReplayRecorder(GameWorld world, String mapId, float tickDuration, OutputStream out) {
+        if (world.getTick() != 0)
+            throw new IllegalStateException("Replay recording must start before the first tick");
+
+        this.world = world;
+        this.out = out;
+        this.mapId = mapId;
+
+        try {
+            out.write(ReplayFormat.MAGIC);
+            ReplayFormat.writeVarInt(out, ReplayFormat.VERSION);
+            ReplayFormat.writeString(out, mapId);
+            ReplayFormat.writeInt(out, Float.floatToIntBits(tickDuration));
+            ReplayFormat.writeVarInt(out, world.getProjectileMode().ordinal());
+            ReplayFormat.writeVarInt(out, world.getNavigation().ordinal());
+            ReplayFormat.writeVarInt(out, world.getGold());
+            ReplayFormat.writeVarInt(out, world.getBaseHp());
+            ReplayFormat.writeVarInt(out, world.getEnemyLevel());
+            ReplayFormat.writeVarInt(out, ReplayFormat.KEYFRAME_INTERVAL);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay header", e);
+        }
+
+        world.addListener(this);
+    }
+
+    /**
+     * Commence l’enregistrement d’une partie dans un fichier.
+     *
+     * @param world        monde à enregistrer (aucun tick encore simulé)
+     * @param mapId        identifiant de la carte
+     * @param tickDuration durée fixe d’un tick
+     * @param file         fichier du replay (écrasé)
+     * @return recorder actif
+     */
+    public static ReplayRecorder start(GameWorld world, String mapId, float tickDuration, FileHandle file) {
+        return new ReplayRecorder(world, mapId, tickDuration, new BufferedOutputStream(file.write(false)));
+    }
+
+    // =====================
+    // EVENEMENTS
+    // =====================
+
+    @Override
+    public void onCommandApplied(GameCommand command, int tick) {
+        int type = command.getType() == GameCommand.Type.BUILD
+            ? ReplayFormat.RECORD_BUILD
+            : ReplayFormat.RECORD_UPGRADE;
+
+        int x = Float.floatToIntBits(command.getX());
+        int y = Float.floatToIntBits(command.getY());
+
+        try {
+            writeRecord(type, tick);
+            ReplayFormat.writeZigZag(out, x - lastX);
+            ReplayFormat.writeZigZag(out, y - lastY);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+
+        lastX = x;
+        lastY = y;
+    }
+
+    @Override
+    public void onTickEnd(int tick) {
+        if (tick % ReplayFormat.KEYFRAME_INTERVAL != 0) return;
+
+        try {
+            writeRecord(ReplayFormat.RECORD_KEYFRAME, tick);
+            ReplayFormat.writeLong(out, WorldChecksum.of(world));
+            if (tick % ReplayFormat.STATE_INTERVAL == 0) {
+                writeState();
+            } else {
+                ReplayFormat.writeVarInt(out, 0);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+
+    /**
+     * Écrit la taille puis le contenu de l’instantané du monde.
+     */
+    private void writeState() throws IOException {
+        state = snapshots.capture(world, mapId, state);
+        int length = state.remaining();
+        if (stateBytes.length < length) stateBytes = new byte[length + length / 2];
+        state.get(stateBytes, 0, length);
+
+        ReplayFormat.writeVarInt(out, length);
+        out.write(stateBytes, 0, length);
+    }
+
+    /**
+     * Écrit l’en-tête d’un enregistrement.
+     *
+     * @param type type d’enregistrement
+     * @param tick tick concerné
+     */
+    private void writeRecord(int type, int tick) throws IOException {
+        out.write(type);
+        ReplayFormat.writeVarInt(out, tick - lastTick);
+        lastTick = tick;
+    }
+
+    // =====================
+    // FIN
+    // =====================
+
+    /**
+     * Termine le replay avec l’état final de la partie et ferme le flux.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        world.removeListener(this);
+
+        try {
+            writeRecord(ReplayFormat.RECORD_END, world.getTick());
+            ReplayFormat.writeLong(out, WorldChecksum.of(world));
+            out.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot write replay", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.louiscieb.towerdefence.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.louiscieb.towerdefence.controller.GameWorld;
+import io.github.louiscieb.towerdefence.controller.MapData;
+import io.github.louiscieb.towerdefence.controller.TickExecutor;
+
+/**
+ * Rejoue un replay en headless, aussi vite que le processeur le permet.
+ * <p>
+ * Usage : {@code ReplayRunner <fichier.tdr> [fichier.tmx]}
+ * (carte par défaut {@code maps/map.tmx}, relative au dossier {@code assets}).
+ * Le nombre de threads de simulation se règle avec {@code -Dtd.threads=N}.
+ * Le code de sortie est non nul si la partie diverge de l’enregistrement.
+ * </p>
+ */
+public final class ReplayRunner {
+
+    private ReplayRunner() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <replay> [map.tmx]");
+            System.exit(2);
+        }
+
+        ReplayPlayer player = ReplayPlayer.load(new FileHandle(args[0]));
+        MapData map = MapData.load(new FileHandle(args.length > 1 ? args[1] : "maps/map.tmx"));
+        TickExecutor executor = new TickExecutor(Integer.getInteger("td.threads", 1));
+
+        try {
+            player.setExecutor(executor);
+            GameWorld world = player.start(map);
+
+            long start = System.nanoTime();
+            player.playToEnd();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Replayed %d ticks of '%s' in %.2f s (%.0f ticks/s), %d keyframes verified%s%n",
+                world.getTick(), player.getMapId(), seconds, world.getTick() / Math.max(seconds, 1e-9),
+                player.getKeyframeCount(), player.isComplete() ? ", final state verified" : " (replay truncated)");
+            System.out.println("Final state: " + world.getState() + ", gold " + world.getGold()
+                + ", base " + world.getBaseHp() + "/" + world.getBaseMaxHp());
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
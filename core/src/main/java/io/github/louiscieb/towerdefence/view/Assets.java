@@ -1,9 +1,18 @@
 package io.github.louiscieb.towerdefence.view;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.louiscieb.towerdefence.perf.FlightEvents;
 
 /**
  * Gère le chargement et la libération des assets du jeu.
@@ -12,21 +21,71 @@ import com.badlogic.gdx.utils.Array;
  * faciliter l’accès depuis les renderers.
  * </p>
  * <p>
- * Actuellement, elle charge l’animation du projectile.
+ * Tous les sprites (ennemis, tours, projectiles) et un pixel blanc sont
+ * regroupés dans un seul {@link TextureAtlas}, produit à la compilation
+ * par la tâche Gradle {@code lwjgl3:packSprites}. Les renderers ne dessinent
+ * que des régions de cet atlas : les entités d’une frame partagent
+ * une même texture et ne provoquent pas de changement de texture.
+ * </p>
+ * <p>
+ * Les polices sont générées au chargement avec FreeType, directement à leur
+ * taille d’affichage (sans mise à l’échelle floue), et leurs glyphes sont
+ * regroupés dans une seule page de texture partagée.
  * </p>
  */
 public class Assets {
 
+    /** Atlas produit par {@code lwjgl3:packSprites}. */
+    public static final String ATLAS = "sprites/sprites.atlas";
+
     // ===== TEXTURES =====
 
-    /** Sprite sheet du projectile. */
-    private static Texture projectileSheet;
+    /** Atlas de tous les sprites. */
+    private static TextureAtlas atlas;
+
+    /** Pixel blanc 1x1, teinté pour dessiner barres et fonds. */
+    public static TextureRegion whitePixel;
 
     // ===== ANIMATIONS =====
 
     /** Animation du projectile (boucle). */
     public static Animation<TextureRegion> projectileAnim;
 
+    /** Animation de course des ennemis (boucle). */
+    public static Animation<TextureRegion> enemyRunAnim;
+
+    /** Animation d’attente des tours (boucle). */
+    public static Animation<TextureRegion> towerIdleAnim;
+
+    // ===== POLICES =====
+
+    /** Police TrueType dont sont générées toutes les polices. */
+    public static final String FONT = "fonts/DejaVuSans.ttf";
+
+    /** Taille (px) de {@link #smallFont}. */
+    private static final int SMALL_FONT_SIZE = 22;
+
+    /** Taille (px) de {@link #mediumFont}. */
+    private static final int MEDIUM_FONT_SIZE = 36;
+
+    /** Taille (px) de {@link #largeFont}. */
+    private static final int LARGE_FONT_SIZE = 44;
+
+    /** Taille (px) de la page partagée par les glyphes de toutes les polices. */
+    private static final int FONT_PAGE_SIZE = 1024;
+
+    /** Page de texture des glyphes, partagée par toutes les polices. */
+    private static PixmapPacker fontPacker;
+
+    /** Petite police : niveau des ennemis, overlay de performance. */
+    public static BitmapFont smallFont;
+
+    /** Police moyenne : niveau des tours. */
+    public static BitmapFont mediumFont;
+
+    /** Grande police : HUD. */
+    public static BitmapFont largeFont;
+
     /** Indique si les assets ont déjà été chargés. */
     private static boolean loaded = false;
 
@@ -40,32 +99,107 @@ public class Assets {
      * Cette méthode est idempotente : les assets ne sont
      * chargés qu’une seule fois.
      * </p>
+     *
+     * @throws GdxRuntimeException si l’atlas est absent ou incomplet
      */
     public static void load() {
         if (loaded) return;
 
+        FlightEvents events = FlightEvents.get();
+        events.beginAssetLoad();
+        atlas = new TextureAtlas(ATLAS);
+        events.endAssetLoad(ATLAS);
+
+        whitePixel = region("white");
+
         // ===== PROJECTILE =====
-        projectileSheet = new Texture("projectiles/fireball_spritesheet.png");
+        projectileAnim = new Animation<>(0.06f, frames(region("projectiles/fireball_spritesheet"), 6),
+            Animation.PlayMode.LOOP);
+
+        // ===== ENNEMIS =====
+        Array<TextureRegion> run = new Array<>();
+        for (int i = 1; i <= 12; i++) run.add(region("enemy/Run" + i));
+        enemyRunAnim = new Animation<>(0.08f, run, Animation.PlayMode.LOOP);
+
+        // ===== TOURS =====
+        towerIdleAnim = new Animation<>(0.1f, frames(region("towers/red_moon_idle"), 11),
+            Animation.PlayMode.LOOP);
+
+        // ===== POLICES =====
+        events.beginAssetLoad();
+        fontPacker = new PixmapPacker(FONT_PAGE_SIZE, FONT_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(FONT));
+        try {
+            smallFont = font(generator, SMALL_FONT_SIZE);
+            mediumFont = font(generator, MEDIUM_FONT_SIZE);
+            largeFont = font(generator, LARGE_FONT_SIZE);
+        } finally {
+            generator.dispose();
+        }
+        events.endAssetLoad(FONT);
+
+        loaded = true;
+    }
+
+    /**
+     * Vérifie que {@link #load()} a été appelée avant la création d’un renderer.
+     *
+     * @throws IllegalStateException si les assets ne sont pas chargés
+     */
+    static void checkLoaded() {
+        if (!loaded) {
+            throw new IllegalStateException(
+                "Assets not loaded: call Assets.load() before creating renderers"
+            );
+        }
+    }
 
-        int frames = 6;
-        int frameWidth = projectileSheet.getWidth() / frames;
-        int frameHeight = projectileSheet.getHeight();
+    /**
+     * Cherche une région de l’atlas.
+     *
+     * @param name nom de la région (chemin de l’image source, sans extension)
+     * @return région trouvée
+     * @throws GdxRuntimeException si l’atlas ne contient pas la région
+     */
+    private static TextureRegion region(String name) {
+        TextureRegion region = atlas.findRegion(name);
+        if (region == null)
+            throw new GdxRuntimeException("Region '" + name + "' missing from " + ATLAS
+                + " (run gradlew lwjgl3:packSprites)");
+        return region;
+    }
 
-        TextureRegion[][] split =
-            TextureRegion.split(projectileSheet, frameWidth, frameHeight);
+    /**
+     * Découpe une planche horizontale en images de même largeur.
+     *
+     * @param sheet  planche
+     * @param frames nombre d’images
+     * @return images, de gauche à droite
+     */
+    private static Array<TextureRegion> frames(TextureRegion sheet, int frames) {
+        TextureRegion[][] split = sheet.split(sheet.getRegionWidth() / frames, sheet.getRegionHeight());
 
         Array<TextureRegion> regions = new Array<>();
         for (int i = 0; i < frames; i++) {
             regions.add(split[0][i]);
         }
+        return regions;
+    }
 
-        projectileAnim = new Animation<>(
-            0.06f,
-            regions,
-            Animation.PlayMode.LOOP
-        );
-
-        loaded = true;
+    /**
+     * Génère une police à sa taille d’affichage, dans la page partagée.
+     *
+     * @param generator générateur FreeType
+     * @param size      hauteur des caractères (px)
+     * @return police générée, qui ne possède pas sa texture
+     */
+    private static BitmapFont font(FreeTypeFontGenerator generator, int size) {
+        FreeTypeFontParameter parameter = new FreeTypeFontParameter();
+        parameter.size = size;
+        parameter.packer = fontPacker;
+        parameter.minFilter = Texture.TextureFilter.Linear;
+        parameter.magFilter = Texture.TextureFilter.Linear;
+        return generator.generateFont(parameter);
     }
 
     // =====================
@@ -82,7 +216,17 @@ public class Assets {
     public static void dispose() {
         if (!loaded) return;
 
-        projectileSheet.dispose();
+        atlas.dispose();
+
+        smallFont.dispose();
+        mediumFont.dispose();
+        largeFont.dispose();
+        // Les polices générées dans une page partagée ne libèrent pas sa texture
+        for (PixmapPacker.Page page : fontPacker.getPages()) {
+            if (page.getTexture() != null) page.getTexture().dispose();
+        }
+        fontPacker.dispose();
+
         loaded = false;
     }
 }
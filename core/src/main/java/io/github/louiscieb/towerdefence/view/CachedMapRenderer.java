@@ -0,0 +1,330 @@
+package io.github.louiscieb.towerdefence.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Rendu de la carte Tiled dont les couches statiques sont précalculées.
+ * <p>
+ * Les couches de tuiles qui ne changent jamais (ici {@code ground} et
+ * {@code decor}) sont cuites une seule fois dans un {@link SpriteCache} :
+ * leur géométrie reste sur le GPU et chaque frame ne coûte plus qu’un
+ * appel de rendu par couche et par tileset, au lieu de resoumettre
+ * toutes les tuiles.
+ * </p>
+ * <p>
+ * La géométrie est exprimée en coordonnées du monde : un déplacement de la
+ * caméra ou un redimensionnement ne change que la matrice de projection et
+ * n’invalide pas le cache. Seul un changement de carte
+ * ({@link #setMap(TiledMap)}) le reconstruit.
+ * </p>
+ * <p>
+ * Une couche qui ne peut pas être figée (tuiles animées, parallaxe, couche
+ * d’un autre type) reste dessinée chaque frame par un
+ * {@link OrthogonalTiledMapRenderer}, à sa place dans l’ordre des couches.
+ * La visibilité des couches est lue à la cuisson : les couches invisibles
+ * (collisions, entités) ne coûtent rien.
+ * </p>
+ */
+public class CachedMapRenderer implements Disposable {
+
+    /** Nombre maximal de tuiles d’un {@link SpriteCache} indexé. */
+    private static final int MAX_INDEXED_TILES = 8191;
+
+    /** Couche ignorée : invisible au moment de la cuisson. */
+    private static final int HIDDEN = -2;
+
+    /** Couche dessinée chaque frame par le renderer des couches non figées. */
+    private static final int DYNAMIC = -1;
+
+    /** Flottants par tuile : 4 sommets (x, y, couleur, u, v). */
+    private static final int TILE_VERTICES = 20;
+
+    // Indices des composantes dans un quad, dans l’ordre de libGDX
+    private static final int X1 = 0, Y1 = 1, C1 = 2, U1 = 3, V1 = 4;
+    private static final int X2 = 5, Y2 = 6, C2 = 7, U2 = 8, V2 = 9;
+    private static final int X3 = 10, Y3 = 11, C3 = 12, U3 = 13, V3 = 14;
+    private static final int X4 = 15, Y4 = 16, C4 = 17, U4 = 18, V4 = 19;
+
+    /** Sommets d’une tuile, réutilisés pendant la cuisson. */
+    private final float[] vertices = new float[TILE_VERTICES];
+
+    /** Carte affichée. */
+    private TiledMap map;
+
+    /** Renderer des couches non figées. */
+    private OrthogonalTiledMapRenderer dynamicRenderer;
+
+    /** Géométrie des couches figées ({@code null} si aucune). */
+    private SpriteCache cache;
+
+    /**
+     * Pour chaque couche de la carte : identifiant de son cache,
+     * {@link #DYNAMIC} ou {@link #HIDDEN}.
+     */
+    private int[] cacheIds;
+
+    /** Indice de chaque couche, pour {@link OrthogonalTiledMapRenderer#render(int[])}. */
+    private int[][] layerIndices;
+
+    /**
+     * Crée le renderer et cuit les couches statiques de la carte.
+     *
+     * @param map carte à afficher
+     */
+    public CachedMapRenderer(TiledMap map) {
+        setMap(map);
+    }
+
+    // =====================
+    // CUISSON
+    // =====================
+
+    /**
+     * Change de carte et reconstruit le cache.
+     *
+     * @param map nouvelle carte
+     */
+    public void setMap(TiledMap map) {
+        disposeCache();
+        this.map = map;
+        dynamicRenderer = new OrthogonalTiledMapRenderer(map);
+
+        MapLayers layers = map.getLayers();
+        cacheIds = new int[layers.size()];
+        layerIndices = new int[layers.size()][];
+
+        int tiles = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            layerIndices[i] = new int[]{i};
+            if (isStatic(layers.get(i))) tiles += countTiles((TiledMapTileLayer) layers.get(i));
+        }
+
+        if (tiles > 0) cache = new SpriteCache(tiles, tiles <= MAX_INDEXED_TILES);
+        for (int i = 0; i < layers.size(); i++) {
+            MapLayer layer = layers.get(i);
+            if (!layer.isVisible()) {
+                cacheIds[i] = HIDDEN;
+                continue;
+            }
+            if (cache == null || !isStatic(layer)) {
+                cacheIds[i] = DYNAMIC;
+                continue;
+            }
+
+            cache.beginCache();
+            bake((TiledMapTileLayer) layer);
+            cacheIds[i] = cache.endCache();
+        }
+    }
+
+    /**
+     * Indique si une couche peut être figée : couche de tuiles visible,
+     * sans parallaxe ni tuile animée.
+     */
+    private static boolean isStatic(MapLayer layer) {
+        if (!(layer instanceof TiledMapTileLayer) || !layer.isVisible()) return false;
+        if (layer.getParallaxX() != 1f || layer.getParallaxY() != 1f) return false;
+
+        TiledMapTileLayer tiles = (TiledMapTileLayer) layer;
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                TiledMapTileLayer.Cell cell = tiles.getCell(x, y);
+                if (cell != null && cell.getTile() instanceof AnimatedTiledMapTile) return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countTiles(TiledMapTileLayer layer) {
+        int count = 0;
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                if (cell != null && cell.getTile() != null) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ajoute toutes les tuiles d’une couche au cache en cours,
+     * comme les placerait {@link OrthogonalTiledMapRenderer}.
+     */
+    private void bake(TiledMapTileLayer layer) {
+        Color tint = layer.getCombinedTintColor();
+        float color = Color.toFloatBits(tint.r, tint.g, tint.b, tint.a * layer.getOpacity());
+        float offsetX = layer.getRenderOffsetX();
+        float offsetY = -layer.getRenderOffsetY();
+
+        for (int row = 0; row < layer.getHeight(); row++) {
+            for (int col = 0; col < layer.getWidth(); col++) {
+                TiledMapTileLayer.Cell cell = layer.getCell(col, row);
+                if (cell == null) continue;
+                TiledMapTile tile = cell.getTile();
+                if (tile == null) continue;
+
+                TextureRegion region = tile.getTextureRegion();
+                float x1 = col * layer.getTileWidth() + tile.getOffsetX() + offsetX;
+                float y1 = row * layer.getTileHeight() + tile.getOffsetY() + offsetY;
+                float x2 = x1 + region.getRegionWidth();
+                float y2 = y1 + region.getRegionHeight();
+
+                vertices[X1] = x1;
+                vertices[Y1] = y1;
+                vertices[C1] = color;
+                vertices[U1] = region.getU();
+                vertices[V1] = region.getV2();
+
+                vertices[X2] = x1;
+                vertices[Y2] = y2;
+                vertices[C2] = color;
+                vertices[U2] = region.getU();
+                vertices[V2] = region.getV();
+
+                vertices[X3] = x2;
+                vertices[Y3] = y2;
+                vertices[C3] = color;
+                vertices[U3] = region.getU2();
+                vertices[V3] = region.getV();
+
+                vertices[X4] = x2;
+                vertices[Y4] = y1;
+                vertices[C4] = color;
+                vertices[U4] = region.getU2();
+                vertices[V4] = region.getV2();
+
+                orient(cell);
+                cache.add(region.getTexture(), vertices, 0, TILE_VERTICES);
+            }
+        }
+    }
+
+    /**
+     * Applique le retournement et la rotation d’une cellule aux coordonnées
+     * de texture de {@link #vertices}.
+     */
+    private void orient(TiledMapTileLayer.Cell cell) {
+        if (cell.getFlipHorizontally()) {
+            swap(U1, U3);
+            swap(U2, U4);
+        }
+        if (cell.getFlipVertically()) {
+            swap(V1, V3);
+            swap(V2, V4);
+        }
+
+        switch (cell.getRotation()) {
+            case TiledMapTileLayer.Cell.ROTATE_90:
+                rotate(V1, V2, V3, V4);
+                rotate(U1, U2, U3, U4);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_180:
+                swap(U1, U3);
+                swap(U2, U4);
+                swap(V1, V3);
+                swap(V2, V4);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_270:
+                rotate(V1, V4, V3, V2);
+                rotate(U1, U4, U3, U2);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void swap(int a, int b) {
+        float tmp = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = tmp;
+    }
+
+    /** Décale circulairement : a reçoit b, b reçoit c, c reçoit d, d reçoit a. */
+    private void rotate(int a, int b, int c, int d) {
+        float tmp = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = vertices[c];
+        vertices[c] = vertices[d];
+        vertices[d] = tmp;
+    }
+
+    // =====================
+    // RENDU
+    // =====================
+
+    /**
+     * Dessine la carte, couche par couche.
+     *
+     * @param camera caméra du jeu (déjà mise à jour)
+     */
+    public void render(OrthographicCamera camera) {
+        boolean cacheBegun = false;
+
+        for (int i = 0; i < cacheIds.length; i++) {
+            if (cacheIds[i] >= 0) {
+                if (!cacheBegun) {
+                    // SpriteCache, contrairement à SpriteBatch, n’active pas la transparence
+                    Gdx.gl.glEnable(GL20.GL_BLEND);
+                    Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+                    cache.setProjectionMatrix(camera.combined);
+                    cache.begin();
+                    cacheBegun = true;
+                }
+                cache.draw(cacheIds[i]);
+            } else if (cacheIds[i] == DYNAMIC) {
+                if (cacheBegun) {
+                    cache.end();
+                    cacheBegun = false;
+                }
+                dynamicRenderer.setView(camera);
+                dynamicRenderer.render(layerIndices[i]);
+            }
+        }
+
+        if (cacheBegun) {
+            cache.end();
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+    }
+
+    /**
+     * @return carte affichée
+     */
+    public TiledMap getMap() {
+        return map;
+    }
+
+    // =====================
+    // NETTOYAGE
+    // =====================
+
+    private void disposeCache() {
+        if (cache != null) cache.dispose();
+        if (dynamicRenderer != null) dynamicRenderer.dispose();
+        cache = null;
+        dynamicRenderer = null;
+    }
+
+    /**
+     * Libère le cache et le renderer des couches non figées.
+     * <p>
+     * La carte elle-même n’est pas libérée.
+     */
+    @Override
+    public void dispose() {
+        disposeCache();
+    }
+}
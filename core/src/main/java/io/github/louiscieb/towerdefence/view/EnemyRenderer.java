@@ -1,12 +1,10 @@
 package io.github.louiscieb.towerdefence.view;
 
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.MathUtils;
 import io.github.louiscieb.towerdefence.model.Enemy;
 
 /**
@@ -19,64 +17,71 @@ import io.github.louiscieb.towerdefence.model.Enemy;
  *     <li>Le niveau de l’ennemi (texte)</li>
  * </ul>
  * <p>
- * Elle s’occupe également de la création de textures auxiliaires
- * comme un pixel blanc pour les barres de vie.
+ * Le sprite et les barres sont des régions de l’atlas des {@link Assets}.
+ * Rien n’est dessiné directement : sprite, barres et niveau sont déposés
+ * dans les couches {@link RenderLayer#ENTITIES}, {@link RenderLayer#BARS}
+ * et {@link RenderLayer#LABELS} d’une {@link RenderQueue}.
  */
 public class EnemyRenderer {
 
     /** Facteur d’échelle pour agrandir les sprites. */
     private static final float SCALE = 4f;
 
+    /** Fond de la barre de vie. */
+    private static final float BAR_BACKGROUND = Color.toFloatBits(1f, 0f, 0f, 1f);
+
+    /** Part restante de la barre de vie. */
+    private static final float BAR_FOREGROUND = Color.toFloatBits(0f, 1f, 0f, 1f);
+
     /** Animation de course de l’ennemi. */
     private final Animation<TextureRegion> runAnimation;
 
-    /** Pixel blanc 1x1 utilisé pour dessiner les barres de vie. */
-    private final Texture whitePixel;
+    /** Pixel blanc 1x1 de l’atlas, utilisé pour dessiner les barres de vie. */
+    private final TextureRegion whitePixel;
 
     /** Police pour afficher le niveau de l’ennemi. */
     private final BitmapFont font;
 
+    /** Mises en page des libellés de niveau. */
+    private final Labels labels;
+
     /**
      * Initialise le renderer de l’ennemi.
      * <p>
-     * Charge toutes les textures de l’animation de course,
-     * crée un pixel blanc pour les barres de vie et initialise la police.
+     * Reprend l’animation de course, le pixel blanc et la petite police
+     * des {@link Assets}.
+     *
+     * @throws IllegalStateException si {@link Assets#load()} n'a pas été appelée
      */
     public EnemyRenderer() {
-        Array<TextureRegion> frames = new Array<>();
-        for (int i = 1; i <= 12; i++) {
-            Texture tex = new Texture("enemy/Run" + i + ".png");
-            frames.add(new TextureRegion(tex));
-        }
-        runAnimation = new Animation<>(0.08f, frames, Animation.PlayMode.LOOP);
-
-        // Pixel blanc 1x1 pour barre de vie
-        Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pm.setColor(1, 1, 1, 1);
-        pm.fill();
-        whitePixel = new Texture(pm);
-        pm.dispose();
-
-        font = new BitmapFont();
-        font.getData().setScale(1.5f);
+        Assets.checkLoaded();
+        runAnimation = Assets.enemyRunAnim;
+        whitePixel = Assets.whitePixel;
+
+        font = Assets.smallFont;
+        labels = new Labels(font);
     }
 
     /**
      * Rend un ennemi à l’écran.
+     * <p>
+     * La position affichée est interpolée entre les deux derniers
+     * ticks de simulation.
      *
-     * @param batch SpriteBatch utilisé pour le rendu
+     * @param queue file de rendu
      * @param e     Ennemi à dessiner
+     * @param alpha facteur d’interpolation entre le tick précédent et le tick courant
      */
-    public void render(SpriteBatch batch, Enemy e) {
+    public void render(RenderQueue queue, Enemy e, float alpha) {
         TextureRegion frame = runAnimation.getKeyFrame(e.getAnimTime());
 
         float w = frame.getRegionWidth() * SCALE;
         float h = frame.getRegionHeight() * SCALE;
 
-        float x = e.getPosition().x;
-        float y = e.getPosition().y;
+        float x = MathUtils.lerp(e.getPreviousPosition().x, e.getPosition().x, alpha);
+        float y = MathUtils.lerp(e.getPreviousPosition().y, e.getPosition().y, alpha);
 
-        batch.draw(frame, x - w / 2f, y - h / 2f, w, h);
+        queue.draw(RenderLayer.ENTITIES, frame, x - w / 2f, y - h / 2f, w, h);
 
         // Barre de vie
         float barWidth = w * 0.85f;
@@ -85,26 +90,20 @@ public class EnemyRenderer {
         float barX = x - barWidth / 2f;
         float barY = y + h / 2f + 20f;
 
-        batch.setColor(1, 0, 0, 1);
-        batch.draw(whitePixel, barX, barY, barWidth, barHeight);
-
-        batch.setColor(0, 1, 0, 1);
-        batch.draw(whitePixel, barX, barY, barWidth * hpPercent, barHeight);
-
-        batch.setColor(1, 1, 1, 1);
+        // Même texture : le fond reste sous la part restante
+        queue.draw(RenderLayer.BARS, whitePixel, barX, barY, barWidth, barHeight, BAR_BACKGROUND);
+        queue.draw(RenderLayer.BARS, whitePixel, barX, barY, barWidth * hpPercent, barHeight, BAR_FOREGROUND);
 
-        font.draw(batch, "Lv " + e.getLevel(), x - 22f, barY + barHeight + 16f);
+        queue.text(RenderLayer.LABELS, font, labels.level(e.getLevel()), x - 22f, barY + barHeight + 16f);
     }
 
     /**
      * Libère les ressources créées par ce renderer.
      * <p>
-     * Important : les textures utilisées dans les {@link TextureRegion}
-     * ne sont pas disposées ici. Si besoin, garder des références
-     * pour un dispose complet.
+     * Les régions et la police appartiennent aux {@link Assets},
+     * libérés via {@link Assets#dispose()} : rien n'est nécessaire ici.
      */
     public void dispose() {
-        whitePixel.dispose();
-        font.dispose();
+        // Assets disposed centrally
     }
 }
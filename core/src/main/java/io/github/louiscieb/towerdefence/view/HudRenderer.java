@@ -1,44 +1,108 @@
 package io.github.louiscieb.towerdefence.view;
 
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.StringBuilder;
 import io.github.louiscieb.towerdefence.model.GameState;
+import io.github.louiscieb.towerdefence.perf.FrameStats;
 
 /**
  * Gère l'affichage de l'interface utilisateur (HUD) du jeu.
  * <p>
  * Affiche :
  * <ul>
- *     <li>Les informations en haut à gauche (or et niveau des ennemis)</li>
+ *     <li>Les informations en haut à gauche (or, vague et niveau des ennemis)</li>
  *     <li>La barre de vie de la base</li>
+ *     <li>La vitesse de simulation, demandée et atteinte</li>
  *     <li>L'état de fin de partie (victoire ou défaite)</li>
+ *     <li>L'overlay de performance, à la demande</li>
  * </ul>
+ * <p>
+ * Chaque texte est mis en page une seule fois dans un {@link GlyphLayout},
+ * reconstruit uniquement quand une valeur affichée change : en régime
+ * permanent, l'affichage du HUD n'alloue rien.
  */
 public class HudRenderer {
 
     /** Police utilisée pour afficher les textes du HUD. */
     private final BitmapFont font;
 
-    /** Pixel blanc 1x1 utilisé pour dessiner les barres de vie. */
-    private final Texture whitePixel;
+    /** Police de l’overlay de performance, plus petite que celle du HUD. */
+    private final BitmapFont overlayFont;
+
+    /** Pixel blanc 1x1 de l’atlas, utilisé pour dessiner les barres de vie. */
+    private final TextureRegion whitePixel;
+
+    /** Texte du bandeau en haut à gauche, reconstruit uniquement s’il change. */
+    private final StringBuilder topLeftText = new StringBuilder(64);
+
+    /** Mise en page de {@link #topLeftText}. */
+    private final GlyphLayout topLeftLayout = new GlyphLayout();
+
+    /** Valeurs affichées dans {@link #topLeftText} (-1 : jamais construit). */
+    private int shownGold = -1, shownWave = -1, shownWaveCount = -1, shownEnemyLevel = -1;
+
+    /** Texte de la vitesse de simulation, reconstruit uniquement s’il change. */
+    private final StringBuilder speedText = new StringBuilder(32);
+
+    /** Mise en page de {@link #speedText}. */
+    private final GlyphLayout speedLayout = new GlyphLayout();
+
+    /** Valeurs affichées dans {@link #speedText} (dixièmes de vitesse atteinte ; -1 : jamais construit). */
+    private float shownSpeed = -1f;
+    private int shownAchievedTenths = -1;
+
+    /** Textes fixes, mis en page une fois pour toutes. */
+    private final GlyphLayout baseLayout, gameOverLayout, winLayout;
+
+    // =====================
+    // OVERLAY DE PERFORMANCE
+    // =====================
+
+    /** Largeur d’une barre du graphe des frames (px). */
+    private static final float GRAPH_BAR_WIDTH = 3f;
+
+    /** Hauteur du graphe pour une milliseconde (px). */
+    private static final float GRAPH_PIXELS_PER_MS = 6f;
+
+    /** Durée affichée en haut du graphe (ms) : deux frames à 60 Hz. */
+    private static final float GRAPH_MAX_MS = 2000f / 60f;
+
+    /** Durée d’une frame à 60 Hz (ms), tracée en repère. */
+    private static final float TARGET_FRAME_MS = 1000f / 60f;
+
+    /** Le texte de l’overlay n’est reconstruit que toutes les N frames, pour rester lisible. */
+    private static final int OVERLAY_REFRESH_FRAMES = 15;
+
+    /** Texte de l’overlay. */
+    private final StringBuilder perfText = new StringBuilder(256);
+
+    /** Mise en page de {@link #perfText}. */
+    private final GlyphLayout perfLayout = new GlyphLayout();
+
+    /** Frames affichées depuis la dernière reconstruction de {@link #perfText}. */
+    private int perfTextAge = OVERLAY_REFRESH_FRAMES;
 
     /**
      * Initialise le renderer du HUD.
      * <p>
-     * Crée la police et le pixel blanc nécessaire pour dessiner les barres.
+     * Reprend les polices et le pixel blanc des {@link Assets},
+     * et met en page les textes fixes.
+     *
+     * @throws IllegalStateException si {@link Assets#load()} n'a pas été appelée
      */
     public HudRenderer() {
-        font = new BitmapFont();
-        font.getData().setScale(3f);
-
-        Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pm.setColor(1, 1, 1, 1);
-        pm.fill();
-        whitePixel = new Texture(pm);
-        pm.dispose();
+        Assets.checkLoaded();
+        font = Assets.largeFont;
+        overlayFont = Assets.smallFont;
+        whitePixel = Assets.whitePixel;
+
+        baseLayout = new GlyphLayout(font, "BASE");
+        gameOverLayout = new GlyphLayout(font, "GAME OVER");
+        winLayout = new GlyphLayout(font, "YOU WIN!");
     }
 
     /**
@@ -48,17 +112,63 @@ public class HudRenderer {
      * @param camLeft       Coordonnée X gauche de la caméra
      * @param camTop        Coordonnée Y haut de la caméra
      * @param gold          Or du joueur
-     * @param enemyLevel    Niveau actuel des ennemis
-     * @param maxEnemyLevel Niveau maximal des ennemis
+     * @param wave          Vague en cours (0 avant la première)
+     * @param waveCount     Nombre de vagues de la carte
+     * @param enemyLevel    Niveau des ennemis de la vague
      */
-    public void renderTopLeft(SpriteBatch batch, float camLeft, float camTop, int gold, int enemyLevel, int maxEnemyLevel) {
+    public void renderTopLeft(SpriteBatch batch, float camLeft, float camTop, int gold, int wave, int waveCount, int enemyLevel) {
+        if (gold != shownGold || wave != shownWave || waveCount != shownWaveCount || enemyLevel != shownEnemyLevel) {
+            shownGold = gold;
+            shownWave = wave;
+            shownWaveCount = waveCount;
+            shownEnemyLevel = enemyLevel;
+
+            topLeftText.setLength(0);
+            topLeftText.append("Gold: ").append(gold)
+                .append(" | Wave: ").append(wave)
+                .append('/').append(waveCount)
+                .append(" | Enemy Lv: ").append(enemyLevel);
+            topLeftLayout.setText(font, topLeftText);
+        }
+
         font.draw(batch,
-            "Gold: " + gold + " | Enemy Lv: " + enemyLevel + "/" + maxEnemyLevel,
+            topLeftLayout,
             camLeft + 20,
             camTop - 20
         );
     }
 
+    /**
+     * Affiche la vitesse de simulation sous le bandeau en haut à gauche.
+     * <p>
+     * N’apparaît que si la simulation est accélérée ou n’atteint pas
+     * la vitesse demandée.
+     *
+     * @param batch    SpriteBatch utilisé pour le rendu
+     * @param camLeft  Coordonnée X gauche de la caméra
+     * @param camTop   Coordonnée Y haut de la caméra
+     * @param speed    vitesse demandée ({@link Float#POSITIVE_INFINITY} : maximum)
+     * @param achieved vitesse atteinte
+     */
+    public void renderSpeed(SpriteBatch batch, float camLeft, float camTop, float speed, float achieved) {
+        int achievedTenths = Math.round(achieved * 10f);
+        if (speed == 1f && achievedTenths >= 10) return;
+
+        if (speed != shownSpeed || achievedTenths != shownAchievedTenths) {
+            shownSpeed = speed;
+            shownAchievedTenths = achievedTenths;
+
+            speedText.setLength(0);
+            speedText.append("Speed: ");
+            if (speed == Float.POSITIVE_INFINITY) speedText.append("max");
+            else speedText.append('x').append((int) speed);
+            speedText.append(" (x").append(achievedTenths / 10).append('.').append(achievedTenths % 10).append(')');
+            speedLayout.setText(font, speedText);
+        }
+
+        font.draw(batch, speedLayout, camLeft + 20, camTop - 80);
+    }
+
     /**
      * Affiche la barre de vie de la base.
      *
@@ -83,7 +193,7 @@ public class HudRenderer {
         batch.draw(whitePixel, x, y, barWidth * hpPercent, barHeight);
 
         batch.setColor(1, 1, 1, 1);
-        font.draw(batch, "BASE", basePosition.x - 28, y + 22);
+        font.draw(batch, baseLayout, basePosition.x - 28, y + 22);
     }
 
     /**
@@ -96,17 +206,109 @@ public class HudRenderer {
      */
     public void renderState(SpriteBatch batch, float camX, float camY, GameState state) {
         if (state == GameState.GAME_OVER) {
-            font.draw(batch, "GAME OVER", camX - 120, camY);
+            font.draw(batch, gameOverLayout, camX - 120, camY);
         } else if (state == GameState.WIN) {
-            font.draw(batch, "YOU WIN!", camX - 120, camY);
+            font.draw(batch, winLayout, camX - 120, camY);
         }
     }
 
+    /**
+     * Affiche l’overlay de performance en bas à gauche de l’écran.
+     * <p>
+     * Le graphe montre les dernières frames de gauche à droite : simulation
+     * en bleu, rendu en vert, reste de la frame (attente de la synchronisation
+     * verticale, GPU) en gris ; une frame pendant laquelle un GC a eu lieu
+     * est en rouge. La ligne jaune marque 60 FPS.
+     * </p>
+     *
+     * @param batch       SpriteBatch utilisé pour le rendu
+     * @param camLeft     Coordonnée X gauche de la caméra
+     * @param camBottom   Coordonnée Y bas de la caméra
+     * @param stats       statistiques des dernières frames
+     * @param enemies     nombre d’ennemis actifs
+     * @param towers      nombre de tours
+     * @param projectiles nombre de projectiles en vol
+     */
+    public void renderPerfOverlay(SpriteBatch batch, float camLeft, float camBottom, FrameStats stats,
+                                  int enemies, int towers, int projectiles) {
+        float left = camLeft + 20;
+        float bottom = camBottom + 20;
+        float graphHeight = GRAPH_MAX_MS * GRAPH_PIXELS_PER_MS;
+
+        batch.setColor(0, 0, 0, 0.6f);
+        batch.draw(whitePixel, left, bottom, FrameStats.CAPACITY * GRAPH_BAR_WIDTH, graphHeight);
+
+        for (int i = 0; i < stats.size(); i++) {
+            float x = left + i * GRAPH_BAR_WIDTH;
+            float frame = Math.min(stats.getFrameMillis(i), GRAPH_MAX_MS) * GRAPH_PIXELS_PER_MS;
+            float sim = Math.min(stats.getSimulationMillis(i) * GRAPH_PIXELS_PER_MS, frame);
+            float render = Math.min(stats.getRenderMillis(i) * GRAPH_PIXELS_PER_MS, frame - sim);
+
+            if (stats.hadCollection(i)) batch.setColor(1, 0.2f, 0.2f, 1);
+            else batch.setColor(0.5f, 0.5f, 0.5f, 1);
+            batch.draw(whitePixel, x, bottom, GRAPH_BAR_WIDTH, frame);
+
+            batch.setColor(0.3f, 0.5f, 1, 1);
+            batch.draw(whitePixel, x, bottom, GRAPH_BAR_WIDTH, sim);
+
+            batch.setColor(0.3f, 0.9f, 0.3f, 1);
+            batch.draw(whitePixel, x, bottom + sim, GRAPH_BAR_WIDTH, render);
+        }
+
+        batch.setColor(1, 1, 0, 1);
+        batch.draw(whitePixel, left, bottom + TARGET_FRAME_MS * GRAPH_PIXELS_PER_MS,
+            FrameStats.CAPACITY * GRAPH_BAR_WIDTH, 2);
+        batch.setColor(1, 1, 1, 1);
+
+        if (++perfTextAge >= OVERLAY_REFRESH_FRAMES) {
+            perfTextAge = 0;
+            buildPerfText(stats, enemies, towers, projectiles);
+            perfLayout.setText(overlayFont, perfText);
+        }
+
+        overlayFont.draw(batch, perfLayout, left, bottom + graphHeight + 10 + 4 * overlayFont.getLineHeight());
+    }
+
+    private void buildPerfText(FrameStats stats, int enemies, int towers, int projectiles) {
+        perfText.setLength(0);
+
+        perfText.append("Frame: ");
+        appendMillis(stats.averageFrameMillis());
+        perfText.append(" ms (max ");
+        appendMillis(stats.maxFrameMillis());
+        perfText.append(") | Sim: ");
+        appendMillis(stats.averageSimulationMillis());
+        perfText.append(" ms | Render: ");
+        appendMillis(stats.averageRenderMillis());
+        perfText.append(" ms\n");
+
+        perfText.append("Enemies: ").append(enemies)
+            .append(" | Towers: ").append(towers)
+            .append(" | Projectiles: ").append(projectiles).append('\n');
+
+        perfText.append("Render calls: ").append(stats.getRenderCalls())
+            .append(" (total ").append(stats.getTotalRenderCalls())
+            .append(") | Texture binds: ").append(stats.getTextureBindings()).append('\n');
+
+        perfText.append("GC: ").append(stats.getGcCount())
+            .append(" (").append(stats.getGcMillis()).append(" ms)")
+            .append(" | Heap: ").append(stats.getHeapUsed() >> 20)
+            .append(" / ").append(stats.getHeapMax() >> 20).append(" MB");
+    }
+
+    /** Ajoute une durée en millisecondes avec un chiffre après la virgule, sans allocation. */
+    private void appendMillis(float millis) {
+        int tenths = Math.round(millis * 10f);
+        perfText.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
     /**
      * Libère les ressources créées par ce renderer.
+     * <p>
+     * Les polices et le pixel blanc appartiennent aux {@link Assets},
+     * libérés via {@link Assets#dispose()} : rien n'est nécessaire ici.
      */
     public void dispose() {
-        whitePixel.dispose();
-        font.dispose();
+        // Assets disposed centrally
     }
 }
@@ -0,0 +1,52 @@
+package io.github.louiscieb.towerdefence.view;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * Cache des libellés de niveau affichés chaque frame par un renderer.
+ * <p>
+ * Évite de reconstruire une chaîne ({@code "Lv " + niveau}) et sa mise en
+ * page pour chaque entité à chaque frame : chaque {@link GlyphLayout} est
+ * créé une seule fois par niveau, à sa première utilisation, puis réutilisé.
+ * Un cache est propre à une police.
+ * </p>
+ */
+final class Labels {
+
+    /** Police des libellés. */
+    private final BitmapFont font;
+
+    /** Mises en page déjà construites, indexées par niveau. */
+    private GlyphLayout[] levels = new GlyphLayout[16];
+
+    /**
+     * @param font police des libellés
+     */
+    Labels(BitmapFont font) {
+        this.font = font;
+    }
+
+    /**
+     * Retourne la mise en page du libellé de niveau {@code "Lv n"}.
+     *
+     * @param level niveau à afficher
+     * @return mise en page mise en cache
+     */
+    GlyphLayout level(int level) {
+        if (level < 0) return new GlyphLayout(font, "Lv " + level);
+
+        if (level >= levels.length) {
+            GlyphLayout[] grown = new GlyphLayout[Math.max(level + 1, levels.length * 2)];
+            System.arraycopy(levels, 0, grown, 0, levels.length);
+            levels = grown;
+        }
+
+        GlyphLayout label = levels[level];
+        if (label == null) {
+            label = new GlyphLayout(font, "Lv " + level);
+            levels[level] = label;
+        }
+        return label;
+    }
+}
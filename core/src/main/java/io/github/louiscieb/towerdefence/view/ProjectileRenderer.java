@@ -1,51 +1,71 @@
 package io.github.louiscieb.towerdefence.view;
 
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
 import io.github.louiscieb.towerdefence.model.Projectile;
 
 /**
  * Gère le rendu des projectiles du jeu.
  * <p>
  * Cette classe utilise l'animation du projectile définie dans {@link Assets}.
- * Elle dessine le projectile à l'écran en fonction de sa position et de son temps d'animation.
+ * Elle dépose le projectile dans une {@link RenderQueue} en fonction de sa position et de son temps d'animation.
  */
 public class ProjectileRenderer {
 
     /** Animation du projectile. */
     private final Animation<TextureRegion> animation;
 
+    /** Vecteur temporaire réutilisé pour les projectiles programmés. */
+    private final Vector2 tmp = new Vector2();
+
     /**
      * Initialise le renderer du projectile.
      * <p>
      * Vérifie que les assets sont chargés avant de créer le renderer.
      *
-     * @throws IllegalStateException si {@link Assets#projectileAnim} n'a pas été chargé
+     * @throws IllegalStateException si {@link Assets#load()} n'a pas été appelée
      */
     public ProjectileRenderer() {
-        if (Assets.projectileAnim == null) {
-            throw new IllegalStateException(
-                "Assets not loaded: call Assets.load() before creating renderers"
-            );
-        }
+        Assets.checkLoaded();
         animation = Assets.projectileAnim;
     }
 
     /**
      * Rend un projectile à l'écran.
+     * <p>
+     * La position affichée est interpolée entre les deux derniers
+     * ticks de simulation. Pour un projectile dont l'impact est programmé,
+     * elle se déduit directement de l'instant affiché.
      *
-     * @param batch SpriteBatch utilisé pour le rendu
+     * @param queue file de rendu
      * @param p     Projectile à dessiner
+     * @param alpha facteur d'interpolation entre le tick précédent et le tick courant
+     * @param time  instant de simulation affiché (interpolé)
      */
-    public void render(SpriteBatch batch, Projectile p) {
-        TextureRegion frame = animation.getKeyFrame(p.getAnimTime());
+    public void render(RenderQueue queue, Projectile p, float alpha, float time) {
         float size = 20f;
+        float x;
+        float y;
+        TextureRegion frame;
+
+        if (p.isScheduled()) {
+            p.positionAt(time, tmp);
+            x = tmp.x;
+            y = tmp.y;
+            frame = animation.getKeyFrame(p.getAnimTime(time));
+        } else {
+            x = MathUtils.lerp(p.getPreviousPosition().x, p.getPosition().x, alpha);
+            y = MathUtils.lerp(p.getPreviousPosition().y, p.getPosition().y, alpha);
+            frame = animation.getKeyFrame(p.getAnimTime());
+        }
 
-        batch.draw(
+        queue.draw(
+            RenderLayer.ENTITIES,
             frame,
-            p.getPosition().x - size / 2f,
-            p.getPosition().y - size / 2f,
+            x - size / 2f,
+            y - size / 2f,
             size,
             size
         );
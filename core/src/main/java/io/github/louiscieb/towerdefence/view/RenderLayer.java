@@ -0,0 +1,20 @@
+package io.github.louiscieb.towerdefence.view;
+
+/**
+ * Couches de la {@link RenderQueue}, dessinées dans l’ordre de déclaration.
+ * <p>
+ * Dans une couche, les commandes sont regroupées par texture : l’ordre
+ * d’affichage n’est garanti qu’entre commandes de même texture.
+ * </p>
+ */
+public enum RenderLayer {
+
+    /** Sprites des entités (ennemis, tours, projectiles). */
+    ENTITIES,
+
+    /** Barres de vie, au-dessus des sprites. */
+    BARS,
+
+    /** Textes attachés aux entités (niveaux). */
+    LABELS
+}
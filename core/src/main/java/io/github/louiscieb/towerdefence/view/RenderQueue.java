@@ -0,0 +1,209 @@
+package io.github.louiscieb.towerdefence.view;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * File de commandes de dessin, triée par texture avant d’être envoyée
+ * au {@link SpriteBatch}.
+ * <p>
+ * Les renderers n’écrivent plus directement dans le batch : ils déposent
+ * des commandes (région ou texte mis en page) dans une {@link RenderLayer}. À
+ * {@link #flush(SpriteBatch)}, chaque couche est triée par texture (tri
+ * par dénombrement, stable) puis dessinée. Sprites et barres de vie
+ * partagent l’atlas des {@link Assets}, et tous les textes la page de
+ * glyphes des polices : le nombre d’appels de rendu ne dépend plus du
+ * nombre d’entités, mais seulement du nombre de textures.
+ * </p>
+ * <p>
+ * Les commandes sont des objets réutilisés d’une frame à l’autre : une fois
+ * la file montée au nombre maximal de commandes, elle n’alloue plus rien.
+ * </p>
+ */
+public class RenderQueue {
+
+    /** Couleur blanche, sans teinte. */
+    private static final float WHITE = Color.toFloatBits(1f, 1f, 1f, 1f);
+
+    /** Couches, dans l’ordre de dessin. */
+    private static final RenderLayer[] LAYERS = RenderLayer.values();
+
+    /** Commandes de chaque couche ; seules les {@code sizes[couche]} premières sont valides. */
+    @SuppressWarnings("unchecked")
+    private final Array<Command>[] layers = new Array[LAYERS.length];
+
+    /** Nombre de commandes valides par couche. */
+    private final int[] sizes = new int[LAYERS.length];
+
+    /** Commandes triées d’une couche, réutilisées. */
+    private Command[] sorted = new Command[64];
+
+    /** Indice de chaque texture rencontrée, dans l’ordre d’apparition. */
+    private final ObjectIntMap<Texture> textureKeys = new ObjectIntMap<>();
+
+    /** Effectifs par texture pendant le tri, réutilisés. */
+    private int[] counts = new int[8];
+
+    /**
+     * Crée une file vide.
+     */
+    public RenderQueue() {
+        for (int i = 0; i < layers.length; i++) layers[i] = new Array<>(false, 64, Command.class);
+    }
+
+    // =====================
+    // COMMANDES
+    // =====================
+
+    /**
+     * Ajoute une région à dessiner, sans teinte.
+     *
+     * @param layer  couche
+     * @param region région de texture
+     * @param x      coin inférieur gauche, X
+     * @param y      coin inférieur gauche, Y
+     * @param width  largeur affichée
+     * @param height hauteur affichée
+     */
+    public void draw(RenderLayer layer, TextureRegion region, float x, float y, float width, float height) {
+        draw(layer, region, x, y, width, height, WHITE);
+    }
+
+    /**
+     * Ajoute une région teintée à dessiner.
+     *
+     * @param layer  couche
+     * @param region région de texture
+     * @param x      coin inférieur gauche, X
+     * @param y      coin inférieur gauche, Y
+     * @param width  largeur affichée
+     * @param height hauteur affichée
+     * @param color  teinte, au format de {@link Color#toFloatBits(float, float, float, float)}
+     */
+    public void draw(RenderLayer layer, TextureRegion region, float x, float y, float width, float height,
+                     float color) {
+        Command c = next(layer, region.getTexture());
+        c.region = region;
+        c.layout = null;
+        c.font = null;
+        c.x = x;
+        c.y = y;
+        c.width = width;
+        c.height = height;
+        c.color = color;
+    }
+
+    /**
+     * Ajoute un texte déjà mis en page à dessiner.
+     *
+     * @param layer  couche
+     * @param font   police de la mise en page
+     * @param layout mise en page, qui doit rester inchangée jusqu’au {@link #flush(SpriteBatch)}
+     * @param x      X du début du texte
+     * @param y      Y du haut du texte
+     */
+    public void text(RenderLayer layer, BitmapFont font, GlyphLayout layout, float x, float y) {
+        Command c = next(layer, font.getRegion().getTexture());
+        c.region = null;
+        c.layout = layout;
+        c.font = font;
+        c.x = x;
+        c.y = y;
+    }
+
+    /**
+     * Réserve la prochaine commande d’une couche, en la créant au besoin.
+     */
+    private Command next(RenderLayer layer, Texture texture) {
+        int l = layer.ordinal();
+        Array<Command> commands = layers[l];
+        if (sizes[l] == commands.size) commands.add(new Command());
+
+        Command c = commands.get(sizes[l]++);
+        c.texture = textureKey(texture);
+        return c;
+    }
+
+    private int textureKey(Texture texture) {
+        int key = textureKeys.get(texture, -1);
+        if (key < 0) {
+            key = textureKeys.size;
+            textureKeys.put(texture, key);
+        }
+        return key;
+    }
+
+    // =====================
+    // RENDU
+    // =====================
+
+    /**
+     * Dessine toutes les commandes, couche par couche et texture par texture,
+     * puis vide la file.
+     *
+     * @param batch batch ouvert ({@code begin()} déjà appelé)
+     */
+    public void flush(SpriteBatch batch) {
+        for (int l = 0; l < LAYERS.length; l++) {
+            int size = sizes[l];
+            if (size == 0) continue;
+
+            Command[] commands = sortByTexture(layers[l].items, size);
+            for (int i = 0; i < size; i++) {
+                Command c = commands[i];
+                if (c.region != null) {
+                    batch.setPackedColor(c.color);
+                    batch.draw(c.region, c.x, c.y, c.width, c.height);
+                } else {
+                    c.font.draw(batch, c.layout, c.x, c.y);
+                }
+            }
+            batch.setPackedColor(WHITE);
+
+            // Libère les références pour ne rien retenir d’une frame à l’autre
+            for (int i = 0; i < size; i++) {
+                commands[i].region = null;
+                commands[i].layout = null;
+                commands[i].font = null;
+            }
+            sizes[l] = 0;
+        }
+    }
+
+    /**
+     * Tri stable par dénombrement des commandes selon leur texture.
+     *
+     * @return tableau partagé contenant les commandes triées
+     */
+    private Command[] sortByTexture(Command[] commands, int size) {
+        int textures = textureKeys.size;
+        if (counts.length < textures + 1) counts = new int[Math.max(textures + 1, counts.length * 2)];
+        if (sorted.length < size) sorted = new Command[Math.max(size, sorted.length * 2)];
+
+        for (int t = 0; t <= textures; t++) counts[t] = 0;
+        for (int i = 0; i < size; i++) counts[commands[i].texture + 1]++;
+        for (int t = 1; t <= textures; t++) counts[t] += counts[t - 1];
+        for (int i = 0; i < size; i++) sorted[counts[commands[i].texture]++] = commands[i];
+        return sorted;
+    }
+
+    /**
+     * Commande de dessin : une région ({@code region != null}) ou un texte mis en page.
+     */
+    private static final class Command {
+        TextureRegion region;
+        GlyphLayout layout;
+        BitmapFont font;
+        float x, y, width, height;
+        float color;
+
+        /** Indice de la texture (voir {@link #textureKey(Texture)}). */
+        int texture;
+    }
+}
@@ -1,11 +1,8 @@
 package io.github.louiscieb.towerdefence.view;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.utils.Array;
 import io.github.louiscieb.towerdefence.model.Tower;
 
 /**
@@ -13,48 +10,43 @@ import io.github.louiscieb.towerdefence.model.Tower;
  * <p>
  * Affiche la tour avec son animation idle et son niveau.
  * Chaque tour a sa position et son animation déterminée par son temps d'animation.
+ * Sprite et niveau sont déposés dans une {@link RenderQueue}.
  */
 public class TowerRenderer {
 
-    /** Sprite sheet de la tour. */
-    private final Texture spriteSheet;
-
     /** Animation de la tour. */
     private final Animation<TextureRegion> animation;
 
     /** Police pour afficher le niveau de la tour. */
     private final BitmapFont font;
 
+    /** Mises en page des libellés de niveau. */
+    private final Labels labels;
+
     /**
      * Initialise le renderer de la tour.
      * <p>
-     * Charge la texture de la tour, découpe les frames pour l'animation et initialise la police.
+     * Reprend l'animation de la tour et la police moyenne des {@link Assets}.
+     *
+     * @throws IllegalStateException si {@link Assets#load()} n'a pas été appelée
      */
     public TowerRenderer() {
-        spriteSheet = new Texture("towers/red_moon_idle.png");
-
-        int frames = 11;
-        int fw = spriteSheet.getWidth() / frames;
-        int fh = spriteSheet.getHeight();
+        Assets.checkLoaded();
+        animation = Assets.towerIdleAnim;
 
-        TextureRegion[][] split = TextureRegion.split(spriteSheet, fw, fh);
-        Array<TextureRegion> arr = new Array<>();
-        for (int i = 0; i < frames; i++) arr.add(split[0][i]);
-
-        animation = new Animation<>(0.1f, arr, Animation.PlayMode.LOOP);
-
-        font = new BitmapFont();
-        font.getData().setScale(2.5f);
+        font = Assets.mediumFont;
+        labels = new Labels(font);
     }
 
     /**
      * Rend une tour à l'écran.
      *
-     * @param batch SpriteBatch utilisé pour le rendu
+     * @param queue file de rendu
      * @param t     Tour à dessiner
+     * @param time  instant de simulation affiché (interpolé)
      */
-    public void render(SpriteBatch batch, Tower t) {
-        TextureRegion frame = animation.getKeyFrame(t.getAnimTime());
+    public void render(RenderQueue queue, Tower t, float time) {
+        TextureRegion frame = animation.getKeyFrame(t.getAnimTime(time));
 
         float scale = 1f;
         float w = frame.getRegionWidth() * scale;
@@ -63,16 +55,18 @@ public class TowerRenderer {
         float x = t.getPosition().x;
         float y = t.getPosition().y;
 
-        batch.draw(frame, x - w / 2f, y - h / 2f, w, h);
+        queue.draw(RenderLayer.ENTITIES, frame, x - w / 2f, y - h / 2f, w, h);
 
-        font.draw(batch, "Lv " + t.getLevel(), x - 10, y + h / 2 + 20);
+        queue.text(RenderLayer.LABELS, font, labels.level(t.getLevel()), x - 10, y + h / 2 + 20);
     }
 
     /**
      * Libère les ressources créées par ce renderer.
+     * <p>
+     * Les régions et la police appartiennent aux {@link Assets},
+     * libérés via {@link Assets#dispose()} : rien n'est nécessaire ici.
      */
     public void dispose() {
-        spriteSheet.dispose();
-        font.dispose();
+        // Assets disposed centrally
     }
 }